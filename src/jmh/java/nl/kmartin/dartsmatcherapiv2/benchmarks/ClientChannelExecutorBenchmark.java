@@ -0,0 +1,87 @@
+package nl.kmartin.dartsmatcherapiv2.benchmarks;
+
+import nl.kmartin.dartsmatcherapiv2.config.MdcTaskDecorator;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.MDC;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test of the STOMP client channel executors: a burst of scorers each send a message that blocks on a (simulated)
+ * synchronous database call. The thread pool handles as many messages at once as it has threads, so the duration of a
+ * burst shows how the pool size (spring.task.execution.pool.core-size, 8 by default) limits blocking messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientChannelExecutorBenchmark {
+
+    private static final String CORRELATION_ID = "correlationId";
+
+    // The number of threads of the client channel pool.
+    @Param({"8", "64"})
+    private int poolSize;
+
+    // The number of scorers sending a message at the same time.
+    @Param({"100", "1000"})
+    private int scorers;
+
+    // The duration of the database call blocking the thread handling a message.
+    @Param({"5"})
+    private int databaseMillis;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @Setup
+    public void setUp() {
+        executor = new ThreadPoolTaskExecutorBuilder()
+                .corePoolSize(poolSize)
+                .maxPoolSize(poolSize)
+                .taskDecorator(new MdcTaskDecorator())
+                .threadNamePrefix("clientInboundChannel-")
+                .build();
+        executor.initialize();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Sends a message of every scorer and waits until all messages are handled.
+     *
+     * @return int the number of messages handled with the MDC of the scorer
+     */
+    @Benchmark
+    public int handleBurst() throws InterruptedException {
+        CountDownLatch handled = new CountDownLatch(scorers);
+        AtomicInteger mdcPropagated = new AtomicInteger();
+
+        for (int scorer = 0; scorer < scorers; scorer++) {
+            String correlationId = Integer.toString(scorer);
+            MDC.put(CORRELATION_ID, correlationId);
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(databaseMillis);
+                    if (correlationId.equals(MDC.get(CORRELATION_ID))) mdcPropagated.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    handled.countDown();
+                }
+            });
+        }
+        MDC.clear();
+
+        handled.await();
+        return mdcPropagated.get();
+    }
+}
@@ -0,0 +1,53 @@
+package nl.kmartin.dartsmatcherapiv2.benchmarks;
+
+import nl.kmartin.dartsmatcherapiv2.features.dartboard.IDartboardService;
+import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.Dart;
+import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.DartBoardSection;
+import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.DartboardSectionArea;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks scoring a virtual dart throw, the throws are generated up front so only the scoring is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DartboardBenchmark {
+    private static final int THROWS = 4096;
+
+    private IDartboardService dartboardService;
+    private Dart[] targets;
+    private double[] offsetRs;
+    private double[] offsetThetas;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        dartboardService = X01BenchmarkSupport.createFeatureTestFactory().createDartboardService();
+
+        Random random = new Random(X01BenchmarkSupport.SEED);
+        DartBoardSection[] sections = DartBoardSection.values();
+        DartboardSectionArea[] areas = {DartboardSectionArea.TRIPLE, DartboardSectionArea.DOUBLE, DartboardSectionArea.OUTER_SINGLE};
+
+        targets = new Dart[THROWS];
+        offsetRs = new double[THROWS];
+        offsetThetas = new double[THROWS];
+        for (int i = 0; i < THROWS; i++) {
+            targets[i] = new Dart(sections[random.nextInt(sections.length)], areas[random.nextInt(areas.length)]);
+            offsetRs[i] = random.nextGaussian() * 20;
+            offsetThetas[i] = random.nextGaussian() * 0.2;
+        }
+    }
+
+    @Benchmark
+    public Dart getScore() {
+        int i = index++ & (THROWS - 1);
+        return dartboardService.getScore(targets[i], offsetRs[i], offsetThetas[i]);
+    }
+}
@@ -0,0 +1,55 @@
+package nl.kmartin.dartsmatcherapiv2.benchmarks;
+
+import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
+import nl.kmartin.dartsmatcherapiv2.features.testutils.X01FeatureTestFactory;
+import nl.kmartin.dartsmatcherapiv2.features.testutils.X01SyntheticMatchFactory;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.api.IX01MatchRepository;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Creates the services and synthetic matches used by the benchmarks. The services are wired the same way as in the
+ * feature tests, without a Spring context.
+ */
+public final class X01BenchmarkSupport {
+    // The seed of the synthetic matches, so every run benchmarks the same matches.
+    public static final long SEED = 42;
+
+    private X01BenchmarkSupport() {
+    }
+
+    /**
+     * The sizes of the synthetic matches, from a single leg up to a best of 49 sets of best of 49 legs.
+     */
+    public enum MatchSize {
+        SINGLE_LEG(1, 1),
+        BEST_OF_11_LEGS(1, 11),
+        BEST_OF_7_SETS(7, 5),
+        BEST_OF_49_SETS(49, 49);
+
+        private final int bestOfSets;
+        private final int bestOfLegs;
+
+        MatchSize(int bestOfSets, int bestOfLegs) {
+            this.bestOfSets = bestOfSets;
+            this.bestOfLegs = bestOfLegs;
+        }
+
+        public X01Match createConcludedMatch(X01SyntheticMatchFactory syntheticMatchFactory) {
+            return syntheticMatchFactory.createConcludedMatch(bestOfSets, bestOfLegs, SEED);
+        }
+    }
+
+    public static X01FeatureTestFactory createFeatureTestFactory() {
+        return new X01FeatureTestFactory(
+                Mockito.mock(IX01MatchRepository.class),
+                Mockito.mock(MessageResolver.class),
+                Mockito.mock(ApplicationEventPublisher.class)
+        );
+    }
+
+    public static X01SyntheticMatchFactory createSyntheticMatchFactory() {
+        return new X01SyntheticMatchFactory(createFeatureTestFactory());
+    }
+}
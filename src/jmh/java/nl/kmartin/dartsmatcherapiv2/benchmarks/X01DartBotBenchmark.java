@@ -0,0 +1,52 @@
+package nl.kmartin.dartsmatcherapiv2.benchmarks;
+
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.PlayerType;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01DartBotSettings;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Turn;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01dartbot.IX01DartBotService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks creating a dart bot turn in a match that is in play. Creating a turn doesn't modify the match, so the
+ * same leg state is simulated by every invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class X01DartBotBenchmark {
+
+    // The number of turns played before the bot throws, which determines how far the bot is in the leg.
+    @Param({"0", "8", "12"})
+    private int turnsPlayed;
+
+    @Param({"45", "90"})
+    private int threeDartAverage;
+
+    private IX01DartBotService dartBotService;
+    private X01Match match;
+
+    @Setup
+    public void setUp() {
+        dartBotService = X01BenchmarkSupport.createFeatureTestFactory().createDartBotService();
+        match = X01BenchmarkSupport.createSyntheticMatchFactory().createMatch(501, 1, 3, turnsPlayed, X01BenchmarkSupport.SEED);
+
+        // Let a dart bot throw the next turn.
+        match.getPlayers().stream()
+                .filter(player -> player.getPlayerId().equals(match.getMatchProgress().getCurrentThrower()))
+                .forEach(player -> {
+                    player.setPlayerType(PlayerType.DART_BOT);
+                    player.setX01DartBotSettings(new X01DartBotSettings(threeDartAverage));
+                });
+    }
+
+    @Benchmark
+    public X01Turn createDartBotTurn() {
+        return dartBotService.createDartBotTurn(match);
+    }
+}
@@ -0,0 +1,62 @@
+package nl.kmartin.dartsmatcherapiv2.benchmarks;
+
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.*;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01leg.IX01LegService;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks adding the turns of a synthetic 501 leg one by one with {@link IX01LegService#addScore}, every score
+ * validates and updates the result of the leg.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class X01LegBenchmark {
+
+    private record LegTurn(int roundNumber, ObjectId throwerId, X01Turn turn) {
+    }
+
+    private IX01LegService legService;
+    private List<X01MatchPlayer> players;
+    private ObjectId throwsFirst;
+    private List<LegTurn> legTurns;
+
+    @Setup
+    public void setUp() {
+        legService = X01BenchmarkSupport.createFeatureTestFactory().createLegService();
+
+        // Replay the turns of a synthetic leg.
+        X01Match match = X01BenchmarkSupport.MatchSize.SINGLE_LEG.createConcludedMatch(X01BenchmarkSupport.createSyntheticMatchFactory());
+        X01Leg leg = match.getSets().firstEntry().getValue().getLegs().firstEntry().getValue();
+
+        players = match.getPlayers();
+        throwsFirst = leg.getThrowsFirst();
+        legTurns = new ArrayList<>();
+        leg.getRounds().forEach((roundNumber, round) -> round.getScores().forEach((throwerId, roundScore) -> {
+            Integer checkoutDartsUsed = roundScore.getRemaining() == 0 ? leg.getCheckoutDartsUsed() : null;
+            legTurns.add(new LegTurn(roundNumber, throwerId, new X01Turn(roundScore.getScore(), checkoutDartsUsed, null)));
+        }));
+    }
+
+    @Benchmark
+    public X01Leg addScore() {
+        X01Leg leg = new X01Leg(null, throwsFirst, new TreeMap<>());
+        for (LegTurn legTurn : legTurns) {
+            Map<Integer, X01LegRound> rounds = leg.getRounds();
+            rounds.computeIfAbsent(legTurn.roundNumber(), roundNumber -> new X01LegRound(new LinkedHashMap<>()));
+            legService.addScore(501, leg, legTurn.roundNumber(), legTurn.turn(), players, legTurn.throwerId(), false);
+        }
+        return leg;
+    }
+}
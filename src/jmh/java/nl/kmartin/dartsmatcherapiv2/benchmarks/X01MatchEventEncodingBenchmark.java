@@ -0,0 +1,49 @@
+package nl.kmartin.dartsmatcherapiv2.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.kmartin.dartsmatcherapiv2.config.JacksonConfig;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01EncodedMatchEvent;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEvent;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventEncoding;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchEventEncoderService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchEventEncoderServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks encoding a match event of a concluded synthetic match per wire format. The size of the encoded event on
+ * the wire is printed at the start of every trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class X01MatchEventEncodingBenchmark {
+
+    @Param
+    private X01BenchmarkSupport.MatchSize matchSize;
+
+    @Param
+    private X01MatchEventEncoding encoding;
+
+    private IX01MatchEventEncoderService matchEventEncoderService;
+    private X01MatchEvent event;
+
+    @Setup
+    public void setUp() {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        ObjectMapper objectMapper = jacksonConfig.objectMapper(jacksonConfig.customSerializerModule());
+        matchEventEncoderService = new X01MatchEventEncoderServiceImpl(objectMapper, 1);
+        event = new X01MatchEvent.X01ProcessMatchEvent(matchSize.createConcludedMatch(X01BenchmarkSupport.createSyntheticMatchFactory()));
+
+        System.out.printf("%n%s %s event: %d bytes%n", matchSize, encoding, matchEventEncoderService.encode(event, encoding).payload().length);
+    }
+
+    @Benchmark
+    public X01EncodedMatchEvent encode() {
+        return matchEventEncoderService.encode(event, encoding);
+    }
+}
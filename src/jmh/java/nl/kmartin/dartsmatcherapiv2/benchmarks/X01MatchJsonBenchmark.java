@@ -0,0 +1,47 @@
+package nl.kmartin.dartsmatcherapiv2.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.kmartin.dartsmatcherapiv2.config.JacksonConfig;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the (de)serialization of concluded synthetic matches with the object mapper of the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class X01MatchJsonBenchmark {
+
+    @Param
+    private X01BenchmarkSupport.MatchSize matchSize;
+
+    private ObjectMapper objectMapper;
+    private X01Match match;
+    private byte[] matchJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        objectMapper = jacksonConfig.objectMapper(jacksonConfig.customSerializerModule());
+        match = matchSize.createConcludedMatch(X01BenchmarkSupport.createSyntheticMatchFactory());
+        matchJson = objectMapper.writeValueAsBytes(match);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(match);
+    }
+
+    @Benchmark
+    public X01Match deserialize() throws IOException {
+        return objectMapper.readValue(matchJson, X01Match.class);
+    }
+}
@@ -0,0 +1,58 @@
+package nl.kmartin.dartsmatcherapiv2.benchmarks;
+
+import nl.kmartin.dartsmatcherapiv2.features.testutils.X01FeatureTestFactory;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchProgressService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchResultService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01statistics.IX01StatisticsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the full recalculation of a match (used when a match is created, edited, reset or reprocessed) on
+ * concluded synthetic matches. The recalculations are idempotent, so the same match is reused by every invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class X01MatchUpdateBenchmark {
+
+    @Param
+    private X01BenchmarkSupport.MatchSize matchSize;
+
+    private IX01MatchResultService matchResultService;
+    private IX01StatisticsService statisticsService;
+    private IX01MatchProgressService matchProgressService;
+    private X01Match match;
+
+    @Setup
+    public void setUp() {
+        X01FeatureTestFactory featureTestFactory = X01BenchmarkSupport.createFeatureTestFactory();
+        matchResultService = featureTestFactory.createMatchResultService();
+        statisticsService = featureTestFactory.createStatisticsService();
+        matchProgressService = featureTestFactory.createMatchProgressService();
+        match = matchSize.createConcludedMatch(X01BenchmarkSupport.createSyntheticMatchFactory());
+    }
+
+    @Benchmark
+    public X01Match updateMatchResult() {
+        matchResultService.updateMatchResult(match);
+        return match;
+    }
+
+    @Benchmark
+    public X01Match updatePlayerStatistics() {
+        statisticsService.updatePlayerStatistics(match);
+        return match;
+    }
+
+    @Benchmark
+    public X01Match updateMatchProgress() {
+        matchProgressService.updateMatchProgress(match);
+        return match;
+    }
+}
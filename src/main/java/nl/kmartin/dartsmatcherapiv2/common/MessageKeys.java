@@ -39,6 +39,11 @@ public class MessageKeys {
     public static final String MESSAGE_RESOURCE_NOT_FOUND = "message.resource.not.found";
     public static final String MESSAGE_TOO_MANY_BOTS = "message.too.many.bots";
     public static final String MESSAGE_BOT_REQUIRES_HUMAN = "message.bot.requires.human";
+    public static final String MESSAGE_CHECKOUT_DARTS_LEFT = "message.checkout.darts.left";
+    // Parameters: 0 (preferred double)
+    public static final String MESSAGE_CHECKOUT_PREFERRED_DOUBLE = "message.checkout.preferred.double";
+    public static final String MESSAGE_INVALID_CURSOR = "message.invalid.cursor";
+    public static final String MESSAGE_MATCH_CONCLUDED = "message.match.concluded";
 
     /**
      * Developer-facing Exceptions (exception.*)
@@ -13,11 +13,22 @@ public class RestEndpoints {
     public static final String X01_CREATE_MATCH = "/x01/matches";
     public static final String X01_GET_MATCH = "/x01/matches/{matchId}";
     public static final String X01_GET_MATCHES = "/x01/matches";
+    public static final String X01_SEARCH_MATCHES = "/x01/matches/search";
+    public static final String X01_GET_MATCH_SUMMARY = "/x01/matches/{matchId}/summary";
+    public static final String X01_GET_MATCH_SUMMARIES = "/x01/matches/summaries";
     public static final String X01_MATCH_EXISTS = "/x01/matches/{matchId}/exists";
     public static final String X01_RESET_MATCH = "/x01/matches/{matchId}/reset";
     public static final String X01_REPROCESS_MATCH = "/x01/matches/{matchId}/reprocess";
     public static final String X01_DELETE_MATCH = "/x01/matches/{matchId}/delete";
     public static final String X01_ADD_TURN = "/x01/matches/{matchId}/turn/add";
+    public static final String X01_ADD_TURNS = "/x01/matches/{matchId}/turns/add";
     public static final String X01_EDIT_TURN = "/x01/matches/{matchId}/turn/edit";
     public static final String X01_DELETE_LAST_TURN = "/x01/matches/{matchId}/turn/delete-last";
-}
\ No newline at end of file
+
+    // X01 Player Statistics Endpoints
+    public static final String X01_GET_PLAYER_STATISTICS = "/x01/players/{playerName}/statistics";
+    public static final String X01_REBUILD_PLAYER_STATISTICS = "/x01/players/statistics/rebuild";
+
+    // X01 Dart Bot Endpoints
+    public static final String X01_SIMULATE_DART_BOT = "/x01/dart-bot/simulate";
+}
@@ -1,6 +1,7 @@
 package nl.kmartin.dartsmatcherapiv2.common;
 
 import nl.kmartin.dartsmatcherapiv2.config.WebsocketConfig;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventEncoding;
 import org.bson.types.ObjectId;
 
 public class WebsocketDestinations {
@@ -13,6 +14,7 @@ public class WebsocketDestinations {
     public static final String X01_RESET_MATCH = "/x01/matches/{matchId}/reset";
     public static final String X01_REPROCESS_MATCH = "/x01/matches/{matchId}/reprocess";
     public static final String X01_ADD_TURN = "/x01/matches/{matchId}/turn/add";
+    public static final String X01_ADD_TURNS = "/x01/matches/{matchId}/turns/add";
     public static final String X01_EDIT_TURN = "/x01/matches/{matchId}/turn/edit";
     public static final String X01_DELETE_LAST_TURN = "/x01/matches/{matchId}/turn/delete-last";
 
@@ -22,4 +24,10 @@ public class WebsocketDestinations {
     public static String getX01MatchBroadcastDestination(ObjectId matchId) {
         return WebsocketConfig.BROADCAST_PREFIX + X01_GET_MATCH.replace("{matchId}", String.valueOf(matchId));
     }
+
+    // Subscribers of a binary encoding are subscribed to a separate destination of the match.
+    public static String getX01MatchBroadcastDestination(ObjectId matchId, X01MatchEventEncoding encoding) {
+        String destination = getX01MatchBroadcastDestination(matchId);
+        return encoding != null ? destination + encoding.getDestinationSuffix() : destination;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,242 @@
+package nl.kmartin.dartsmatcherapiv2.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.kmartin.dartsmatcherapiv2.common.WebsocketDestinations;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventEncoding;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * A Spring Messaging {@link ExecutorChannelInterceptor} for the client outbound channel.
+ *
+ * Conflates the match broadcasts of every subscription, so a subscriber that falls behind can't fill the queue of the
+ * outbound thread pool. Per subscription of a session to the broadcasts of a match, at most one broadcast is being
+ * sent (or waiting for a thread) and at most one broadcast waits for it to be sent. A newer broadcast replaces the
+ * waiting broadcast, so a slow subscriber skips the intermediate versions and receives the latest one (and fetches the
+ * match when it detects the gap in broadcast versions). Subscribers that keep up receive every broadcast, in order.
+ * The slot of a subscription is released when its broadcast fails to be sent, and removed when the client unsubscribes
+ * or the session closes.
+ */
+@Component
+public class ConflatingChannelInterceptor implements ExecutorChannelInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(ConflatingChannelInterceptor.class);
+
+    private static final String X01_MATCH_BROADCAST_PATTERN = WebsocketConfig.BROADCAST_PREFIX + WebsocketDestinations.X01_GET_MATCH;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final boolean enabled;
+    private final Counter conflatedCounter;
+    private final ConcurrentMap<SubscriptionKey, Slot> slots = new ConcurrentHashMap<>();
+
+    public ConflatingChannelInterceptor(MeterRegistry meterRegistry,
+                                        @Value("${darts-matcher.websocket.conflation.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        this.conflatedCounter = Counter.builder("stomp.broadcasts.conflated")
+                .description("Match broadcasts replaced by a newer broadcast before they were sent to a subscriber")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Lets a broadcast through when nothing is being sent to its subscription, otherwise it waits (replacing the
+     * previously waiting broadcast) until the broadcast being sent is handled.
+     */
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        SubscriptionKey key = getSubscriptionKey(message);
+        if (key == null) return message;
+
+        while (true) {
+            Slot slot = slots.computeIfAbsent(key, k -> new Slot());
+            synchronized (slot) {
+                // The slot was released concurrently, retry with a new slot.
+                if (slot.removed) continue;
+
+                // The waiting broadcast is sent after the previous one was handled.
+                if (message == slot.sending) return message;
+
+                if (slot.sending == null) {
+                    slot.sending = message;
+                    return message;
+                }
+
+                if (slot.waiting != null) conflatedCounter.increment();
+                slot.waiting = message;
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Releases the slot of a broadcast that failed to be handed to the outbound executor, otherwise the subscription
+     * would never receive a broadcast again. A task rejected by the executor is run on the sending thread instead, so
+     * its slot is released once it has been handled.
+     */
+    @Override
+    public void afterSendCompletion(@NonNull Message<?> message, @NonNull MessageChannel channel, boolean sent,
+                                    Exception ex) {
+        if (sent && ex == null) return;
+
+        SubscriptionKey key = getSubscriptionKey(message);
+        if (key == null) return;
+
+        Slot slot = slots.get(key);
+        if (slot == null) return;
+
+        synchronized (slot) {
+            if (slot.sending != message) return;
+            release(key, slot);
+        }
+        log.warn("Failed to send a broadcast of {} to session {}, the next broadcast is sent right away.",
+                key.destination(), key.sessionId(), ex);
+    }
+
+    /**
+     * Sends the waiting broadcast of the subscription once the previous broadcast has been handled.
+     */
+    @Override
+    public void afterMessageHandled(@NonNull Message<?> message, @NonNull MessageChannel channel,
+                                    @NonNull MessageHandler handler, Exception ex) {
+        SubscriptionKey key = getSubscriptionKey(message);
+        if (key == null) return;
+
+        Slot slot = slots.get(key);
+        if (slot == null) return;
+
+        Message<?> waiting;
+        synchronized (slot) {
+            // The slot was released (and possibly replaced) while the broadcast was being sent.
+            if (slot.sending != message) return;
+
+            waiting = slot.waiting;
+            slot.waiting = null;
+            if (waiting == null) {
+                release(key, slot);
+                return;
+            }
+            slot.sending = waiting;
+        }
+
+        try {
+            channel.send(waiting);
+        } catch (RuntimeException e) {
+            // The slot has been released after the failed send.
+            log.error("Failed to send the latest broadcast of {} to session {}.", key.destination(), key.sessionId(), e);
+        }
+    }
+
+    /**
+     * Removes the slots of a subscription, the broadcasts still waiting for it are dropped.
+     *
+     * @param event {@link SessionUnsubscribeEvent} the event of the UNSUBSCRIBE frame
+     */
+    @EventListener
+    public void onSessionUnsubscribe(SessionUnsubscribeEvent event) {
+        MessageHeaders headers = event.getMessage().getHeaders();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+        if (sessionId == null || subscriptionId == null) return;
+
+        removeSlots(key -> key.sessionId().equals(sessionId) && key.subscriptionId().equals(subscriptionId));
+    }
+
+    /**
+     * Removes the slots of all subscriptions of a session, the broadcasts still waiting for it are dropped.
+     *
+     * @param event {@link SessionDisconnectEvent} the event of the closed session
+     */
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        String sessionId = event.getSessionId();
+        removeSlots(key -> key.sessionId().equals(sessionId));
+    }
+
+    /**
+     * @return int the number of subscriptions with a broadcast in flight
+     */
+    public int getSlotCount() {
+        return slots.size();
+    }
+
+    /**
+     * Removes the slots of the subscriptions that no longer receive broadcasts. Only the subscriptions with a broadcast
+     * in flight have a slot, so the map stays small enough to be scanned.
+     *
+     * @param filter {@link Predicate} whether the slot of a subscription is to be removed
+     */
+    private void removeSlots(Predicate<SubscriptionKey> filter) {
+        slots.forEach((key, slot) -> {
+            if (!filter.test(key)) return;
+            synchronized (slot) {
+                release(key, slot);
+            }
+        });
+    }
+
+    /**
+     * Removes a slot, the next broadcast of the subscription is sent right away. Must hold the lock of the slot.
+     *
+     * @param key  {@link SubscriptionKey} the subscription of the slot
+     * @param slot {@link Slot} the slot to be removed
+     */
+    private void release(SubscriptionKey key, Slot slot) {
+        slot.sending = null;
+        slot.waiting = null;
+        slot.removed = true;
+        slots.remove(key, slot);
+    }
+
+    /**
+     * @param message {@link Message} a message sent to a client
+     * @return {@link SubscriptionKey} the subscription of a match broadcast, null for other messages (or when disabled)
+     */
+    private SubscriptionKey getSubscriptionKey(Message<?> message) {
+        if (!enabled) return null;
+
+        MessageHeaders headers = message.getHeaders();
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE) return null;
+
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+        if (destination == null || sessionId == null || subscriptionId == null || !isMatchBroadcast(destination)) return null;
+
+        return new SubscriptionKey(sessionId, subscriptionId, destination);
+    }
+
+    private boolean isMatchBroadcast(String destination) {
+        return pathMatcher.match(X01_MATCH_BROADCAST_PATTERN, destination)
+                || pathMatcher.match(X01_MATCH_BROADCAST_PATTERN + X01MatchEventEncoding.CBOR.getDestinationSuffix(), destination);
+    }
+
+    private record SubscriptionKey(String sessionId, String subscriptionId, String destination) {
+    }
+
+    /**
+     * The state of a subscription that has a broadcast in flight, guarded by its own lock.
+     */
+    private static class Slot {
+        private boolean removed;
+        private Message<?> sending;
+        private Message<?> waiting;
+    }
+}
@@ -0,0 +1,53 @@
+package nl.kmartin.dartsmatcherapiv2.config;
+
+import nl.kmartin.dartsmatcherapiv2.common.WebsocketDestinations;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventEncoding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+/**
+ * A Spring Messaging {@link ChannelInterceptor}
+ *
+ * Negotiates the wire format of match broadcasts per subscription. A subscription to the broadcasts of a match with
+ * an "accept: application/cbor" header is moved to the binary destination of the match, so the subscriber receives
+ * the cbor encoded events instead of json. Other subscriptions are left untouched.
+ */
+@Component
+public class EventEncodingChannelInterceptor implements ChannelInterceptor {
+
+    private static final String X01_MATCH_BROADCAST_PATTERN = WebsocketConfig.BROADCAST_PREFIX + WebsocketDestinations.X01_GET_MATCH;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final boolean binaryEncodingEnabled;
+
+    public EventEncodingChannelInterceptor(@Value("${darts-matcher.websocket.binary-encoding.enabled:false}") boolean binaryEncodingEnabled) {
+        this.binaryEncodingEnabled = binaryEncodingEnabled;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        if (!binaryEncodingEnabled) return message;
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        if (!StompCommand.SUBSCRIBE.equals(accessor.getCommand())) return message;
+
+        // Only subscriptions to match broadcasts that accept a binary encoding are moved.
+        String destination = accessor.getDestination();
+        if (destination == null || !pathMatcher.match(X01_MATCH_BROADCAST_PATTERN, destination)) return message;
+
+        X01MatchEventEncoding encoding = X01MatchEventEncoding.fromAccept(accessor.getFirstNativeHeader(X01MatchEventEncoding.ACCEPT_HEADER));
+        if (encoding == X01MatchEventEncoding.JSON) return message;
+
+        accessor.setDestination(destination + encoding.getDestinationSuffix());
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+}
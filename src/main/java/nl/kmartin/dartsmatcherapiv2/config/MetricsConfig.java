@@ -0,0 +1,48 @@
+package nl.kmartin.dartsmatcherapiv2.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchPublishService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchPublishMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Exposes the state of the match event publication pipeline as meters. The meters are read from the publish service
+ * when they are scraped.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder matchPublishMetrics(IX01MatchPublishService matchPublishService) {
+        return registry -> {
+            Gauge.builder("x01.match.broadcast.pending", matchPublishService, service -> service.getMetrics().pending())
+                    .description("Match event broadcasts waiting to be sent")
+                    .register(registry);
+
+            registerBroadcastCounter(registry, matchPublishService, "published", X01MatchPublishMetrics::published);
+            registerBroadcastCounter(registry, matchPublishService, "dropped", X01MatchPublishMetrics::dropped);
+            registerBroadcastCounter(registry, matchPublishService, "stale", X01MatchPublishMetrics::stale);
+            registerBroadcastCounter(registry, matchPublishService, "failed", X01MatchPublishMetrics::failed);
+        };
+    }
+
+    /**
+     * @param registry            {@link MeterRegistry} the registry to register the counter in
+     * @param matchPublishService {@link IX01MatchPublishService} the service the count is read from
+     * @param result              String the result of the broadcasts that are counted
+     * @param count               {@link ToDoubleFunction} reads the count from the publish metrics
+     */
+    private void registerBroadcastCounter(MeterRegistry registry, IX01MatchPublishService matchPublishService,
+                                          String result, ToDoubleFunction<X01MatchPublishMetrics> count) {
+        FunctionCounter.builder("x01.match.broadcasts", matchPublishService, service -> count.applyAsDouble(service.getMetrics()))
+                .description("Match event broadcasts by result")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -1,13 +1,24 @@
 package nl.kmartin.dartsmatcherapiv2.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01EncodedMatchEventConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+import java.util.List;
 
 /**
  * Configuration class for websocket message broker
@@ -21,11 +32,24 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
  * Example Destinations:
  * STOMP subscribe destination (Single Response):       /app/matches/x01/67dd4a0746cdab5415620e01
  * STOMP subscribe destination (Broadcast Response):    /topic/matches/x01/67dd4a0746cdab5415620e01
+ * STOMP subscribe header (binary cbor responses):      accept:application/cbor
  * STOMP subscribe error queue destination:             /user/queue/errors
  * STOMP publish destination:                           /app/matches/x01/67dd4a0746cdab5415620e01/turn/add
  * STOMP message content (add turn):                    {"matchId": "67dd4a0746cdab5415620e01", "score": 60, "dartsUsed": 3, "doublesMissed": 0}
  * =
  * Websocket Debug Tool: https://jiangxy.github.io/websocket-debug-tool/
+ * =
+ * When the broker relay is enabled the broadcast and error destinations are relayed to an external STOMP broker (e.g.
+ * ActiveMQ Artemis or RabbitMQ with the STOMP plugin) instead of the in-memory simple broker. Every instance connected
+ * to the broker then delivers the broadcasts of all instances to its own subscribers, so the websocket connections can
+ * be spread over multiple instances.
+ * =
+ * The endpoint compresses the messages of clients that request permessage-deflate (unless compression is disabled).
+ * Slow consumers are limited by the send buffer and send time limits, a session that exceeds either is closed (the
+ * client reconnects and fetches the match). The send buffer only limits the messages queued while a send is in
+ * progress, so a single match event larger than the buffer is still sent. Match broadcasts are conflated per
+ * subscription, a subscriber that falls behind skips to the latest broadcast instead of queueing every broadcast on the
+ * outbound channel.
  */
 @Configuration
 @EnableWebSocketMessageBroker
@@ -36,49 +60,194 @@ public class WebsocketConfig implements WebSocketMessageBrokerConfigurer {
     public static String BROADCAST_ERROR_PREFIX = "/queue";
     public static String APP_WEBSOCKET_ENDPOINT = "/darts-matcher-websocket";
 
+    // The topics used by the broker relay to reach user destinations and users connected to other instances.
+    public static String USER_DESTINATION_BROADCAST = "/topic/unresolved-user-destination";
+    public static String USER_REGISTRY_BROADCAST = "/topic/user-registry";
+
     private final MdcChannelInterceptor mdcChannelInterceptor;
     private final WebsocketHandshakeInterceptor handshakeInterceptor;
     private final ThreadPoolTaskExecutorBuilder taskExecutorBuilder;
     private final MdcTaskDecorator mdcTaskDecorator;
+    private final BrokerRelayProperties brokerRelayProperties;
+    private final EventEncodingChannelInterceptor eventEncodingChannelInterceptor;
+    private final WebsocketHandshakeHandler handshakeHandler;
+    private final WebsocketSessionMetrics sessionMetrics;
+    private final TransportProperties transportProperties;
+    private final ConflatingChannelInterceptor conflatingChannelInterceptor;
+
+    // The executors of the client channels, their queues hold the messages waiting to be handled or sent.
+    private ThreadPoolTaskExecutor clientInboundExecutor;
+    private ThreadPoolTaskExecutor clientOutboundExecutor;
 
-    public WebsocketConfig(MdcChannelInterceptor mdcChannelInterceptor, WebsocketHandshakeInterceptor handshakeInterceptor, ThreadPoolTaskExecutorBuilder taskExecutorBuilder, MdcTaskDecorator mdcTaskDecorator) {
+    public WebsocketConfig(MdcChannelInterceptor mdcChannelInterceptor, WebsocketHandshakeInterceptor handshakeInterceptor, ThreadPoolTaskExecutorBuilder taskExecutorBuilder, MdcTaskDecorator mdcTaskDecorator,
+                           @Value("${darts-matcher.websocket.broker-relay.enabled:false}") boolean brokerRelayEnabled,
+                           @Value("${darts-matcher.websocket.broker-relay.host:localhost}") String brokerRelayHost,
+                           @Value("${darts-matcher.websocket.broker-relay.port:61613}") int brokerRelayPort,
+                           @Value("${darts-matcher.websocket.broker-relay.login:guest}") String brokerRelayLogin,
+                           @Value("${darts-matcher.websocket.broker-relay.passcode:guest}") String brokerRelayPasscode,
+                           EventEncodingChannelInterceptor eventEncodingChannelInterceptor,
+                           WebsocketHandshakeHandler handshakeHandler, WebsocketSessionMetrics sessionMetrics,
+                           @Value("${darts-matcher.websocket.message-size-limit:65536}") int messageSizeLimit,
+                           @Value("${darts-matcher.websocket.send-buffer-size-limit:524288}") int sendBufferSizeLimit,
+                           @Value("${darts-matcher.websocket.send-time-limit:10000}") int sendTimeLimit,
+                           ConflatingChannelInterceptor conflatingChannelInterceptor) {
         this.mdcChannelInterceptor = mdcChannelInterceptor;
         this.handshakeInterceptor = handshakeInterceptor;
         this.taskExecutorBuilder = taskExecutorBuilder;
         this.mdcTaskDecorator = mdcTaskDecorator;
+        this.brokerRelayProperties = new BrokerRelayProperties(brokerRelayEnabled, brokerRelayHost, brokerRelayPort,
+                brokerRelayLogin, brokerRelayPasscode);
+        this.eventEncodingChannelInterceptor = eventEncodingChannelInterceptor;
+        this.handshakeHandler = handshakeHandler;
+        this.sessionMetrics = sessionMetrics;
+        this.transportProperties = new TransportProperties(messageSizeLimit, sendBufferSizeLimit, sendTimeLimit);
+        this.conflatingChannelInterceptor = conflatingChannelInterceptor;
     }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.setApplicationDestinationPrefixes(APP_PREFIX)
-                .enableSimpleBroker(BROADCAST_PREFIX, BROADCAST_ERROR_PREFIX);
+        config.setApplicationDestinationPrefixes(APP_PREFIX);
+
+        if (brokerRelayProperties.enabled()) {
+            configureBrokerRelay(config.enableStompBrokerRelay(BROADCAST_PREFIX, BROADCAST_ERROR_PREFIX), brokerRelayProperties);
+        } else {
+            config.enableSimpleBroker(BROADCAST_PREFIX, BROADCAST_ERROR_PREFIX);
+        }
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint(APP_WEBSOCKET_ENDPOINT)
+                .setHandshakeHandler(this.handshakeHandler)
                 .setAllowedOriginPatterns("*")
                 .addInterceptors(this.handshakeInterceptor);
     }
 
     @Override
-    public void configureClientInboundChannel(ChannelRegistration registration) {
-        ThreadPoolTaskExecutor mdcTaskExecutor = this.taskExecutorBuilder
-                .taskDecorator(mdcTaskDecorator)
-                .threadNamePrefix("clientInboundChannel-")
-                .build();
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setMessageSizeLimit(transportProperties.messageSizeLimit())
+                .setSendBufferSizeLimit(transportProperties.sendBufferSizeLimit())
+                .setSendTimeLimit(transportProperties.sendTimeLimit())
+                .addDecoratorFactory(this.sessionMetrics);
+    }
 
-        registration.interceptors(this.mdcChannelInterceptor);
-        registration.taskExecutor(mdcTaskExecutor);
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(this.mdcChannelInterceptor, this.eventEncodingChannelInterceptor);
+        this.clientInboundExecutor = registerExecutor(registration, "clientInboundChannel-");
     }
 
     @Override
     public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(this.conflatingChannelInterceptor);
+        this.clientOutboundExecutor = registerExecutor(registration, "clientOutboundChannel-");
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // Send pre-encoded match events as is. It must precede the json converter, which would serialize them again.
+        messageConverters.add(0, new X01EncodedMatchEventConverter());
+        return true;
+    }
+
+    /**
+     * Configures the WebSocket container, so it accepts incoming messages up to the message size limit.
+     *
+     * @return {@link ServletServerContainerFactoryBean} the container configuration
+     */
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(transportProperties.messageSizeLimit());
+        container.setMaxBinaryMessageBufferSize(transportProperties.messageSizeLimit());
+        return container;
+    }
+
+    @Bean
+    public MeterBinder clientChannelMetrics() {
+        return registry -> {
+            Gauge.builder("stomp.channel.queue", this, config -> getQueueSize(config.clientInboundExecutor))
+                    .description("Messages waiting in the queue of a client channel")
+                    .tag("channel", "inbound")
+                    .register(registry);
+            Gauge.builder("stomp.channel.queue", this, config -> getQueueSize(config.clientOutboundExecutor))
+                    .description("Messages waiting in the queue of a client channel")
+                    .tag("channel", "outbound")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Configures the connection of the broker relay to the external broker. The client sessions and the shared system
+     * session of the instance use the same credentials.
+     *
+     * @param registration {@link StompBrokerRelayRegistration} the broker relay registration
+     * @param properties   {@link BrokerRelayProperties} the address and credentials of the broker
+     * @return {@link StompBrokerRelayRegistration} the configured registration
+     */
+    private static StompBrokerRelayRegistration configureBrokerRelay(StompBrokerRelayRegistration registration, BrokerRelayProperties properties) {
+        return registration
+                .setRelayHost(properties.host())
+                .setRelayPort(properties.port())
+                .setClientLogin(properties.login())
+                .setClientPasscode(properties.passcode())
+                .setSystemLogin(properties.login())
+                .setSystemPasscode(properties.passcode())
+                .setUserDestinationBroadcast(USER_DESTINATION_BROADCAST)
+                .setUserRegistryBroadcast(USER_REGISTRY_BROADCAST);
+    }
+
+    /**
+     * Registers the executor of a client channel. Messages are handled by a thread pool that propagates the MDC of the
+     * message to the thread handling it, and wait in its queue while all threads are busy.
+     *
+     * @param registration     {@link ChannelRegistration} the registration of the client channel
+     * @param threadNamePrefix String the prefix of the names of the threads
+     * @return {@link ThreadPoolTaskExecutor} the registered executor
+     */
+    private ThreadPoolTaskExecutor registerExecutor(ChannelRegistration registration, String threadNamePrefix) {
         ThreadPoolTaskExecutor mdcTaskExecutor = this.taskExecutorBuilder
-                .taskDecorator(new MdcTaskDecorator())
-                .threadNamePrefix("clientOutboundChannel-")
+                .taskDecorator(mdcTaskDecorator)
+                .threadNamePrefix(threadNamePrefix)
                 .build();
 
         registration.taskExecutor(mdcTaskExecutor);
+        return mdcTaskExecutor;
+    }
+
+    /**
+     * @param executor {@link ThreadPoolTaskExecutor} the executor of a client channel
+     * @return int the number of tasks waiting in the queue of the executor, 0 when it isn't initialized
+     */
+    private static int getQueueSize(ThreadPoolTaskExecutor executor) {
+        if (executor == null) return 0;
+
+        try {
+            return executor.getThreadPoolExecutor().getQueue().size();
+        } catch (IllegalStateException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * The external STOMP broker the broadcasts are relayed to.
+     *
+     * @param enabled  whether the broadcasts are relayed instead of handled by the in-memory simple broker
+     * @param host     the host of the broker
+     * @param port     the STOMP port of the broker
+     * @param login    the login of the sessions with the broker
+     * @param passcode the passcode of the sessions with the broker
+     */
+    public record BrokerRelayProperties(boolean enabled, String host, int port, String login, String passcode) {
+    }
+
+    /**
+     * The limits of the WebSocket transport.
+     *
+     * @param messageSizeLimit    the maximum size in bytes of an incoming STOMP message
+     * @param sendBufferSizeLimit the maximum size in bytes of the messages buffered for a session that is still sending
+     * @param sendTimeLimit       the maximum time in milliseconds a single send to a session may take
+     */
+    public record TransportProperties(int messageSizeLimit, int sendBufferSizeLimit, int sendTimeLimit) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package nl.kmartin.dartsmatcherapiv2.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.List;
+
+/**
+ * Negotiates the extensions of the WebSocket handshake.
+ *
+ * The servlet container supports the permessage-deflate extension, which compresses every message sent to (and
+ * received from) a client that requests it. Full match events are repetitive json, so they compress well. When
+ * compression is disabled the extension is never accepted, which trades bandwidth for the cpu time of compressing.
+ */
+@Component
+public class WebsocketHandshakeHandler extends DefaultHandshakeHandler {
+    public static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    private final boolean compressionEnabled;
+
+    public WebsocketHandshakeHandler(@Value("${darts-matcher.websocket.compression.enabled:true}") boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    @Override
+    @NonNull
+    protected List<WebSocketExtension> filterRequestedExtensions(@NonNull ServerHttpRequest request,
+                                                                 @NonNull List<WebSocketExtension> requestedExtensions,
+                                                                 @NonNull List<WebSocketExtension> supportedExtensions) {
+        List<WebSocketExtension> extensions = super.filterRequestedExtensions(request, requestedExtensions, supportedExtensions);
+        if (compressionEnabled) return extensions;
+
+        return extensions.stream()
+                .filter(extension -> !PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()))
+                .toList();
+    }
+}
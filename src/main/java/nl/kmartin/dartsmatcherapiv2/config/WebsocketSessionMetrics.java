@@ -0,0 +1,209 @@
+package nl.kmartin.dartsmatcherapiv2.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.coyote.http11.upgrade.UpgradeGroupInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the bytes sent to every WebSocket session, by whether the session negotiated permessage-deflate.
+ *
+ * The servlet container compresses the messages after they leave the application, so the sessions only see the payload
+ * bytes before compression. The bytes Tomcat writes to the upgraded connections, after compression and framing, are
+ * only counted for all WebSocket connections together, so the compression ratio is reported for the whole server
+ * instead of per session.
+ * - websocket.sent.bytes: the (uncompressed) payload bytes sent, by compression
+ * - websocket.sent.wire.bytes: the bytes Tomcat wrote to WebSocket connections
+ * - websocket.compression.ratio: the payload bytes sent divided by the bytes written
+ * The totals of a session are recorded when it closes:
+ * - websocket.session.sent.bytes: the payload bytes sent per session, by compression
+ */
+@Component
+public class WebsocketSessionMetrics implements WebSocketHandlerDecoratorFactory {
+    private static final Logger log = LoggerFactory.getLogger(WebsocketSessionMetrics.class);
+
+    private static final String COMPRESSION_TAG = "compression";
+    private static final String NO_COMPRESSION = "none";
+    private static final String WEBSOCKET_UPGRADE_PROTOCOL = "websocket";
+
+    private final MeterRegistry meterRegistry;
+    private final Counter compressedBytesCounter;
+    private final Counter uncompressedBytesCounter;
+    private final DistributionSummary compressedSessionBytesSummary;
+    private final DistributionSummary uncompressedSessionBytesSummary;
+    private final ConcurrentMap<String, MeteredSession> sessions = new ConcurrentHashMap<>();
+    private volatile UpgradeGroupInfo upgradeGroupInfo;
+
+    public WebsocketSessionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.compressedBytesCounter = createSentBytesCounter(WebsocketHandshakeHandler.PERMESSAGE_DEFLATE);
+        this.uncompressedBytesCounter = createSentBytesCounter(NO_COMPRESSION);
+        this.compressedSessionBytesSummary = createSessionSentBytesSummary(WebsocketHandshakeHandler.PERMESSAGE_DEFLATE);
+        this.uncompressedSessionBytesSummary = createSessionSentBytesSummary(NO_COMPRESSION);
+
+        FunctionCounter.builder("websocket.sent.wire.bytes", this, WebsocketSessionMetrics::getWireBytesSent)
+                .description("Bytes written to WebSocket connections after compression and framing")
+                .register(meterRegistry);
+        Gauge.builder("websocket.compression.ratio", this, WebsocketSessionMetrics::getCompressionRatio)
+                .description("Payload bytes sent to WebSocket sessions divided by the bytes written")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (event.getWebServer() instanceof TomcatWebServer tomcatWebServer) {
+            bind(tomcatWebServer.getTomcat().getConnector());
+        }
+    }
+
+    /**
+     * Reads the bytes written to the WebSocket connections of a connector.
+     *
+     * @param connector {@link Connector} the connector accepting the WebSocket upgrades
+     */
+    public void bind(Connector connector) {
+        if (connector.getProtocolHandler() instanceof AbstractHttp11Protocol<?> protocol) {
+            this.upgradeGroupInfo = protocol.getUpgradeGroupInfo(WEBSOCKET_UPGRADE_PROTOCOL);
+        }
+    }
+
+    /**
+     * @return long the bytes written to WebSocket connections, or 0 when no connector is bound
+     */
+    public long getWireBytesSent() {
+        UpgradeGroupInfo groupInfo = upgradeGroupInfo;
+        return groupInfo != null ? groupInfo.getBytesSent() : 0;
+    }
+
+    /**
+     * @return double the payload bytes sent divided by the bytes written, or NaN before anything was written
+     */
+    public double getCompressionRatio() {
+        long wireBytesSent = getWireBytesSent();
+        if (wireBytesSent == 0) return Double.NaN;
+        return (compressedBytesCounter.count() + uncompressedBytesCounter.count()) / wireBytesSent;
+    }
+
+    @Override
+    @NonNull
+    public WebSocketHandler decorate(@NonNull WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(@NonNull WebSocketSession session) throws Exception {
+                MeteredSession meteredSession = createMeteredSession(session);
+                sessions.put(session.getId(), meteredSession);
+                super.afterConnectionEstablished(meteredSession);
+            }
+
+            @Override
+            public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus closeStatus) throws Exception {
+                MeteredSession meteredSession = sessions.remove(session.getId());
+                if (meteredSession != null) record(meteredSession);
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * Wraps a session so the messages sent to it are measured.
+     *
+     * @param session {@link WebSocketSession} the session to be measured
+     * @return {@link MeteredSession} the measured session
+     */
+    public MeteredSession createMeteredSession(WebSocketSession session) {
+        boolean compressed = session.getExtensions().stream()
+                .anyMatch(extension -> WebsocketHandshakeHandler.PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()));
+        return new MeteredSession(session, compressed ? compressedBytesCounter : uncompressedBytesCounter, compressed);
+    }
+
+    /**
+     * Records the totals of a closed session.
+     *
+     * @param session {@link MeteredSession} the closed session
+     */
+    public void record(MeteredSession session) {
+        (session.isCompressed() ? compressedSessionBytesSummary : uncompressedSessionBytesSummary).record(session.getBytesSent());
+
+        log.debug("WebSocket session {} sent {} messages with {} bytes.", session.getId(), session.getMessagesSent(),
+                session.getBytesSent());
+    }
+
+    private Counter createSentBytesCounter(String compression) {
+        return Counter.builder("websocket.sent.bytes")
+                .description("Payload bytes sent to WebSocket sessions before compression")
+                .tag(COMPRESSION_TAG, compression)
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary createSessionSentBytesSummary(String compression) {
+        return DistributionSummary.builder("websocket.session.sent.bytes")
+                .description("Payload bytes sent to a WebSocket session before compression")
+                .tag(COMPRESSION_TAG, compression)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A session that counts the messages and bytes sent to it.
+     */
+    public static class MeteredSession extends WebSocketSessionDecorator {
+        private final Counter sentBytesCounter;
+        private final boolean compressed;
+        private final AtomicLong messagesSent = new AtomicLong();
+        private final AtomicLong bytesSent = new AtomicLong();
+
+        /**
+         * @param session          {@link WebSocketSession} the session to be measured
+         * @param sentBytesCounter {@link Counter} the counter of the bytes sent to all sessions
+         * @param compressed       boolean whether the session negotiated permessage-deflate
+         */
+        public MeteredSession(WebSocketSession session, Counter sentBytesCounter, boolean compressed) {
+            super(session);
+            this.sentBytesCounter = sentBytesCounter;
+            this.compressed = compressed;
+        }
+
+        @Override
+        public void sendMessage(@NonNull WebSocketMessage<?> message) throws IOException {
+            super.sendMessage(message);
+
+            messagesSent.incrementAndGet();
+            bytesSent.addAndGet(message.getPayloadLength());
+            sentBytesCounter.increment(message.getPayloadLength());
+        }
+
+        public boolean isCompressed() {
+            return compressed;
+        }
+
+        public long getMessagesSent() {
+            return messagesSent.get();
+        }
+
+        public long getBytesSent() {
+            return bytesSent.get();
+        }
+    }
+}
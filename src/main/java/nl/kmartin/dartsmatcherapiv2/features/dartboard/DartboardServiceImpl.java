@@ -3,13 +3,38 @@ package nl.kmartin.dartsmatcherapiv2.features.dartboard;
 import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.*;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Scores virtual dart throws. The geometry of the dartboard is precomputed into lookup tables when the service is
+ * created: the outer angle of every section, the center of every section and section area, and the section area of
+ * every (whole) mm of the scoring radius. Scoring a throw therefore only needs constant time lookups and doesn't
+ * allocate anything besides the resulting {@link Dart}.
+ */
 @Service
 public class DartboardServiceImpl implements IDartboardService {
 
+    private static final double SECTION_SIZE = Math.PI / 10;
+
     private final Dartboard dartboard;
 
+    // The outer angle of each section index (see getSectionTheta).
+    private final double[] sectionThetas;
+
+    // The center angle of each section and the radial center of each section area, indexed by their ordinal.
+    private final double[] sectionCenterThetas;
+    private final double[] areaCenterRs;
+
+    // The section area of each radial in [mm, mm + 1), for radials up to the outer wire of the scoring area.
+    private final DartboardSectionArea[] sectionAreasByMm;
+
     public DartboardServiceImpl(Dartboard dartboard) {
         this.dartboard = dartboard;
+        this.sectionThetas = createSectionThetas();
+        this.sectionCenterThetas = createSectionCenterThetas();
+        this.areaCenterRs = createAreaCenterRs();
+        this.sectionAreasByMm = createSectionAreasByMm();
     }
 
     /**
@@ -23,33 +48,26 @@ public class DartboardServiceImpl implements IDartboardService {
      */
     @Override
     public Dart getScore(Dart target, double offsetR, double offsetTheta) {
-        // Create a polar coordinate from the center of the section area.
-        PolarCoordinate polarTarget = getCenter(target.getSection(), target.getArea());
+        // Look up the polar coordinate of the center of the section area.
+        double targetR = getCenterR(target.getArea());
+        double targetTheta = getCenterTheta(target.getSection(), target.getArea());
 
         // Add the deviation radial and angle to the target's polar coordinate.
-        double r = polarTarget.getR() + offsetR;
-        double theta = PolarCoordinate.normalizeTheta(polarTarget.getTheta() + offsetTheta);
+        double r = targetR + offsetR;
+        double theta = PolarCoordinate.normalizeTheta(targetTheta + offsetTheta);
 
         // Return the Dart containing the result of the polar coordinate with deviation.
-        return getScorePolar(new PolarCoordinate(r, theta));
-    }
-
-    /**
-     * @param cartesianCoordinate CartesianCoordinate The cartesian coordinates of which a score needs to be calculated.
-     * @return int The score corresponding the cartesian coordinates.
-     */
-    private Dart getScoreCartesian(CartesianCoordinate cartesianCoordinate) {
-
-        return getScorePolar(PolarCoordinate.fromCartesian(cartesianCoordinate));
+        return getScorePolar(r, theta);
     }
 
     /**
-     * @param polarCoordinate PolarCoordinate the polar coordinates of a score.
-     * @return int The score corresponding the polar coordinates.
+     * @param r     double the radial coordinate of a score.
+     * @param theta double the angle of a score in rad.
+     * @return Dart The score corresponding the polar coordinates.
      */
-    private Dart getScorePolar(PolarCoordinate polarCoordinate) {
-        DartBoardSection section = getSection(polarCoordinate.getThetaNormalized());
-        DartboardSectionArea sectionArea = getSectionArea(polarCoordinate.getR());
+    private Dart getScorePolar(double r, double theta) {
+        DartBoardSection section = getSection(PolarCoordinate.normalizeTheta(theta));
+        DartboardSectionArea sectionArea = getSectionArea(r);
 
         // Return the score multiplied by the section area multiplier.
         return new Dart(section, sectionArea);
@@ -57,19 +75,25 @@ public class DartboardServiceImpl implements IDartboardService {
 
     /**
      * Gets the scoring section for a given angle (theta) in rad. Ties are broken clockwise (i.e. when theta is on the wire between 18 and 4 the score is 4).
+     * The section index is estimated arithmetically and then corrected against the precomputed section angles, so the
+     * result is identical to checking every section in order.
      *
      * @param theta double The angle in rad of which the section needs to be determined.
      * @return int The section of the board.
      */
     private DartBoardSection getSection(double theta) {
+        if (Double.isNaN(theta)) return DartBoardSection.MISS;
 
-        for (int i = 0; i < dartboard.getSections().size(); i++) {
-            if (theta <= getSectionTheta(i)) {
-                return dartboard.getSections().get(i);
-            }
-        }
+        // Estimate the first section index whose outer angle is not smaller than theta.
+        int lastIndex = sectionThetas.length - 1;
+        int index = (int) Math.ceil((theta - Math.PI / 20) / SECTION_SIZE);
+        index = Math.max(0, Math.min(lastIndex, index));
+
+        // Correct the estimate for rounding differences.
+        while (index > 0 && theta <= sectionThetas[index - 1]) index--;
+        while (index <= lastIndex && theta > sectionThetas[index]) index++;
 
-        return DartBoardSection.MISS;
+        return index <= lastIndex ? dartboard.getSections().get(index) : DartBoardSection.MISS;
     }
 
     /**
@@ -87,8 +111,13 @@ public class DartboardServiceImpl implements IDartboardService {
      * @return The section area r lies in.
      */
     private DartboardSectionArea getSectionArea(double r) {
+        // The section area dimensions are whole mm, so the whole mm of r determines the section area.
+        if (r >= 0 && r < sectionAreasByMm.length) return sectionAreasByMm[(int) r];
 
-        for (DartboardSectionAreaDimen areaDimension : dartboard.getAreaDimensions()) {
+        // Radials outside the table are only checked against the dimensions that extend beyond it.
+        List<DartboardSectionAreaDimen> areaDimensions = dartboard.getAreaDimensions();
+        for (int i = 0; i < areaDimensions.size(); i++) {
+            DartboardSectionAreaDimen areaDimension = areaDimensions.get(i);
             if (r >= areaDimension.getInner() && r < areaDimension.getOuter())
                 return areaDimension.getSectionArea();
         }
@@ -97,27 +126,94 @@ public class DartboardServiceImpl implements IDartboardService {
     }
 
     /**
-     * @param section     int section to get the center angle (theta).
-     * @param sectionArea BoardSectionArea area within the section to get the radial center.
-     * @return PolarCoordinate of the center of the section and section area
+     * @param sectionArea DartboardSectionArea area within a section to get the radial center.
+     * @return double the radial center of the section area.
+     */
+    private double getCenterR(DartboardSectionArea sectionArea) {
+        if (sectionArea.equals(DartboardSectionArea.DOUBLE_BULL)) return 0;
+
+        // A section area without dimensions is targeted at the center of the board.
+        double centerR = areaCenterRs[sectionArea.ordinal()];
+        return Double.isNaN(centerR) ? 0 : centerR;
+    }
+
+    /**
+     * @param section     DartBoardSection section to get the center angle (theta).
+     * @param sectionArea DartboardSectionArea area within the section.
+     * @return double the center angle of the section.
+     */
+    private double getCenterTheta(DartBoardSection section, DartboardSectionArea sectionArea) {
+        if (sectionArea.equals(DartboardSectionArea.DOUBLE_BULL)) return 0;
+
+        // A section area without dimensions is targeted at the center of the board.
+        if (Double.isNaN(areaCenterRs[sectionArea.ordinal()])) return 0;
+
+        return sectionCenterThetas[section.ordinal()];
+    }
+
+    /**
+     * @return double[] the outer angle of every section index.
+     */
+    private double[] createSectionThetas() {
+        double[] thetas = new double[dartboard.getSections().size()];
+        for (int i = 0; i < thetas.length; i++) {
+            thetas[i] = getSectionTheta(i);
+        }
+        return thetas;
+    }
+
+    /**
+     * @return double[] the center angle of every section by ordinal. Sections without an angle on the board (bull,
+     * miss) have index -1.
+     */
+    private double[] createSectionCenterThetas() {
+        double[] thetas = new double[DartBoardSection.values().length];
+        for (DartBoardSection section : DartBoardSection.values()) {
+            // Calculate what the center angle of a section is.
+            double sectionSize = Math.PI / 20;
+            double sectionTheta = getSectionTheta(dartboard.getSections().indexOf(section));
+            thetas[section.ordinal()] = sectionTheta - sectionSize;
+        }
+        return thetas;
+    }
+
+    /**
+     * @return double[] the radial center of every section area by ordinal, NaN for section areas without dimensions.
+     */
+    private double[] createAreaCenterRs() {
+        double[] radials = new double[DartboardSectionArea.values().length];
+        for (DartboardSectionArea sectionArea : DartboardSectionArea.values()) {
+            // Calculate what the radial of the section area is.
+            radials[sectionArea.ordinal()] = dartboard.getAreaDimensions().stream()
+                    .filter(areaDimension -> areaDimension.getSectionArea().equals(sectionArea))
+                    .findFirst()
+                    .map(areaDimension -> (areaDimension.getInner() + areaDimension.getOuter()) / 2.0)
+                    .orElse(Double.NaN);
+        }
+        return radials;
+    }
+
+    /**
+     * @return DartboardSectionArea[] the section area of every whole mm up to the largest finite boundary of the
+     * section area dimensions.
      */
-    private PolarCoordinate getCenter(DartBoardSection section, DartboardSectionArea sectionArea) {
-        if (sectionArea.equals(DartboardSectionArea.DOUBLE_BULL)) return new PolarCoordinate(0, 0);
-
-        return dartboard.getAreaDimensions().stream()
-                .filter(dartBoardSectionAreaDimen -> dartBoardSectionAreaDimen.getSectionArea().equals(sectionArea))
-                .findFirst()
-                .map(boardSectionAreaDimen -> {
-                    // Calculate what the center angle of a section is.
-                    double sectionSize = Math.PI / 20;
-                    double sectionTheta = getSectionTheta(dartboard.getSections().indexOf(section));
-                    double sectionCenterTheta = sectionTheta - sectionSize;
-
-                    // Calculate what the radial of the section area is.
-                    double r = (boardSectionAreaDimen.getInner() + boardSectionAreaDimen.getOuter()) / 2.0;
-
-                    return new PolarCoordinate(r, sectionCenterTheta);
-                })
-                .orElse(new PolarCoordinate(0, 0));
+    private DartboardSectionArea[] createSectionAreasByMm() {
+        int tableSize = dartboard.getAreaDimensions().stream()
+                .flatMapToInt(areaDimension -> IntStream.of(areaDimension.getInner(), areaDimension.getOuter()))
+                .filter(boundary -> boundary != Integer.MAX_VALUE)
+                .max()
+                .orElse(0);
+
+        DartboardSectionArea[] sectionAreas = new DartboardSectionArea[tableSize];
+        for (int mm = 0; mm < tableSize; mm++) {
+            sectionAreas[mm] = DartboardSectionArea.MISS;
+            for (DartboardSectionAreaDimen areaDimension : dartboard.getAreaDimensions()) {
+                if (mm >= areaDimension.getInner() && mm < areaDimension.getOuter()) {
+                    sectionAreas[mm] = areaDimension.getSectionArea();
+                    break;
+                }
+            }
+        }
+        return sectionAreas;
     }
 }
@@ -1,14 +1,19 @@
 package nl.kmartin.dartsmatcherapiv2.features.x01.common;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.NavigableMap;
 
 /**
  * A class representing a piecewise linear graph, which allows for interpolation
  * between data points defined on a 2D graph.
+ *
+ * The data points are copied into sorted primitive arrays when the graph is constructed, so a graph can be created
+ * once and interpolated without allocating.
  */
 public class PiecewiseLinearGraph {
-    private final NavigableMap<Double, Double> dataPoints;
+    private final double[] valuesX;
+    private final double[] valuesY;
 
     /**
      * Constructs a PiecewiseLinearGraph with the specified data points.
@@ -22,7 +27,15 @@ public class PiecewiseLinearGraph {
             throw new IllegalArgumentException("Data points cannot be empty");
         }
 
-        this.dataPoints = dataPoints;
+        this.valuesX = new double[dataPoints.size()];
+        this.valuesY = new double[dataPoints.size()];
+
+        int i = 0;
+        for (Map.Entry<Double, Double> dataPoint : dataPoints.entrySet()) {
+            valuesX[i] = dataPoint.getKey();
+            valuesY[i] = dataPoint.getValue();
+            i++;
+        }
     }
 
     /**
@@ -34,42 +47,78 @@ public class PiecewiseLinearGraph {
      */
     public double interpolateY(double valueX) {
         // If there's only one data point, return the Y value of that point
-        if (dataPoints.size() == 1) {
-            return dataPoints.firstEntry().getValue();
+        if (size() == 1) {
+            return valuesY[0];
         }
 
         // Find the nearest lower and upper data points
-        Map.Entry<Double, Double> lower = dataPoints.floorEntry(valueX);
-        Map.Entry<Double, Double> upper = dataPoints.ceilingEntry(valueX);
+        int lower = floorIndex(valueX);
+        int upper = ceilingIndex(valueX);
 
         // Handle edge cases where valueX is out of range
-        if (lower == null) return dataPoints.firstEntry().getValue(); // Below range
-        if (upper == null) return dataPoints.lastEntry().getValue();  // Above range
+        if (lower < 0) return valuesY[0]; // Below range
+        if (upper < 0) return valuesY[size() - 1];  // Above range
 
         // If valueX exactly matches a data point, return the corresponding Y value
-        if (Double.compare(lower.getKey(), upper.getKey()) == 0) return lower.getValue(); // Exact match
+        if (lower == upper) return valuesY[lower]; // Exact match
 
         // Perform interpolation between the lower and upper points
         return interpolateBetween(lower, upper, valueX);
     }
 
+    /**
+     * @param valueX The X value to look up.
+     * @return int the index of the data point with the greatest X less than or equal to valueX, -1 if there is none.
+     */
+    public int floorIndex(double valueX) {
+        int index = Arrays.binarySearch(valuesX, valueX);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * @param valueX The X value to look up.
+     * @return int the index of the data point with the smallest X greater than or equal to valueX, -1 if there is none.
+     */
+    public int ceilingIndex(double valueX) {
+        int index = Arrays.binarySearch(valuesX, valueX);
+        if (index >= 0) return index;
+
+        int insertionPoint = -index - 1;
+        return insertionPoint < size() ? insertionPoint : -1;
+    }
+
+    /**
+     * @param index int the index of a data point.
+     * @return double the Y value of the data point.
+     */
+    public double getY(int index) {
+        return valuesY[index];
+    }
+
+    /**
+     * @return int the number of data points.
+     */
+    public int size() {
+        return valuesX.length;
+    }
+
     /**
      * Interpolates a Y value between two data points based on their X and Y values.
      * This is the core formula for linear interpolation.
      *
-     * @param lower The entry representing the lower data point (X1, Y1).
-     * @param upper The entry representing the upper data point (X2, Y2).
+     * @param lower The index of the lower data point (X1, Y1).
+     * @param upper The index of the upper data point (X2, Y2).
      * @param x     The X value for which the Y value is to be calculated.
      * @return The interpolated Y value for the given X.
      */
-    private double interpolateBetween(Map.Entry<Double, Double> lower, Map.Entry<Double, Double> upper, double x) {
+    private double interpolateBetween(int lower, int upper, double x) {
         // Get the x1 and y1 values for the lower point
-        double x1 = lower.getKey();
-        double y1 = lower.getValue();
+        double x1 = valuesX[lower];
+        double y1 = valuesY[lower];
 
         // Get the x2 and y2 values for the upper point
-        double x2 = upper.getKey();
-        double y2 = upper.getValue();
+        double x2 = valuesX[upper];
+        double y2 = valuesY[upper];
 
         // Calculate the slope
         double slope = (y2 - y1) / (x2 - x1);
@@ -77,4 +126,4 @@ public class PiecewiseLinearGraph {
         // Calculate and return the interpolation using the calculated slope
         return y1 + slope * (x - x1);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.Dart;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class X01CheckoutRoute {
+    // The darts to throw in order, the last dart is the double that checks out.
+    private List<Dart> darts;
+}
@@ -39,4 +39,15 @@ public class X01DartBotLegState {
         // Calculate and return the one-dart average.
         return (double) getScoredInLeg() / getDartsUsedInLeg();
     }
+
+    /**
+     * Adds the current round to the leg and starts a new round with the remaining points of the leg.
+     */
+    public void startNextRound() {
+        int remaining = getRemainingPoints();
+        this.scoredInLeg = getScoredInLeg();
+        this.dartsUsedInLeg = getDartsUsedInLeg();
+        this.dartsUsedInRound = 0;
+        this.legRoundScore = new X01LegRoundScore(0, 0, remaining);
+    }
 }
\ No newline at end of file
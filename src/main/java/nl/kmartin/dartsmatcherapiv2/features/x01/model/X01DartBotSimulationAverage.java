@@ -0,0 +1,27 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.SortedMap;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class X01DartBotSimulationAverage {
+    private int targetThreeDartAverage;
+
+    private double threeDartAverage;
+
+    private double dartsPerLeg;
+
+    // The number of legs finished per number of darts used.
+    private SortedMap<Integer, Integer> dartsPerLegDistribution;
+
+    private int checkoutPercentage;
+
+    private int checkoutsHit;
+
+    private int checkoutsMissed;
+}
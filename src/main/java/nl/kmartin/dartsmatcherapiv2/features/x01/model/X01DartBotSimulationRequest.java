@@ -0,0 +1,33 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.model;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class X01DartBotSimulationRequest {
+    // A simulation runs while the request waits, so a request simulates at most 50,000 legs.
+    public static final int MAXIMUM_LEGS = 5_000;
+    public static final int MAXIMUM_AVERAGES = 10;
+
+    @Min(101)
+    @Max(1001)
+    private int x01;
+
+    @NotEmpty
+    @Size(max = MAXIMUM_AVERAGES)
+    private List<@NotNull @Min(X01DartBotSettings.MINIMUM_BOT_AVG) @Max(X01DartBotSettings.MAXIMUM_BOT_AVG) Integer> threeDartAverages;
+
+    @Min(1)
+    @Max(MAXIMUM_LEGS)
+    private int legs;
+}
@@ -0,0 +1,22 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class X01DartBotSimulationResult {
+    private int x01;
+
+    private int legsPerAverage;
+
+    private long durationMillis;
+
+    private double legsPerSecond;
+
+    private List<X01DartBotSimulationAverage> averages;
+}
@@ -1,7 +1,7 @@
 package nl.kmartin.dartsmatcherapiv2.features.x01.model;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -11,13 +11,16 @@ import lombok.ToString;
 import nl.kmartin.dartsmatcherapiv2.features.basematch.model.BaseMatch;
 import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchStatus;
 import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchType;
+import nl.kmartin.dartsmatcherapiv2.serializers.NumberedEntriesDeserializer;
+import nl.kmartin.dartsmatcherapiv2.serializers.NumberedEntriesSerializer;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.TypeAlias;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Data
 @NoArgsConstructor
@@ -25,12 +28,22 @@ import java.util.stream.Collectors;
 @ToString(callSuper = true)
 @Document(collection = "matches")
 @TypeAlias("X01Match")
+// The indexes of the match search, every index ends with the (newest first) search order.
+@CompoundIndexes({
+        @CompoundIndex(name = "startDate_id", def = "{'startDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "matchStatus_startDate_id", def = "{'matchStatus': 1, 'startDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "matchType_startDate_id", def = "{'matchType': 1, 'startDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "playerName_startDate_id", def = "{'players.playerName': 1, 'startDate': -1, '_id': -1}")
+})
 public class X01Match extends BaseMatch<X01MatchPlayer> {
     @NotNull
     @Valid
     private X01MatchSettings matchSettings;
 
+    // Serialize sets as a list because JSON objects don't guarantee key order.
     @Valid
+    @JsonSerialize(using = NumberedEntriesSerializer.Sets.class)
+    @JsonDeserialize(using = NumberedEntriesDeserializer.Sets.class)
     private NavigableMap<Integer, X01Set> sets = new TreeMap<>();
 
     @Valid
@@ -49,7 +62,6 @@ public class X01Match extends BaseMatch<X01MatchPlayer> {
         this.setStandings(standings);
     }
 
-    @JsonIgnore
     public @Valid NavigableMap<Integer, X01Set> getSets() {
         return sets;
     }
@@ -61,24 +73,4 @@ public class X01Match extends BaseMatch<X01MatchPlayer> {
     public void setStandings(@Valid LinkedHashMap<ObjectId, X01StandingsEntry> standings) {
         this.standings = standings != null ? standings : new LinkedHashMap<>();
     }
-
-    // Serialize sets as a list because JSON objects don't guarantee key order.
-    @JsonProperty("sets")
-    public List<X01SetEntry> getSetEntries() {
-        return sets.entrySet().stream()
-                .map(X01SetEntry::new)
-                .collect(Collectors.toList());
-    }
-
-    // Deserialize sets from a list to a NavigableMap to guarantee key order.
-    @JsonProperty("sets")
-    public void setSetEntries(List<X01SetEntry> entries) {
-        this.sets = entries.stream()
-                .collect(Collectors.toMap(
-                        X01SetEntry::setNumber,
-                        X01SetEntry::set,
-                        (oldVal, newVal) -> newVal,
-                        TreeMap::new
-                ));
-    }
 }
\ No newline at end of file
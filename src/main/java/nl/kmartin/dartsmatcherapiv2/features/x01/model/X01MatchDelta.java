@@ -0,0 +1,48 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.model;
+
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchStatus;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.ResultType;
+import org.bson.types.ObjectId;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The changes made to a match by a single added turn. When delta events are enabled it is broadcast instead of the
+ * full match so subscribers only receive the data that has changed. A subscriber that detects a gap in the broadcast version (a delta was missed)
+ * should re-sync by re-subscribing to the match, which returns the full match.
+ *
+ * @param matchId           the id of the match
+ * @param broadcastVersion  the broadcast version of the match after applying this delta
+ * @param setNumber         the set the score was added to
+ * @param legNumber         the leg the score was added to
+ * @param roundNumber       the round the score was added to
+ * @param playerId          the player that threw the score
+ * @param roundScore        the added score
+ * @param setThrowsFirst    the player that throws first in the set (to create the set when it is new)
+ * @param legThrowsFirst    the player that throws first in the leg (to create the leg when it is new)
+ * @param legWinner         the winner of the leg, null when the leg is still in play
+ * @param checkoutDartsUsed the darts used for the checkout of the leg, null when the leg is still in play
+ * @param setResult         the set result, null when the set is still in play
+ * @param matchStatus       the status of the match
+ * @param matchProgress     the progress of the match after adding the score
+ * @param standings         the standings of the match after adding the score
+ * @param statistics        the statistics of the players whose statistics have changed
+ */
+public record X01MatchDelta(ObjectId matchId,
+                            int broadcastVersion,
+                            int setNumber,
+                            int legNumber,
+                            int roundNumber,
+                            ObjectId playerId,
+                            X01LegRoundScore roundScore,
+                            ObjectId setThrowsFirst,
+                            ObjectId legThrowsFirst,
+                            ObjectId legWinner,
+                            Integer checkoutDartsUsed,
+                            Map<ObjectId, ResultType> setResult,
+                            MatchStatus matchStatus,
+                            X01MatchProgress matchProgress,
+                            LinkedHashMap<ObjectId, X01StandingsEntry> standings,
+                            Map<ObjectId, X01Statistics> statistics) {
+}
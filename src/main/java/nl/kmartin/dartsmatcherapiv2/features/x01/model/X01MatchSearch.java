@@ -0,0 +1,41 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.model;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchStatus;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchType;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class X01MatchSearch {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAXIMUM_LIMIT = 100;
+
+    private MatchStatus matchStatus;
+
+    private MatchType matchType;
+
+    // The exact name of a player in the match.
+    private String playerName;
+
+    // The matches started from (inclusive) and before (exclusive).
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant startedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant startedBefore;
+
+    // The next cursor of the previous page, null for the first page.
+    private String cursor;
+
+    @Min(1)
+    @Max(MAXIMUM_LIMIT)
+    private int limit = DEFAULT_LIMIT;
+}
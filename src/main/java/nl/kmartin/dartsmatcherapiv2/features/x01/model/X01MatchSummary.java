@@ -0,0 +1,39 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchPlayer;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchStatus;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchType;
+import org.bson.types.ObjectId;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+/**
+ * The fields of a match needed to list it, read from the match document without its sets, legs and rounds.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class X01MatchSummary {
+    // The fields of a match document projected into a summary.
+    public static final String[] FIELDS = {
+            "_id", "broadcastVersion", "startDate", "endDate", "matchStatus", "matchType", "matchSettings",
+            "matchProgress", "standings", "players.playerId", "players.playerName", "players.playerType",
+            "players.resultType"
+    };
+
+    private ObjectId id;
+    private Integer broadcastVersion;
+    private Instant startDate;
+    private Instant endDate;
+    private MatchStatus matchStatus;
+    private MatchType matchType;
+    private ArrayList<MatchPlayer> players;
+    private X01MatchSettings matchSettings;
+    private X01MatchProgress matchProgress;
+    private LinkedHashMap<ObjectId, X01StandingsEntry> standings;
+}
@@ -0,0 +1,17 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class X01MatchSummaryPage {
+    private List<X01MatchSummary> matches;
+
+    // The cursor of the next page, null when this is the last page.
+    private String nextCursor;
+}
@@ -0,0 +1,21 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+
+/**
+ * The version fields of a match, read from the match document to determine whether the match has changed.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class X01MatchVersion {
+    // The fields of a match document projected into a version.
+    public static final String[] FIELDS = {"_id", "version", "broadcastVersion"};
+
+    private ObjectId id;
+    private Integer version;
+    private Integer broadcastVersion;
+}
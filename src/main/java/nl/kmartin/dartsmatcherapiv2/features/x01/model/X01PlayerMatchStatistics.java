@@ -0,0 +1,40 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.ResultType;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+import java.time.Instant;
+
+/**
+ * The statistics of a player in a concluded match, the source of the lifetime and rolling window statistics of the
+ * player.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "x01PlayerMatchStatistics")
+@CompoundIndexes({
+        @CompoundIndex(name = "matchId_playerName", def = "{'matchId': 1, 'playerName': 1}", unique = true),
+        @CompoundIndex(name = "playerName_endDate", def = "{'playerName': 1, 'endDate': -1}")
+})
+public class X01PlayerMatchStatistics {
+    @MongoId
+    private ObjectId id;
+
+    private ObjectId matchId;
+
+    private String playerName;
+
+    private Instant endDate;
+
+    private ResultType resultType;
+
+    private X01Statistics statistics;
+}
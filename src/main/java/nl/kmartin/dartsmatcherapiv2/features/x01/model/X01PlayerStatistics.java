@@ -0,0 +1,66 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import nl.kmartin.dartsmatcherapiv2.utils.NumberUtils;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * The statistics of a player summed over concluded matches. The totals are stored, the averages and checkout
+ * percentage are derived from them.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "x01PlayerStatistics")
+public class X01PlayerStatistics {
+    @Id
+    private String playerName;
+
+    private int matchesPlayed;
+    private int matchesWon;
+    private int matchesDrawn;
+    private int matchesLost;
+
+    private int setsWon;
+    private int legsWon;
+
+    private int pointsThrown;
+    private int dartsThrown;
+    private int pointsThrownFirstNine;
+    private int dartsThrownFirstNine;
+
+    private int checkoutHighest;
+    private int checkoutTonPlus;
+    private int checkoutsMissed;
+    private int checkoutsHit;
+
+    private int fortyPlus;
+    private int sixtyPlus;
+    private int eightyPlus;
+    private int tonPlus;
+    private int tonFortyPlus;
+    private int tonEighty;
+
+    public X01PlayerStatistics(String playerName) {
+        this.playerName = playerName;
+    }
+
+    public int getAverage() {
+        return calcThreeDartAverage(pointsThrown, dartsThrown);
+    }
+
+    public int getAverageFirstNine() {
+        return calcThreeDartAverage(pointsThrownFirstNine, dartsThrownFirstNine);
+    }
+
+    public int getCheckoutPercentage() {
+        return NumberUtils.calcPercentage(checkoutsHit, checkoutsHit + checkoutsMissed);
+    }
+
+    private static int calcThreeDartAverage(int points, int darts) {
+        return darts == 0 ? 0 : (int) Math.round((double) points / darts * 3);
+    }
+}
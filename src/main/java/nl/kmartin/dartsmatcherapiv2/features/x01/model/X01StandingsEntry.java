@@ -2,9 +2,11 @@ package nl.kmartin.dartsmatcherapiv2.features.x01.model;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @AllArgsConstructor
+@NoArgsConstructor
 public class X01StandingsEntry {
     private int setsWon;
     private int legsWonInCurrentSet;
@@ -0,0 +1,23 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class X01TurnBatch {
+    public static final int MAXIMUM_TURNS = 500;
+
+    // The turns in the order they were thrown, each turn is added to the thrower whose turn it is.
+    @NotEmpty
+    @Size(max = MAXIMUM_TURNS)
+    private List<@NotNull @Valid X01Turn> turns;
+}
@@ -0,0 +1,15 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.model;
+
+import org.bson.types.ObjectId;
+
+/**
+ * Identifies the location of a single score that has been appended to a match. Used to incrementally update the
+ * calculated match fields (results, standings and statistics) instead of recalculating the whole match.
+ *
+ * @param setNumber   the set the score was added to
+ * @param legNumber   the leg the score was added to
+ * @param roundNumber the round the score was added to
+ * @param throwerId   the player that threw the score
+ */
+public record X01TurnDelta(int setNumber, int legNumber, int roundNumber, ObjectId throwerId) {
+}
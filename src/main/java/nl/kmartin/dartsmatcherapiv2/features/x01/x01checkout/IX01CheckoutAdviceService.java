@@ -0,0 +1,12 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01checkout;
+
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01CheckoutRoute;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface IX01CheckoutAdviceService {
+    List<X01CheckoutRoute> getCheckoutRoutes(int remaining, int dartsLeft, Integer preferredDouble);
+
+    Optional<X01CheckoutRoute> getBestCheckoutRoute(int remaining, int dartsLeft);
+}
@@ -0,0 +1,333 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01checkout;
+
+import nl.kmartin.dartsmatcherapiv2.common.MessageKeys;
+import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
+import nl.kmartin.dartsmatcherapiv2.exceptionhandler.exception.InvalidArgumentsException;
+import nl.kmartin.dartsmatcherapiv2.exceptionhandler.response.TargetError;
+import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.Dart;
+import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.DartBoardSection;
+import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.DartboardSectionArea;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01CheckoutRoute;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Advises checkout routes for every remaining score and number of darts left in the round.
+ *
+ * All legal routes (1 to 3 darts, finishing on a double or the bull) are enumerated when the service is created and
+ * ranked by the configured preferences: the least darts first, then routes avoiding the bull, routes finishing on a
+ * preferred double, routes setting up with singles instead of trebles and finally the highest setup darts first. The
+ * best routes of every remaining score, darts left and preferred double are stored in an index of packed routes, so
+ * advice is a constant time lookup.
+ */
+@Service
+public class X01CheckoutAdviceServiceImpl implements IX01CheckoutAdviceService {
+
+    private static final int MAXIMUM_CHECKOUT = 170;
+    private static final int MAXIMUM_DARTS = 3;
+
+    // The darts a route can consist of, indexed by dart code: the singles, doubles and trebles of 1 to 20 and the bull.
+    private static final Dart[] DARTS = createDarts();
+
+    // The doubles are consecutive dart codes, ordered by section number with the bull last.
+    private static final int FIRST_DOUBLE_CODE = getFirstDoubleCode();
+
+    // The number of preferred double slots in the index: no preferred double followed by every double.
+    private static final int PREFERRED_DOUBLE_SLOTS = 1 + (int) Arrays.stream(DARTS).filter(dart -> dart.getArea().isDouble()).count();
+
+    private final MessageResolver messageResolver;
+    private final boolean avoidBull;
+    private final boolean preferSingleSetups;
+    private final int maxRoutes;
+
+    // The rank of each double by dart code when the player has no preferred double, lower is better.
+    private final int[] doubleRanks;
+
+    // The ranked routes by preferred double slot, remaining score and darts left (see getIndex).
+    private final int[][] routeIndex;
+
+    public X01CheckoutAdviceServiceImpl(MessageResolver messageResolver,
+                                        @Value("${darts-matcher.x01.checkout-advice.preferred-doubles:20,16,8,18,12,10}") int[] preferredDoubles,
+                                        @Value("${darts-matcher.x01.checkout-advice.avoid-bull:true}") boolean avoidBull,
+                                        @Value("${darts-matcher.x01.checkout-advice.prefer-single-setups:true}") boolean preferSingleSetups,
+                                        @Value("${darts-matcher.x01.checkout-advice.max-routes:5}") int maxRoutes) {
+        this.messageResolver = messageResolver;
+        this.avoidBull = avoidBull;
+        this.preferSingleSetups = preferSingleSetups;
+        this.maxRoutes = maxRoutes;
+        this.doubleRanks = createDoubleRanks(preferredDoubles);
+        this.routeIndex = createRouteIndex();
+    }
+
+    /**
+     * Returns the best ranked checkout routes of a remaining score using at most the darts left.
+     *
+     * @param remaining       int the remaining score
+     * @param dartsLeft       int the darts left in the round (1 to 3)
+     * @param preferredDouble Integer the section number of the double the player prefers (1 to 20 or 25), or null to
+     *                        use the configured preferred doubles
+     * @return {@link List<X01CheckoutRoute>} the ranked routes, empty when the remaining score can't be checked out
+     * with the darts left
+     * @throws InvalidArgumentsException when the darts left or preferred double are invalid
+     */
+    @Override
+    public List<X01CheckoutRoute> getCheckoutRoutes(int remaining, int dartsLeft, Integer preferredDouble) {
+        if (dartsLeft < 1 || dartsLeft > MAXIMUM_DARTS) {
+            throw new InvalidArgumentsException(new TargetError("dartsLeft",
+                    messageResolver.getMessage(MessageKeys.MESSAGE_CHECKOUT_DARTS_LEFT)));
+        }
+
+        int slot = getPreferredDoubleSlot(preferredDouble);
+        if (slot < 0) {
+            throw new InvalidArgumentsException(new TargetError("preferredDouble",
+                    messageResolver.getMessage(MessageKeys.MESSAGE_CHECKOUT_PREFERRED_DOUBLE, preferredDouble)));
+        }
+
+        if (remaining < 0 || remaining > MAXIMUM_CHECKOUT) return List.of();
+
+        int[] routes = routeIndex[getIndex(slot, remaining, dartsLeft)];
+        List<X01CheckoutRoute> checkoutRoutes = new ArrayList<>(routes.length);
+        for (int route : routes) {
+            checkoutRoutes.add(createCheckoutRoute(route));
+        }
+        return checkoutRoutes;
+    }
+
+    /**
+     * Returns the best ranked checkout route of a remaining score using at most the darts left, using the configured
+     * preferences.
+     *
+     * @param remaining int the remaining score
+     * @param dartsLeft int the darts left in the round, more than 3 darts are treated as 3 darts
+     * @return {@link Optional<X01CheckoutRoute>} the best route, empty when the remaining score can't be checked out
+     * with the darts left
+     */
+    @Override
+    public Optional<X01CheckoutRoute> getBestCheckoutRoute(int remaining, int dartsLeft) {
+        if (remaining < 0 || remaining > MAXIMUM_CHECKOUT || dartsLeft < 1) return Optional.empty();
+
+        int[] routes = routeIndex[getIndex(0, remaining, Math.min(dartsLeft, MAXIMUM_DARTS))];
+        return routes.length > 0 ? Optional.of(createCheckoutRoute(routes[0])) : Optional.empty();
+    }
+
+    /**
+     * Enumerates all routes and stores the best ranked routes of every preferred double slot, remaining score and
+     * darts left.
+     *
+     * @return int[][] the ranked packed routes indexed by {@link #getIndex}
+     */
+    private int[][] createRouteIndex() {
+        // Enumerate the routes of each remaining score ordered by length, so the routes using at most n darts are a prefix.
+        List<List<Integer>> routesByRemaining = new ArrayList<>();
+        int[][] routeCounts = new int[MAXIMUM_CHECKOUT + 1][MAXIMUM_DARTS + 1];
+        for (int remaining = 0; remaining <= MAXIMUM_CHECKOUT; remaining++) routesByRemaining.add(new ArrayList<>());
+
+        for (int length = 1; length <= MAXIMUM_DARTS; length++) {
+            addRoutes(routesByRemaining, 0, length, 0, 0);
+            for (int remaining = 0; remaining <= MAXIMUM_CHECKOUT; remaining++) {
+                routeCounts[remaining][length] = routesByRemaining.get(remaining).size();
+            }
+        }
+
+        // Rank the routes for every preferred double and keep the best routes.
+        int[][] index = new int[PREFERRED_DOUBLE_SLOTS * (MAXIMUM_CHECKOUT + 1) * MAXIMUM_DARTS][];
+        for (int slot = 0; slot < PREFERRED_DOUBLE_SLOTS; slot++) {
+            int preferredDoubleCode = getPreferredDoubleCode(slot);
+
+            for (int remaining = 0; remaining <= MAXIMUM_CHECKOUT; remaining++) {
+                List<Integer> routes = routesByRemaining.get(remaining);
+
+                for (int dartsLeft = 1; dartsLeft <= MAXIMUM_DARTS; dartsLeft++) {
+                    long[] rankKeys = new long[routeCounts[remaining][dartsLeft]];
+                    for (int i = 0; i < rankKeys.length; i++) {
+                        rankKeys[i] = createRankKey(routes.get(i), preferredDoubleCode);
+                    }
+                    Arrays.sort(rankKeys);
+
+                    int[] bestRoutes = new int[Math.min(maxRoutes, rankKeys.length)];
+                    for (int i = 0; i < bestRoutes.length; i++) {
+                        bestRoutes[i] = getRoute(rankKeys[i]);
+                    }
+                    index[getIndex(slot, remaining, dartsLeft)] = bestRoutes;
+                }
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Recursively adds every route of a length to the routes of the score it checks out.
+     *
+     * @param routesByRemaining {@link List} the routes of each remaining score
+     * @param dartNumber        int the number of darts already in the route
+     * @param length            int the length of the routes to add
+     * @param route             int the packed darts already in the route
+     * @param score             int the score of the darts already in the route
+     */
+    private void addRoutes(List<List<Integer>> routesByRemaining, int dartNumber, int length, int route, int score) {
+        boolean isFinishingDart = dartNumber == length - 1;
+
+        for (int dartCode = 0; dartCode < DARTS.length; dartCode++) {
+            Dart dart = DARTS[dartCode];
+            int routeScore = score + dart.getScore();
+            if (routeScore > MAXIMUM_CHECKOUT || (isFinishingDart && !dart.getArea().isDouble())) continue;
+
+            int nextRoute = route | (dartCode + 1) << (8 * dartNumber);
+            if (isFinishingDart) routesByRemaining.get(routeScore).add(nextRoute);
+            else addRoutes(routesByRemaining, dartNumber + 1, length, nextRoute, routeScore);
+        }
+    }
+
+    /**
+     * Creates the key a route is ranked by, lower keys are better. The packed route is stored in the lowest 24 bits,
+     * so the keys are unique and the route can be restored from the key.
+     *
+     * @param route               int the packed route
+     * @param preferredDoubleCode int the dart code of the preferred double, -1 for no preferred double
+     * @return long the rank key
+     */
+    private long createRankKey(int route, int preferredDoubleCode) {
+        int length = getRouteLength(route);
+        int finishingDartCode = getDartCode(route, length - 1);
+
+        long key = length;
+        key = key << 1 | (avoidBull && isBullUsed(route, length) ? 1 : 0);
+        key = key << 5 | (finishingDartCode == preferredDoubleCode ? 0 : 1 + doubleRanks[finishingDartCode]);
+        key = key << 2 | (preferSingleSetups ? countTrebleSetups(route, length) : 0);
+        key = key << 8 | (255 - getSetupScore(route, 0, length));
+        key = key << 8 | (255 - getSetupScore(route, 1, length));
+        return key << 24 | route;
+    }
+
+    /**
+     * @param preferredDoubles int[] the section numbers of the preferred doubles, most preferred first
+     * @return int[] the rank of every double by dart code. The preferred doubles are ranked first, followed by the
+     * other doubles from high to low and the bull.
+     */
+    private int[] createDoubleRanks(int[] preferredDoubles) {
+        int[] ranks = new int[DARTS.length];
+        Arrays.fill(ranks, -1);
+
+        int rank = 0;
+        for (int preferredDouble : preferredDoubles) {
+            int slot = getPreferredDoubleSlot(preferredDouble);
+            if (slot <= 0) throw new IllegalStateException("Invalid preferred double configured: " + preferredDouble);
+
+            int dartCode = getPreferredDoubleCode(slot);
+            if (ranks[dartCode] < 0) ranks[dartCode] = rank++;
+        }
+
+        for (int slot = PREFERRED_DOUBLE_SLOTS - 2; slot >= 1; slot--) {
+            int dartCode = getPreferredDoubleCode(slot);
+            if (ranks[dartCode] < 0) ranks[dartCode] = rank++;
+        }
+
+        int bullCode = getPreferredDoubleCode(PREFERRED_DOUBLE_SLOTS - 1);
+        if (ranks[bullCode] < 0) ranks[bullCode] = rank;
+
+        return ranks;
+    }
+
+    /**
+     * @return Dart[] the darts a route can consist of: the singles, doubles and trebles of 1 to 20 and the bull.
+     */
+    private static Dart[] createDarts() {
+        List<Dart> darts = new ArrayList<>();
+        List<DartBoardSection> numberSections = Arrays.stream(DartBoardSection.values())
+                .filter(section -> section != DartBoardSection.BULL && section != DartBoardSection.MISS)
+                .toList();
+
+        numberSections.forEach(section -> darts.add(new Dart(section, DartboardSectionArea.OUTER_SINGLE)));
+        darts.add(new Dart(DartBoardSection.BULL, DartboardSectionArea.SINGLE_BULL));
+        numberSections.forEach(section -> darts.add(new Dart(section, DartboardSectionArea.DOUBLE)));
+        darts.add(new Dart(DartBoardSection.BULL, DartboardSectionArea.DOUBLE_BULL));
+        numberSections.forEach(section -> darts.add(new Dart(section, DartboardSectionArea.TRIPLE)));
+
+        return darts.toArray(new Dart[0]);
+    }
+
+    /**
+     * @return int the dart code of the first double
+     */
+    private static int getFirstDoubleCode() {
+        for (int dartCode = 0; dartCode < DARTS.length; dartCode++) {
+            if (DARTS[dartCode].getArea().isDouble()) return dartCode;
+        }
+        throw new IllegalStateException("No doubles found");
+    }
+
+    /**
+     * @param route int the packed route
+     * @return {@link X01CheckoutRoute} the route containing new darts
+     */
+    private X01CheckoutRoute createCheckoutRoute(int route) {
+        int length = getRouteLength(route);
+        List<Dart> darts = new ArrayList<>(length);
+        for (int dartNumber = 0; dartNumber < length; dartNumber++) {
+            darts.add(new Dart(DARTS[getDartCode(route, dartNumber)]));
+        }
+        return new X01CheckoutRoute(darts);
+    }
+
+    /**
+     * @param preferredDouble Integer the section number of a double (1 to 20 or 25), or null
+     * @return int the preferred double slot, 0 for no preferred double and -1 when the section number is not a double
+     */
+    private int getPreferredDoubleSlot(Integer preferredDouble) {
+        if (preferredDouble == null) return 0;
+        if (preferredDouble == DartBoardSection.BULL.getSectionNumber()) return PREFERRED_DOUBLE_SLOTS - 1;
+        if (preferredDouble >= 1 && preferredDouble < PREFERRED_DOUBLE_SLOTS - 1) return preferredDouble;
+        return -1;
+    }
+
+    /**
+     * @param slot int the preferred double slot
+     * @return int the dart code of the double of the slot, -1 for no preferred double
+     */
+    private int getPreferredDoubleCode(int slot) {
+        return slot == 0 ? -1 : FIRST_DOUBLE_CODE + slot - 1;
+    }
+
+    private int getIndex(int slot, int remaining, int dartsLeft) {
+        return (slot * (MAXIMUM_CHECKOUT + 1) + remaining) * MAXIMUM_DARTS + dartsLeft - 1;
+    }
+
+    private int getRoute(long rankKey) {
+        return (int) (rankKey & 0xFFFFFF);
+    }
+
+    private int getRouteLength(int route) {
+        int length = 0;
+        while (length < MAXIMUM_DARTS && getDartCode(route, length) >= 0) length++;
+        return length;
+    }
+
+    private int getDartCode(int route, int dartNumber) {
+        return ((route >> (8 * dartNumber)) & 0xFF) - 1;
+    }
+
+    private boolean isBullUsed(int route, int length) {
+        for (int dartNumber = 0; dartNumber < length; dartNumber++) {
+            if (DARTS[getDartCode(route, dartNumber)].getSection() == DartBoardSection.BULL) return true;
+        }
+        return false;
+    }
+
+    private int countTrebleSetups(int route, int length) {
+        int trebles = 0;
+        for (int dartNumber = 0; dartNumber < length - 1; dartNumber++) {
+            if (DARTS[getDartCode(route, dartNumber)].getArea().isTriple()) trebles++;
+        }
+        return trebles;
+    }
+
+    private int getSetupScore(int route, int dartNumber, int length) {
+        return dartNumber < length - 1 ? DARTS[getDartCode(route, dartNumber)].getScore() : 0;
+    }
+}
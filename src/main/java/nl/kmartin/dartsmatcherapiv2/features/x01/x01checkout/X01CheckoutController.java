@@ -2,10 +2,12 @@ package nl.kmartin.dartsmatcherapiv2.features.x01.x01checkout;
 
 import nl.kmartin.dartsmatcherapiv2.common.RestEndpoints;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Checkout;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01CheckoutRoute;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -14,9 +16,11 @@ import java.util.List;
 @RestController
 public class X01CheckoutController {
     private final IX01CheckoutService checkoutService;
+    private final IX01CheckoutAdviceService checkoutAdviceService;
 
-    public X01CheckoutController(IX01CheckoutService checkoutService) {
+    public X01CheckoutController(IX01CheckoutService checkoutService, IX01CheckoutAdviceService checkoutAdviceService) {
         this.checkoutService = checkoutService;
+        this.checkoutAdviceService = checkoutAdviceService;
     }
 
     @GetMapping(path = RestEndpoints.GET_CHECKOUTS, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -30,4 +34,11 @@ public class X01CheckoutController {
     public X01Checkout getCheckout(@PathVariable int remaining) {
         return checkoutService.getCheckout(remaining).orElse(null);
     }
+
+    @GetMapping(path = RestEndpoints.GET_CHECKOUT, params = "dartsLeft", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public List<X01CheckoutRoute> getCheckoutRoutes(@PathVariable int remaining, @RequestParam int dartsLeft,
+                                                    @RequestParam(required = false) Integer preferredDouble) {
+        return checkoutAdviceService.getCheckoutRoutes(remaining, dartsLeft, preferredDouble);
+    }
 }
@@ -18,16 +18,41 @@ import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Provides the X01 checkouts and the checkout rules. The checkouts are loaded from data/checkouts.json once, and
+ * indexed into dense tables covering every remaining score of a leg (0 up to and including 1001). Looking up a
+ * checkout, its minimum darts or whether a score can be checked out is therefore a constant time array lookup that
+ * doesn't box the score or allocate.
+ */
 @Service
 public class X01CheckoutServiceImpl implements IX01CheckoutService {
 
+    // The highest score a leg can start at, the tables cover every remaining score up to and including this score.
+    public static final int MAXIMUM_REMAINING = 1001;
+
+    // The highest score that can be checked out and the scores below it that can't be checked out in three darts.
+    private static final int MAXIMUM_CHECKOUT = 170;
+    private static final int[] IMPOSSIBLE_CHECKOUTS = {169, 168, 166, 165, 163, 162, 159};
+
     private final MessageResolver messageResolver;
     private final Map<Integer, X01Checkout> checkoutsMap;
+    private final List<X01Checkout> checkoutsList;
+
+    // The checkout tables indexed by remaining score.
+    private final Optional<X01Checkout>[] checkoutsByRemaining;
+    private final int[] minDartsByRemaining;
+    private final boolean[] scoreCheckouts;
 
     public X01CheckoutServiceImpl(@Value("classpath:data/checkouts.json") Resource checkoutsResourceFile,
                                   MessageResolver messageResolver) {
         this.messageResolver = messageResolver;
         this.checkoutsMap = createCheckoutMap(checkoutsResourceFile);
+        this.checkoutsList = checkoutsMap.values().stream()
+                .sorted(Comparator.comparingInt(X01Checkout::getCheckout))
+                .toList();
+        this.checkoutsByRemaining = createCheckoutsByRemaining();
+        this.minDartsByRemaining = createMinDartsByRemaining();
+        this.scoreCheckouts = createScoreCheckouts();
     }
 
     /**
@@ -71,11 +96,11 @@ public class X01CheckoutServiceImpl implements IX01CheckoutService {
     /**
      * Returns the checkouts in a list
      *
-     * @return List<X01Checkout> list of all available x01 checkouts.
+     * @return List<X01Checkout> list of all available x01 checkouts, ordered by checkout.
      */
     @Override
     public List<X01Checkout> getCheckoutsAsList() {
-        return checkoutsMap.values().stream().toList();
+        return checkoutsList;
     }
 
     /**
@@ -86,7 +111,9 @@ public class X01CheckoutServiceImpl implements IX01CheckoutService {
      */
     @Override
     public Optional<X01Checkout> getCheckout(int remaining) {
-        return Optional.ofNullable(checkoutsMap.get(remaining));
+        if (remaining < 0 || remaining > MAXIMUM_REMAINING) return Optional.empty();
+
+        return checkoutsByRemaining[remaining];
     }
 
 
@@ -98,9 +125,10 @@ public class X01CheckoutServiceImpl implements IX01CheckoutService {
      */
     @Override
     public boolean isScoreCheckout(int score) {
-        Set<Integer> invalidCheckouts = new HashSet<>(Arrays.asList(169, 168, 166, 165, 163, 162, 159));
+        // Scores outside the table are checked directly.
+        if (score < 0 || score > MAXIMUM_REMAINING) return score <= MAXIMUM_CHECKOUT;
 
-        return score <= 170 && !invalidCheckouts.contains(score);
+        return scoreCheckouts[score];
     }
 
     /**
@@ -113,11 +141,11 @@ public class X01CheckoutServiceImpl implements IX01CheckoutService {
     @Override
     public boolean isScoreCheckout(int score, int dartsUsed) {
         if (!isScoreCheckout(score)) return false;
-        Optional<X01Checkout> checkout = getCheckout(score);
 
-        if (checkout.isEmpty()) return false;
+        int minDarts = getMinDarts(score);
+        if (minDarts == 0) return false;
 
-        if (!isEnoughDartsUsedForCheckout(checkout.get(), dartsUsed)) {
+        if (dartsUsed < minDarts) {
             throw new InvalidArgumentsException(
                     new TargetError(
                             "dartsUsed",
@@ -178,13 +206,51 @@ public class X01CheckoutServiceImpl implements IX01CheckoutService {
     }
 
     /**
-     * Checks if the number of darts used meets or exceeds the minimum required for a checkout.
-     *
-     * @param checkout  the X01 checkout instance
-     * @param dartsUsed the number of darts used
-     * @return true if the minimum darts requirement is met, false otherwise
+     * @param remaining int the remaining score
+     * @return int the minimum darts needed to check out the remaining score, 0 when it has no checkout
+     */
+    private int getMinDarts(int remaining) {
+        if (remaining < 0 || remaining > MAXIMUM_REMAINING) return 0;
+
+        return minDartsByRemaining[remaining];
+    }
+
+    /**
+     * @return {@code Optional<X01Checkout>[]} the checkout of every remaining score, empty when the remaining score
+     * has no checkout
+     */
+    @SuppressWarnings("unchecked")
+    private Optional<X01Checkout>[] createCheckoutsByRemaining() {
+        Optional<X01Checkout>[] checkouts = new Optional[MAXIMUM_REMAINING + 1];
+        for (int remaining = 0; remaining <= MAXIMUM_REMAINING; remaining++) {
+            checkouts[remaining] = Optional.ofNullable(checkoutsMap.get(remaining));
+        }
+        return checkouts;
+    }
+
+    /**
+     * @return int[] the minimum darts needed to check out every remaining score, 0 when it has no checkout
      */
-    private boolean isEnoughDartsUsedForCheckout(X01Checkout checkout, int dartsUsed) {
-        return checkout != null && dartsUsed >= checkout.getMinDarts();
+    private int[] createMinDartsByRemaining() {
+        int[] minDarts = new int[MAXIMUM_REMAINING + 1];
+        for (int remaining = 0; remaining <= MAXIMUM_REMAINING; remaining++) {
+            minDarts[remaining] = checkoutsByRemaining[remaining].map(X01Checkout::getMinDarts).orElse(0);
+        }
+        return minDarts;
+    }
+
+    /**
+     * @return boolean[] whether every remaining score could be a checkout, i.e. it's not higher than the maximum
+     * checkout and not one of the scores that can't be checked out in three darts
+     */
+    private boolean[] createScoreCheckouts() {
+        boolean[] checkouts = new boolean[MAXIMUM_REMAINING + 1];
+        for (int remaining = 0; remaining <= Math.min(MAXIMUM_CHECKOUT, MAXIMUM_REMAINING); remaining++) {
+            checkouts[remaining] = true;
+        }
+        for (int impossibleCheckout : IMPOSSIBLE_CHECKOUTS) {
+            checkouts[impossibleCheckout] = false;
+        }
+        return checkouts;
     }
-}
\ No newline at end of file
+}
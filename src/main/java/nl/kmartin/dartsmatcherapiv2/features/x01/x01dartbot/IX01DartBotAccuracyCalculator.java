@@ -1,7 +1,13 @@
 package nl.kmartin.dartsmatcherapiv2.features.x01.x01dartbot;
 
 public interface IX01DartBotAccuracyCalculator {
+    double calcAccuracy(double targetOneDartAvg, double currentOneDartAvg);
+
     double createOffsetR(double targetOneDartAvg, double currentOneDartAvg);
 
+    double createOffsetR(double accuracy);
+
     double createOffsetTheta(double targetOneDartAvg, double currentOneDartAvg);
+
+    double createOffsetTheta(double accuracy);
 }
\ No newline at end of file
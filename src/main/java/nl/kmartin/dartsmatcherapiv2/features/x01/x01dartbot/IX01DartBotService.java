@@ -2,9 +2,15 @@ package nl.kmartin.dartsmatcherapiv2.features.x01.x01dartbot;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01DartBotLegState;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01LegRoundScore;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Turn;
 
 public interface IX01DartBotService {
     X01Turn createDartBotTurn(@NotNull @Valid X01Match match);
+
+    X01DartBotLegState createDartBotLegState(int x01, int threeDartAverage);
+
+    X01LegRoundScore createRoundScore(@NotNull X01DartBotLegState dartBotLegState, boolean trackDoubles);
 }
\ No newline at end of file
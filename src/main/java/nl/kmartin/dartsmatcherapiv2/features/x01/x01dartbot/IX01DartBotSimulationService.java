@@ -0,0 +1,10 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01dartbot;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01DartBotSimulationRequest;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01DartBotSimulationResult;
+
+public interface IX01DartBotSimulationService {
+    X01DartBotSimulationResult simulate(@NotNull @Valid X01DartBotSimulationRequest simulationRequest);
+}
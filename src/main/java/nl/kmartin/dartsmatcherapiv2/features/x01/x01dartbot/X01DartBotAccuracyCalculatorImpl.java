@@ -4,9 +4,9 @@ import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.PolarCoordinate;
 import nl.kmartin.dartsmatcherapiv2.features.x01.common.PiecewiseLinearGraph;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class X01DartBotAccuracyCalculatorImpl implements IX01DartBotAccuracyCalculator {
@@ -22,6 +22,9 @@ public class X01DartBotAccuracyCalculatorImpl implements IX01DartBotAccuracyCalc
         put(53.0, 0.0);
     }};
 
+    // The accuracy curve is immutable, so its graph is created once and interpolated without allocating.
+    private static final PiecewiseLinearGraph ACCURACY_GRAPH = new PiecewiseLinearGraph(PIECE_WISE_ACCURACY_CURVE_ONE_DART_AVG);
+
     /**
      * Generates the radial (r) offset associated with a target average. This offset is calibrated to be preciser the further away
      * the current average is from the target.
@@ -32,11 +35,19 @@ public class X01DartBotAccuracyCalculatorImpl implements IX01DartBotAccuracyCalc
      */
     @Override
     public double createOffsetR(double targetOneDartAvg, double currentOneDartAvg) {
-        // Get the (calibrated) offset based on the target and current avg.
-        double offset = calcAccuracy(targetOneDartAvg, currentOneDartAvg);
+        return createOffsetR(calcAccuracy(targetOneDartAvg, currentOneDartAvg));
+    }
 
+    /**
+     * Generates a radial (r) offset within a given accuracy.
+     *
+     * @param accuracy double The accuracy in mm as calculated by {@link #calcAccuracy(double, double)}.
+     * @return double The radial (r) offset in mm.
+     */
+    @Override
+    public double createOffsetR(double accuracy) {
         // Return a random number within a range from negative offset to positive offset.
-        return Math.random() * (offset + offset) - offset;
+        return ThreadLocalRandom.current().nextDouble() * (accuracy + accuracy) - accuracy;
     }
 
     /**
@@ -49,11 +60,19 @@ public class X01DartBotAccuracyCalculatorImpl implements IX01DartBotAccuracyCalc
      */
     @Override
     public double createOffsetTheta(double targetOneDartAvg, double currentOneDartAvg) {
-        // Get the (calibrated) offset in degrees based on the target and current avg.
-        double offset = calcAccuracy(targetOneDartAvg, currentOneDartAvg);
+        return createOffsetTheta(calcAccuracy(targetOneDartAvg, currentOneDartAvg));
+    }
 
+    /**
+     * Generates an angle (theta) offset in radian units within a given accuracy.
+     *
+     * @param accuracy double The accuracy in degrees as calculated by {@link #calcAccuracy(double, double)}.
+     * @return double The angle (theta) offset.
+     */
+    @Override
+    public double createOffsetTheta(double accuracy) {
         // Adjust offset to be a random number within a range from negative offset to positive offset.
-        offset = Math.random() * (offset + offset) - offset;
+        double offset = ThreadLocalRandom.current().nextDouble() * (accuracy + accuracy) - accuracy;
 
         // Return the angle offset in radian units.
         return PolarCoordinate.degreeToRadian(offset);
@@ -68,31 +87,27 @@ public class X01DartBotAccuracyCalculatorImpl implements IX01DartBotAccuracyCalc
      * @param currentOneDartAvg double the current one dart average
      * @return double the accuracy in mm representing how far off a target someone can throw
      */
-    private double calcAccuracy(double targetOneDartAvg, double currentOneDartAvg) {
+    @Override
+    public double calcAccuracy(double targetOneDartAvg, double currentOneDartAvg) {
         // Get the baseline accuracy for the target one dart average. When no darts are thrown (avg=0) return the baseline average.
-        NavigableMap<Double, Double> accuracyGraphDataPoints = PIECE_WISE_ACCURACY_CURVE_ONE_DART_AVG;
-        double baseAccuracy = getBaseAccuracy(targetOneDartAvg, accuracyGraphDataPoints);
+        double baseAccuracy = getBaseAccuracy(targetOneDartAvg);
         if (currentOneDartAvg == 0) return baseAccuracy;
 
         // Calibrate the accuracy depending on the performance and return it
-        return calibrateAccuracy(targetOneDartAvg, currentOneDartAvg, baseAccuracy, accuracyGraphDataPoints);
+        return calibrateAccuracy(targetOneDartAvg, currentOneDartAvg, baseAccuracy);
     }
 
     /**
      * Looks up the baseline accuracy for a given target one dart average. The accuracy is determined by interpolating a
      * piece wise linear graph.
      *
-     * @param targetOneDartAvg        double the target one dart average
-     * @param accuracyGraphDataPoints the data points of the accuracy graph
+     * @param targetOneDartAvg double the target one dart average
      * @return double the baseline accuracy for the given one dart average
      */
-    private double getBaseAccuracy(double targetOneDartAvg, NavigableMap<Double, Double> accuracyGraphDataPoints) {
-        // Create the piece wise linear graph using the piece wise accuracy curve
-        PiecewiseLinearGraph baseAccuracyGraph = new PiecewiseLinearGraph(accuracyGraphDataPoints);
-
+    private double getBaseAccuracy(double targetOneDartAvg) {
         // The graph x-axis represents the target averages and the y-axis represents the accuracies.
         // Interpolate the accuracy (y) for the target average (x).
-        return baseAccuracyGraph.interpolateY(targetOneDartAvg);
+        return ACCURACY_GRAPH.interpolateY(targetOneDartAvg);
     }
 
     /**
@@ -101,13 +116,12 @@ public class X01DartBotAccuracyCalculatorImpl implements IX01DartBotAccuracyCalc
      * which is calculated based on the difference between the target and current averages.
      * It ensures the final accuracy is within a defined range (min to max accuracy).
      *
-     * @param targetOneDartAvg        double the target one dart average
-     * @param currentOneDartAvg       double the current one dart average
-     * @param accuracyToCalibrate     double the accuracy value to be calibrated.
-     * @param accuracyGraphDataPoints the data points of the accuracy graph
+     * @param targetOneDartAvg    double the target one dart average
+     * @param currentOneDartAvg   double the current one dart average
+     * @param accuracyToCalibrate double the accuracy value to be calibrated.
      * @return double The calibrated accuracy value, constrained between the minimum and maximum allowable accuracy.
      */
-    private double calibrateAccuracy(double targetOneDartAvg, double currentOneDartAvg, double accuracyToCalibrate, NavigableMap<Double, Double> accuracyGraphDataPoints) {
+    private double calibrateAccuracy(double targetOneDartAvg, double currentOneDartAvg, double accuracyToCalibrate) {
         // Calculate the performance ratio as the difference between the current and target averages, divided by the target average.
         double performanceRatio = (currentOneDartAvg - targetOneDartAvg) / targetOneDartAvg;
 
@@ -118,8 +132,8 @@ public class X01DartBotAccuracyCalculatorImpl implements IX01DartBotAccuracyCalc
         double adjustedAccuracy = accuracyToCalibrate * (1.0 + calibrationFactor * performanceRatio);
 
         // Get the minimum and maximum accuracy based on the target one dart average.
-        double minAccuracy = getMinAccuracy(targetOneDartAvg, accuracyGraphDataPoints);
-        double maxAccuracy = getMaxAccuracy(targetOneDartAvg, accuracyGraphDataPoints);
+        double minAccuracy = getMinAccuracy(targetOneDartAvg);
+        double maxAccuracy = getMaxAccuracy(targetOneDartAvg);
 
         // Return the adjusted accuracy, ensuring it is within the range of min and max accuracy.
         return Math.max(maxAccuracy, Math.min(minAccuracy, adjustedAccuracy));
@@ -129,41 +143,41 @@ public class X01DartBotAccuracyCalculatorImpl implements IX01DartBotAccuracyCalc
      * Gets the minimum accuracy value for the given target one dart average by finding the neighboring entry
      * below the floor entry in the piecewise accuracy curve. If no such entry exists, the first entry in the curve is returned.
      *
-     * @param targetOneDartAvg        double the target one dart average
-     * @param accuracyGraphDataPoints the data points of the accuracy graph
+     * @param targetOneDartAvg double the target one dart average
      * @return double the minimum accuracy value associated with the given target one dart average.
      */
-    private double getMinAccuracy(double targetOneDartAvg, NavigableMap<Double, Double> accuracyGraphDataPoints) {
+    private double getMinAccuracy(double targetOneDartAvg) {
         // Get the floor entry (closest key less than or equal to targetOneDartAvg)
-        Map.Entry<Double, Double> floor = accuracyGraphDataPoints.floorEntry(targetOneDartAvg);
-        if (floor == null) return accuracyGraphDataPoints.firstEntry().getValue();
+        int floor = ACCURACY_GRAPH.floorIndex(targetOneDartAvg);
+        if (floor < 0) return ACCURACY_GRAPH.getY(0);
 
         // Get the neighboring entry below the floor entry
-        Map.Entry<Double, Double> lower = accuracyGraphDataPoints.lowerEntry(floor.getKey());
-        if (lower == null) return accuracyGraphDataPoints.firstEntry().getValue();
+        int lower = floor - 1;
+        if (lower < 0) return ACCURACY_GRAPH.getY(0);
 
         // return the value of the lower key below the floor of the target average
-        return lower.getValue();
+        return ACCURACY_GRAPH.getY(lower);
     }
 
     /**
      * Gets the maximum accuracy value for the given target one dart average by finding the neighboring entry
      * above the ceiling entry in the piecewise accuracy curve. If no such entry exists, the last entry in the curve is returned.
      *
-     * @param targetOneDartAvg        double the target one dart average
-     * @param accuracyGraphDataPoints the data points of the accuracy graph
+     * @param targetOneDartAvg double the target one dart average
      * @return double the maximum accuracy value associated with the given target one dart average.
      */
-    private double getMaxAccuracy(double targetOneDartAvg, NavigableMap<Double, Double> accuracyGraphDataPoints) {
+    private double getMaxAccuracy(double targetOneDartAvg) {
+        int last = ACCURACY_GRAPH.size() - 1;
+
         // Get the ceiling entry (closest key higher than or equal to targetOneDartAvg)
-        Map.Entry<Double, Double> ceiling = accuracyGraphDataPoints.ceilingEntry(targetOneDartAvg);
-        if (ceiling == null) return accuracyGraphDataPoints.lastEntry().getValue();
+        int ceiling = ACCURACY_GRAPH.ceilingIndex(targetOneDartAvg);
+        if (ceiling < 0) return ACCURACY_GRAPH.getY(last);
 
         // Get the neighboring entry above the ceiling entry
-        Map.Entry<Double, Double> upper = accuracyGraphDataPoints.higherEntry(ceiling.getKey());
-        if (upper == null) return accuracyGraphDataPoints.lastEntry().getValue();
+        int upper = ceiling + 1;
+        if (upper > last) return ACCURACY_GRAPH.getY(last);
 
         // return the value of the upper key above the ceiling of the target average
-        return upper.getValue();
+        return ACCURACY_GRAPH.getY(upper);
     }
-}
\ No newline at end of file
+}
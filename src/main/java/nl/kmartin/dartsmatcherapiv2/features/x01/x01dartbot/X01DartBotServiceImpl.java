@@ -69,6 +69,59 @@ public class X01DartBotServiceImpl implements IX01DartBotService {
         return new X01Turn(roundScore.getScore(), checkoutDartsUsed, roundScore.getDoublesMissed());
     }
 
+    /**
+     * Creates a {@link X01DartBotLegState} for a dart bot at the start of a leg, without a match. Used to simulate
+     * legs of a dart bot outside a match.
+     *
+     * @param x01              int the starting score of the leg
+     * @param threeDartAverage int the three dart average the dart bot aims for
+     * @return {@link X01DartBotLegState} representing the dart bot's state at the start of the leg.
+     */
+    @Override
+    public X01DartBotLegState createDartBotLegState(int x01, int threeDartAverage) {
+        double targetOneDartAvg = (double) threeDartAverage / Constants.NUM_OF_DARTS_IN_A_ROUND;
+
+        return new X01DartBotLegState(
+                x01,
+                0,
+                0,
+                0,
+                createTargetNumOfDarts(x01, targetOneDartAvg),
+                targetOneDartAvg,
+                new X01LegRoundScore(0, 0, x01)
+        );
+    }
+
+    /**
+     * Creates a round score for a dart bot's turn based on the provided dart bot leg state.
+     * The method simulates the dart throws made by the dart bot and updates the round score
+     * until the remaining points are zero or the maximum darts for the turn are used.
+     *
+     * @param dartBotLegState {@link X01DartBotLegState} representing the dart bot's current state in the leg.
+     * @param trackDoubles    boolean whether the darts that missed a double are counted in the round score.
+     * @return {@link X01LegRoundScore} representing the score, darts used, and doubles missed for the dart bot's turn in the current leg.
+     */
+    @Override
+    public X01LegRoundScore createRoundScore(X01DartBotLegState dartBotLegState, boolean trackDoubles) {
+        int remaining = dartBotLegState.getRemainingPoints();
+
+        // Simulate dart throws until either the remaining points has reached zero or there no darts left to throw in the round
+        while (remaining != 0 && dartBotLegState.getDartsLeftInRound() > 0) {
+            // Simulate dart throws and update the leg state for each throw.
+            List<DartThrow> dartThrows = dartBotThrowSimulatorService.getNextDartThrows(dartBotLegState);
+            dartThrows.forEach(dartThrow -> {
+                updateRoundScore(dartBotLegState, dartThrow, trackDoubles);
+                dartBotLegState.setDartsUsedInRound(dartBotLegState.getDartsUsedInRound() + 1);
+            });
+
+            // Update the remaining counter
+            remaining = dartBotLegState.getRemainingPoints();
+        }
+
+        // Return the updated round score from the leg state
+        return dartBotLegState.getLegRoundScore();
+    }
+
     /**
      * Retrieves the current thrower for a match and determines if it is a dart bot and the bot settings are set. Will
      * throw an {@link InvalidArgumentsException} if any of these constraints aren't met.
@@ -152,34 +205,6 @@ public class X01DartBotServiceImpl implements IX01DartBotService {
         return Math.max(1, (int) Math.round(randomWithinRange));
     }
 
-    /**
-     * Creates a round score for a dart bot's turn based on the provided dart bot leg state.
-     * The method simulates the dart throws made by the dart bot and updates the round score
-     * until the remaining points are zero or the maximum darts for the turn are used.
-     *
-     * @param dartBotLegState {@link X01DartBotLegState} representing the dart bot's current state in the leg.
-     * @return {@link X01LegRoundScore} representing the score, darts used, and doubles missed for the dart bot's turn in the current leg.
-     */
-    private X01LegRoundScore createRoundScore(X01DartBotLegState dartBotLegState, boolean trackDoubles) {
-        int remaining = dartBotLegState.getRemainingPoints();
-
-        // Simulate dart throws until either the remaining points has reached zero or there no darts left to throw in the round
-        while (remaining != 0 && dartBotLegState.getDartsLeftInRound() > 0) {
-            // Simulate dart throws and update the leg state for each throw.
-            List<DartThrow> dartThrows = dartBotThrowSimulatorService.getNextDartThrows(dartBotLegState);
-            dartThrows.forEach(dartThrow -> {
-                updateRoundScore(dartBotLegState, dartThrow, trackDoubles);
-                dartBotLegState.setDartsUsedInRound(dartBotLegState.getDartsUsedInRound() + 1);
-            });
-
-            // Update the remaining counter
-            remaining = dartBotLegState.getRemainingPoints();
-        }
-
-        // Return the updated round score from the leg state
-        return dartBotLegState.getLegRoundScore();
-    }
-
     /**
      * Updates the round score based on the dart throw.
      *
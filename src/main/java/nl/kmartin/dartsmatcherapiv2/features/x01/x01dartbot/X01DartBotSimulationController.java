@@ -0,0 +1,27 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01dartbot;
+
+import jakarta.validation.Valid;
+import nl.kmartin.dartsmatcherapiv2.common.RestEndpoints;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01DartBotSimulationRequest;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01DartBotSimulationResult;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class X01DartBotSimulationController {
+    private final IX01DartBotSimulationService dartBotSimulationService;
+
+    public X01DartBotSimulationController(IX01DartBotSimulationService dartBotSimulationService) {
+        this.dartBotSimulationService = dartBotSimulationService;
+    }
+
+    @PostMapping(path = RestEndpoints.X01_SIMULATE_DART_BOT, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public X01DartBotSimulationResult simulateDartBot(@Valid @RequestBody X01DartBotSimulationRequest simulationRequest) {
+        return dartBotSimulationService.simulate(simulationRequest);
+    }
+}
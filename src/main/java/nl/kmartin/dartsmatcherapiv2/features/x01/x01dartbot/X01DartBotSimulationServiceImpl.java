@@ -0,0 +1,160 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01dartbot;
+
+import jakarta.annotation.PreDestroy;
+import nl.kmartin.dartsmatcherapiv2.common.Constants;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.*;
+import nl.kmartin.dartsmatcherapiv2.utils.NumberUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Simulates legs of a dart bot outside a match, using the same throw simulation as the dart bot turns in a match. This
+ * is used to calibrate the dart bot (does the bot achieve the average it aims for) and to measure the throughput of
+ * the dart bot engine.
+ *
+ * The legs are simulated in parallel on a dedicated fork join pool, so simulations don't compete with the common pool
+ * used by the rest of the application. A simulation is run while the request waits for it, so the number of legs and
+ * averages of a request are kept small (see {@link X01DartBotSimulationRequest}).
+ */
+@Service
+public class X01DartBotSimulationServiceImpl implements IX01DartBotSimulationService {
+
+    private final IX01DartBotService dartBotService;
+    private final ForkJoinPool simulationPool;
+
+    public X01DartBotSimulationServiceImpl(IX01DartBotService dartBotService,
+                                           @Value("${darts-matcher.x01.dart-bot-simulation.parallelism:0}") int parallelism) {
+        this.dartBotService = dartBotService;
+        this.simulationPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Simulates the requested number of legs for each requested three dart average, with the dart bot throwing alone.
+     *
+     * @param simulationRequest {@link X01DartBotSimulationRequest} the starting score, averages and number of legs
+     * @return {@link X01DartBotSimulationResult} the achieved average, darts per leg and checkout rate per average
+     */
+    @Override
+    public X01DartBotSimulationResult simulate(X01DartBotSimulationRequest simulationRequest) {
+        int x01 = simulationRequest.getX01();
+        int legs = simulationRequest.getLegs();
+        long start = System.nanoTime();
+
+        // Simulate the legs of each average, the legs of an average are simulated in parallel.
+        List<X01DartBotSimulationAverage> averages = new ArrayList<>();
+        for (int threeDartAverage : simulationRequest.getThreeDartAverages()) {
+            LegTally legTally = runInSimulationPool(x01, threeDartAverage, legs);
+            averages.add(createSimulationAverage(threeDartAverage, legTally));
+        }
+
+        // Report the throughput of the simulation.
+        long durationNanos = System.nanoTime() - start;
+        long totalLegs = (long) legs * averages.size();
+        double legsPerSecond = durationNanos > 0 ? totalLegs / (durationNanos / 1_000_000_000.0) : 0;
+
+        return new X01DartBotSimulationResult(x01, legs, durationNanos / 1_000_000, legsPerSecond, averages);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        simulationPool.shutdown();
+    }
+
+    /**
+     * Simulates the legs of a single average in parallel on the simulation pool.
+     *
+     * @param x01              int the starting score of the legs
+     * @param threeDartAverage int the three dart average the dart bot aims for
+     * @param legs             int the number of legs to simulate
+     * @return {@link LegTally} the combined results of the simulated legs
+     */
+    private LegTally runInSimulationPool(int x01, int threeDartAverage, int legs) {
+        try {
+            return simulationPool.submit(() -> IntStream.range(0, legs)
+                    .parallel()
+                    .collect(LegTally::new, (legTally, leg) -> simulateLeg(x01, threeDartAverage, legTally), LegTally::merge)
+            ).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dart bot simulation was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException("Dart bot simulation failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Simulates a leg of a dart bot throwing alone, round by round until the leg is checked out.
+     *
+     * @param x01              int the starting score of the leg
+     * @param threeDartAverage int the three dart average the dart bot aims for
+     * @param legTally         {@link LegTally} the tally the result of the leg is added to
+     */
+    private void simulateLeg(int x01, int threeDartAverage, LegTally legTally) {
+        X01DartBotLegState dartBotLegState = dartBotService.createDartBotLegState(x01, threeDartAverage);
+
+        while (true) {
+            // Throw the round, doubles are tracked to determine the checkout rate.
+            X01LegRoundScore roundScore = dartBotService.createRoundScore(dartBotLegState, true);
+            if (roundScore.getDoublesMissed() != null) legTally.checkoutsMissed += roundScore.getDoublesMissed();
+
+            if (dartBotLegState.getRemainingPoints() == 0) break;
+            dartBotLegState.startNextRound();
+        }
+
+        legTally.addLeg(x01, dartBotLegState.getDartsUsedInLeg());
+    }
+
+    /**
+     * @param threeDartAverage int the three dart average the dart bot aimed for
+     * @param legTally         {@link LegTally} the combined results of the simulated legs
+     * @return {@link X01DartBotSimulationAverage} the results of the simulated legs
+     */
+    private X01DartBotSimulationAverage createSimulationAverage(int threeDartAverage, LegTally legTally) {
+        double achievedAverage = legTally.dartsUsed > 0
+                ? (double) legTally.scored / legTally.dartsUsed * Constants.NUM_OF_DARTS_IN_A_ROUND
+                : 0;
+        double dartsPerLeg = legTally.legs > 0 ? (double) legTally.dartsUsed / legTally.legs : 0;
+
+        // Every leg is finished with a single hit on a double.
+        int checkoutPercentage = NumberUtils.calcPercentage(legTally.legs, legTally.legs + legTally.checkoutsMissed);
+
+        return new X01DartBotSimulationAverage(threeDartAverage, achievedAverage, dartsPerLeg,
+                legTally.dartsPerLegDistribution, checkoutPercentage, legTally.legs, legTally.checkoutsMissed);
+    }
+
+    /**
+     * Mutable results of the legs simulated by a single worker. The tallies of the workers are merged when the
+     * simulation of an average completes.
+     */
+    private static class LegTally {
+        private int legs;
+        private long scored;
+        private long dartsUsed;
+        private int checkoutsMissed;
+        private final SortedMap<Integer, Integer> dartsPerLegDistribution = new TreeMap<>();
+
+        private void addLeg(int x01, int dartsUsedInLeg) {
+            legs++;
+            scored += x01;
+            dartsUsed += dartsUsedInLeg;
+            dartsPerLegDistribution.merge(dartsUsedInLeg, 1, Integer::sum);
+        }
+
+        private void merge(LegTally other) {
+            legs += other.legs;
+            scored += other.scored;
+            dartsUsed += other.dartsUsed;
+            checkoutsMissed += other.checkoutsMissed;
+            other.dartsPerLegDistribution.forEach((darts, count) -> dartsPerLegDistribution.merge(darts, count, Integer::sum));
+        }
+    }
+}
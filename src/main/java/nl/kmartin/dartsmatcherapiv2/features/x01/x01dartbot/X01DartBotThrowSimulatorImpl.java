@@ -1,11 +1,13 @@
 package nl.kmartin.dartsmatcherapiv2.features.x01.x01dartbot;
 
+import nl.kmartin.dartsmatcherapiv2.common.Constants;
 import nl.kmartin.dartsmatcherapiv2.features.dartboard.IDartboardService;
 import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.Dart;
 import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.DartThrow;
 import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.DartboardSectionArea;
-import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Checkout;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01CheckoutRoute;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01DartBotLegState;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01checkout.IX01CheckoutAdviceService;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01checkout.IX01CheckoutService;
 import org.springframework.stereotype.Service;
 
@@ -17,6 +19,7 @@ import java.util.stream.Collectors;
 public class X01DartBotThrowSimulatorImpl implements IX01DartBotThrowSimulator {
     private final IDartboardService dartboardService;
     private final IX01CheckoutService checkoutService;
+    private final IX01CheckoutAdviceService checkoutAdviceService;
     private final IX01DartBotCheckoutPolicy dartBotCheckoutPolicy;
     private final IX01DartBotAccuracyCalculator dartBotAccuracyCalculator;
     private final IX01DartBotScoringStrategy dartBotScoringStrategy;
@@ -25,9 +28,11 @@ public class X01DartBotThrowSimulatorImpl implements IX01DartBotThrowSimulator {
                                         IX01CheckoutService checkoutService,
                                         IX01DartBotCheckoutPolicy dartBotCheckoutPolicy,
                                         IX01DartBotAccuracyCalculator dartBotAccuracyCalculator,
-                                        IX01DartBotScoringStrategy dartBotScoringStrategy) {
+                                        IX01DartBotScoringStrategy dartBotScoringStrategy,
+                                        IX01CheckoutAdviceService checkoutAdviceService) {
         this.dartboardService = dartboardService;
         this.checkoutService = checkoutService;
+        this.checkoutAdviceService = checkoutAdviceService;
         this.dartBotCheckoutPolicy = dartBotCheckoutPolicy;
         this.dartBotAccuracyCalculator = dartBotAccuracyCalculator;
         this.dartBotScoringStrategy = dartBotScoringStrategy;
@@ -89,11 +94,16 @@ public class X01DartBotThrowSimulatorImpl implements IX01DartBotThrowSimulator {
      * in the checkout sequence. If the bot has to check out complete the checkout in the next dart throws,
      * but only using the darts remaining in the round.
      *
+     * The checkout sequence is the best advised route using the darts left in the round. When the remaining points
+     * can't be checked out with the darts left, the best route using a full round is followed.
+     *
      * @param dartBotLegState {@link X01DartBotLegState} the current state of the dart bot in the leg
      * @return {@link List<DartThrow>} a list of dart throws that were thrown aiming at a checkout
      */
     private List<DartThrow> createCheckoutThrowResult(X01DartBotLegState dartBotLegState) {
-        Optional<X01Checkout> checkout = checkoutService.getCheckout(dartBotLegState.getRemainingPoints());
+        int remaining = dartBotLegState.getRemainingPoints();
+        Optional<X01CheckoutRoute> checkout = checkoutAdviceService.getBestCheckoutRoute(remaining, dartBotLegState.getDartsLeftInRound())
+                .or(() -> checkoutAdviceService.getBestCheckoutRoute(remaining, Constants.NUM_OF_DARTS_IN_A_ROUND));
 
         // When there is no checkout, return a scoring throw.
         if (checkout.isEmpty()) {
@@ -112,13 +122,13 @@ public class X01DartBotThrowSimulatorImpl implements IX01DartBotThrowSimulator {
      * If the bot has to check out, the appropriate dart throws for the checkout sequence are generated.
      * If the bot doesn't have to check out yet, it will aim at the first target in the checkout sequence.
      *
-     * @param checkout        {@link X01Checkout} the checkout sequence to be followed
+     * @param checkout        {@link X01CheckoutRoute} the checkout sequence to be followed
      * @param dartBotLegState {@link X01DartBotLegState} the current state of the dart bot in the leg
      * @return {@link List<DartThrow>} a list of dart throws: either a sequence of throws for the checkout or a single dart throw aimed at the next target in the checkout sequence
      */
-    private List<DartThrow> throwAtCheckout(X01Checkout checkout, X01DartBotLegState dartBotLegState) {
+    private List<DartThrow> throwAtCheckout(X01CheckoutRoute checkout, X01DartBotLegState dartBotLegState) {
         // Check if the bot has to complete the checkout based on if the checkout sequence will equal or surpass the target number of darts
-        int dartsUsedAfterCheckout = dartBotLegState.getDartsUsedInLeg() + checkout.getMinDarts();
+        int dartsUsedAfterCheckout = dartBotLegState.getDartsUsedInLeg() + checkout.getDarts().size();
 
         boolean hasToCheckout = dartBotCheckoutPolicy.isTargetNumOfDartsReached(dartsUsedAfterCheckout, dartBotLegState.getTargetNumOfDarts());
         if (hasToCheckout) {
@@ -129,7 +139,7 @@ public class X01DartBotThrowSimulatorImpl implements IX01DartBotThrowSimulator {
         DartThrow dartThrow = throwAtTarget(
                 dartBotLegState.getTargetOneDartAvg(),
                 dartBotLegState.getCurrentOneDartAvg(),
-                checkout.getSuggested().get(0)
+                checkout.getDarts().get(0)
         );
 
         // Validates the result, creates a MISS if the checkout is invalid (bust, no double finish, above target avg)
@@ -143,17 +153,17 @@ public class X01DartBotThrowSimulatorImpl implements IX01DartBotThrowSimulator {
      * Creates a list of dart throws for the checkout sequence. This method generates the dart throws
      * necessary to complete the checkout based on the checkout sequence and how many darts remain in the round
      *
-     * @param checkout       {@link X01Checkout} the checkout sequence to be followed
+     * @param checkout       {@link X01CheckoutRoute} the checkout sequence to be followed
      * @param dartsRemaining int the number of darts remaining in the current round
      * @return {@link List<DartThrow>} a list of dart throws to complete the checkout sequence
      */
-    private List<DartThrow> createGuaranteedCheckoutThrows(X01Checkout checkout, int dartsRemaining) {
+    private List<DartThrow> createGuaranteedCheckoutThrows(X01CheckoutRoute checkout, int dartsRemaining) {
         // Determine the number of darts to use based on darts remaining and darts required
-        int dartsRequired = checkout.getSuggested().size();
+        int dartsRequired = checkout.getDarts().size();
         int dartsToUse = Math.min(dartsRemaining, dartsRequired);
 
         // Create and return a list of DartThrow objects for the required darts
-        return checkout.getSuggested().stream().limit(dartsToUse).map(dart -> new DartThrow(dart, dart)).collect(Collectors.toList());
+        return checkout.getDarts().stream().limit(dartsToUse).map(dart -> new DartThrow(dart, dart)).collect(Collectors.toList());
     }
 
     /**
@@ -166,9 +176,10 @@ public class X01DartBotThrowSimulatorImpl implements IX01DartBotThrowSimulator {
      * @return {@link DartThrow} The result of where the dart landed on the board.
      */
     private DartThrow throwAtTarget(double targetOneDartAvg, double currentOneDartAvg, Dart target) {
-        // Generate the offset of the angle and radial.
-        double offsetR = dartBotAccuracyCalculator.createOffsetR(targetOneDartAvg, currentOneDartAvg);
-        double offsetTheta = dartBotAccuracyCalculator.createOffsetTheta(targetOneDartAvg, currentOneDartAvg);
+        // Generate the offset of the angle and radial, both within the same accuracy.
+        double accuracy = dartBotAccuracyCalculator.calcAccuracy(targetOneDartAvg, currentOneDartAvg);
+        double offsetR = dartBotAccuracyCalculator.createOffsetR(accuracy);
+        double offsetTheta = dartBotAccuracyCalculator.createOffsetTheta(accuracy);
 
         // Determine the final dart result based on the calculated offsets.
         Dart result = dartboardService.getScore(target, offsetR, offsetTheta);
@@ -4,12 +4,22 @@ import jakarta.validation.Valid;
 import nl.kmartin.dartsmatcherapiv2.common.RestEndpoints;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01EditTurn;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchSearch;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchSummary;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchSummaryPage;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Turn;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01TurnBatch;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchCommandService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchSearchService;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchSummaryService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchVersionService;
 import org.bson.types.ObjectId;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,9 +27,19 @@ import java.util.List;
 public class X01MatchRestController {
 
     private final IX01MatchService matchService;
+    private final IX01MatchCommandService matchCommandService;
+    private final IX01MatchSearchService matchSearchService;
+    private final IX01MatchSummaryService matchSummaryService;
+    private final IX01MatchVersionService matchVersionService;
 
-    public X01MatchRestController(IX01MatchService matchService) {
+    public X01MatchRestController(IX01MatchService matchService, IX01MatchCommandService matchCommandService,
+                                  IX01MatchSearchService matchSearchService, IX01MatchSummaryService matchSummaryService,
+                                  IX01MatchVersionService matchVersionService) {
         this.matchService = matchService;
+        this.matchCommandService = matchCommandService;
+        this.matchSearchService = matchSearchService;
+        this.matchSummaryService = matchSummaryService;
+        this.matchVersionService = matchVersionService;
     }
 
     @PostMapping(path = RestEndpoints.X01_CREATE_MATCH, consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -29,15 +49,41 @@ public class X01MatchRestController {
     }
 
     @GetMapping(path = RestEndpoints.X01_GET_MATCH, produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseStatus(HttpStatus.OK)
-    public X01Match getMatch(@PathVariable ObjectId matchId) {
-        return matchService.getMatch(matchId);
+    public ResponseEntity<X01Match> getMatch(@PathVariable ObjectId matchId, WebRequest request) {
+        // Answer an unchanged match from its versions without loading the match.
+        String eTag = matchVersionService.getMatchETag(matchId);
+        if (request.checkNotModified(eTag)) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+
+        X01Match match = matchService.getMatch(matchId);
+        return ResponseEntity.ok().eTag(matchVersionService.createMatchETag(match)).body(match);
     }
 
     @GetMapping(path = RestEndpoints.X01_GET_MATCHES, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<X01Match>> getMatches(@RequestParam("ids") List<ObjectId> ids, WebRequest request) {
+        // Answer unchanged matches from their versions without loading the matches.
+        String eTag = matchVersionService.getMatchesETag(ids);
+        if (request.checkNotModified(eTag)) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+
+        List<X01Match> matches = matchService.getMatches(ids);
+        return ResponseEntity.ok().eTag(matchVersionService.createMatchesETag(matches)).body(matches);
+    }
+
+    @GetMapping(path = RestEndpoints.X01_GET_MATCH_SUMMARY, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public X01MatchSummary getMatchSummary(@PathVariable ObjectId matchId) {
+        return matchSummaryService.getMatchSummary(matchId);
+    }
+
+    @GetMapping(path = RestEndpoints.X01_GET_MATCH_SUMMARIES, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public List<X01MatchSummary> getMatchSummaries(@RequestParam("ids") List<ObjectId> ids) {
+        return matchSummaryService.getMatchSummaries(ids);
+    }
+
+    @GetMapping(path = RestEndpoints.X01_SEARCH_MATCHES, produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    public List<X01Match> getMatches(@RequestParam("ids") List<ObjectId> ids) {
-        return matchService.getMatches(ids);
+    public X01MatchSummaryPage searchMatches(@Valid X01MatchSearch search) {
+        return matchSearchService.searchMatches(search);
     }
 
     @GetMapping(path = RestEndpoints.X01_MATCH_EXISTS, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -49,36 +95,42 @@ public class X01MatchRestController {
     @PostMapping(path = RestEndpoints.X01_ADD_TURN, produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
     public X01Match addTurn(@PathVariable ObjectId matchId, @Valid @RequestBody X01Turn turn) {
-        return matchService.addTurn(matchId, turn);
+        return matchCommandService.execute(matchId, () -> matchService.addTurn(matchId, turn));
+    }
+
+    @PostMapping(path = RestEndpoints.X01_ADD_TURNS, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public X01Match addTurns(@PathVariable ObjectId matchId, @Valid @RequestBody X01TurnBatch turnBatch) {
+        return matchCommandService.execute(matchId, () -> matchService.addTurns(matchId, turnBatch));
     }
 
     @PostMapping(path = RestEndpoints.X01_EDIT_TURN, produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
     public X01Match editTurn(@PathVariable ObjectId matchId, @Valid @RequestBody X01EditTurn editTurn) {
-        return matchService.addTurn(matchId, editTurn);
+        return matchCommandService.execute(matchId, () -> matchService.editTurn(matchId, editTurn));
     }
 
     @PostMapping(path = RestEndpoints.X01_DELETE_LAST_TURN, produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
     public X01Match deleteLastTurn(@PathVariable ObjectId matchId) {
-        return matchService.deleteLastTurn(matchId);
+        return matchCommandService.execute(matchId, () -> matchService.deleteLastTurn(matchId));
     }
 
     @PostMapping(path = RestEndpoints.X01_DELETE_MATCH, produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
     public void deleteMatch(@PathVariable ObjectId matchId) {
-        matchService.deleteMatch(matchId);
+        matchCommandService.execute(matchId, () -> matchService.deleteMatch(matchId));
     }
 
     @PostMapping(path = RestEndpoints.X01_RESET_MATCH, produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
     public X01Match resetMatch(@PathVariable ObjectId matchId) {
-        return matchService.resetMatch(matchId);
+        return matchCommandService.execute(matchId, () -> matchService.resetMatch(matchId));
     }
 
     @PostMapping(path = RestEndpoints.X01_REPROCESS_MATCH, produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
     public X01Match reprocessMatch(@PathVariable ObjectId matchId) {
-        return matchService.reprocessMatch(matchId);
+        return matchCommandService.execute(matchId, () -> matchService.reprocessMatch(matchId));
     }
 }
\ No newline at end of file
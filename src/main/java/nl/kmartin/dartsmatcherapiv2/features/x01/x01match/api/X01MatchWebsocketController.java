@@ -5,10 +5,17 @@ import nl.kmartin.dartsmatcherapiv2.common.WebsocketDestinations;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01EditTurn;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Turn;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01TurnBatch;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01EncodedMatchEvent;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEvent;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventEncoding;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchCommandService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchEventEncoderService;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchService;
 import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.annotation.SubscribeMapping;
@@ -18,50 +25,66 @@ import org.springframework.stereotype.Controller;
 public class X01MatchWebsocketController {
 
     private final IX01MatchService matchService;
+    private final IX01MatchCommandService matchCommandService;
+    private final IX01MatchEventEncoderService matchEventEncoderService;
+    private final boolean binaryEncodingEnabled;
 
-    public X01MatchWebsocketController(IX01MatchService matchService) {
+    public X01MatchWebsocketController(IX01MatchService matchService, IX01MatchCommandService matchCommandService,
+                                       IX01MatchEventEncoderService matchEventEncoderService,
+                                       @Value("${darts-matcher.websocket.binary-encoding.enabled:false}") boolean binaryEncodingEnabled) {
         this.matchService = matchService;
+        this.matchCommandService = matchCommandService;
+        this.matchEventEncoderService = matchEventEncoderService;
+        this.binaryEncodingEnabled = binaryEncodingEnabled;
     }
 
     @SubscribeMapping(WebsocketDestinations.X01_GET_MATCH)
-    public X01MatchEvent.X01ProcessMatchEvent subscribeX01Match(@DestinationVariable ObjectId matchId) {
+    public X01EncodedMatchEvent subscribeX01Match(@DestinationVariable ObjectId matchId,
+                                                  @Header(name = X01MatchEventEncoding.ACCEPT_HEADER, required = false) String accept) {
         X01Match match = matchService.getMatch(matchId);
-        return new X01MatchEvent.X01ProcessMatchEvent(match);
+        X01MatchEventEncoding encoding = binaryEncodingEnabled ? X01MatchEventEncoding.fromAccept(accept) : X01MatchEventEncoding.JSON;
+        return matchEventEncoderService.getOrEncode(new X01MatchEvent.X01ProcessMatchEvent(match), encoding);
     }
 
     @MessageMapping(WebsocketDestinations.X01_ADD_TURN)
-    public X01MatchEvent.X01AddHumanTurnEvent addTurn(@DestinationVariable ObjectId matchId, @Valid @Payload X01Turn turn) {
-        X01Match match = matchService.addTurn(matchId, turn);
-        return new X01MatchEvent.X01AddHumanTurnEvent(match);
+    public X01EncodedMatchEvent addTurn(@DestinationVariable ObjectId matchId, @Valid @Payload X01Turn turn) {
+        X01Match match = matchCommandService.execute(matchId, () -> matchService.addTurn(matchId, turn));
+        return matchEventEncoderService.getOrEncode(new X01MatchEvent.X01AddHumanTurnEvent(match));
+    }
+
+    @MessageMapping(WebsocketDestinations.X01_ADD_TURNS)
+    public X01EncodedMatchEvent addTurns(@DestinationVariable ObjectId matchId, @Valid @Payload X01TurnBatch turnBatch) {
+        X01Match match = matchCommandService.execute(matchId, () -> matchService.addTurns(matchId, turnBatch));
+        return matchEventEncoderService.getOrEncode(new X01MatchEvent.X01AddTurnsEvent(match));
     }
 
     @MessageMapping(WebsocketDestinations.X01_EDIT_TURN)
-    public X01MatchEvent.X01EditTurnEvent editTurn(@DestinationVariable ObjectId matchId, @Valid @Payload X01EditTurn editTurn) {
-        X01Match updatedMatch = matchService.editTurn(matchId, editTurn);
-        return new X01MatchEvent.X01EditTurnEvent(updatedMatch);
+    public X01EncodedMatchEvent editTurn(@DestinationVariable ObjectId matchId, @Valid @Payload X01EditTurn editTurn) {
+        X01Match updatedMatch = matchCommandService.execute(matchId, () -> matchService.editTurn(matchId, editTurn));
+        return matchEventEncoderService.getOrEncode(new X01MatchEvent.X01EditTurnEvent(updatedMatch));
     }
 
     @MessageMapping(WebsocketDestinations.X01_DELETE_LAST_TURN)
-    public X01MatchEvent.X01DeleteLastTurnEvent deleteLastTurn(@DestinationVariable ObjectId matchId) {
-        X01Match updatedMatch = matchService.deleteLastTurn(matchId);
-        return new X01MatchEvent.X01DeleteLastTurnEvent(updatedMatch);
+    public X01EncodedMatchEvent deleteLastTurn(@DestinationVariable ObjectId matchId) {
+        X01Match updatedMatch = matchCommandService.execute(matchId, () -> matchService.deleteLastTurn(matchId));
+        return matchEventEncoderService.getOrEncode(new X01MatchEvent.X01DeleteLastTurnEvent(updatedMatch));
     }
 
     @MessageMapping(WebsocketDestinations.X01_DELETE_MATCH)
-    public X01MatchEvent.X01DeleteMatchEvent deleteMatch(@DestinationVariable ObjectId matchId) {
-        matchService.deleteMatch(matchId);
-        return new X01MatchEvent.X01DeleteMatchEvent(matchId);
+    public X01EncodedMatchEvent deleteMatch(@DestinationVariable ObjectId matchId) {
+        matchCommandService.execute(matchId, () -> matchService.deleteMatch(matchId));
+        return matchEventEncoderService.getOrEncode(new X01MatchEvent.X01DeleteMatchEvent(matchId));
     }
 
     @MessageMapping(WebsocketDestinations.X01_RESET_MATCH)
-    public X01MatchEvent.X01ResetMatchEvent resetMatch(@DestinationVariable ObjectId matchId) {
-        X01Match resetMatch = matchService.resetMatch(matchId);
-        return new X01MatchEvent.X01ResetMatchEvent(resetMatch);
+    public X01EncodedMatchEvent resetMatch(@DestinationVariable ObjectId matchId) {
+        X01Match resetMatch = matchCommandService.execute(matchId, () -> matchService.resetMatch(matchId));
+        return matchEventEncoderService.getOrEncode(new X01MatchEvent.X01ResetMatchEvent(resetMatch));
     }
 
     @MessageMapping(WebsocketDestinations.X01_REPROCESS_MATCH)
-    public X01MatchEvent.X01ProcessMatchEvent reprocessMatch(@DestinationVariable ObjectId matchId) {
-        X01Match reProcessedMatch = matchService.reprocessMatch(matchId);
-        return new X01MatchEvent.X01ProcessMatchEvent(reProcessedMatch);
+    public X01EncodedMatchEvent reprocessMatch(@DestinationVariable ObjectId matchId) {
+        X01Match reProcessedMatch = matchCommandService.execute(matchId, () -> matchService.reprocessMatch(matchId));
+        return matchEventEncoderService.getOrEncode(new X01MatchEvent.X01ProcessMatchEvent(reProcessedMatch));
     }
 }
\ No newline at end of file
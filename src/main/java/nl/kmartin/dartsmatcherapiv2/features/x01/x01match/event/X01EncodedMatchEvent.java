@@ -0,0 +1,20 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event;
+
+import org.bson.types.ObjectId;
+
+/**
+ * A {@link X01MatchEvent} that is already serialized. The same instance is sent to every destination the event is
+ * sent to, so the payload must not be modified.
+ *
+ * @param matchId          the id of the match
+ * @param broadcastVersion the broadcast version of the match after the event, null when the match is deleted
+ * @param eventType        the type of the event
+ * @param encoding         the wire format of the payload
+ * @param payload          the encoded event
+ */
+public record X01EncodedMatchEvent(ObjectId matchId,
+                                   Integer broadcastVersion,
+                                   X01MatchEventType eventType,
+                                   X01MatchEventEncoding encoding,
+                                   byte[] payload) {
+}
@@ -0,0 +1,41 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event;
+
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.util.MimeType;
+
+/**
+ * Writes the payload of a {@link X01EncodedMatchEvent} as is, with the content type of its encoding. This prevents
+ * the events from being serialized again for every destination they are sent to.
+ */
+public class X01EncodedMatchEventConverter implements MessageConverter {
+
+    @Override
+    public Object fromMessage(@NonNull Message<?> message, @NonNull Class<?> targetClass) {
+        // Encoded events are only sent, never received.
+        return null;
+    }
+
+    @Override
+    public Message<?> toMessage(@NonNull Object payload, MessageHeaders headers) {
+        if (!(payload instanceof X01EncodedMatchEvent encodedEvent)) return null;
+
+        X01MatchEventEncoding encoding = encodedEvent.encoding() != null ? encodedEvent.encoding() : X01MatchEventEncoding.JSON;
+        MimeType contentType = encoding.getContentType();
+
+        // Keep the (mutable) header accessor of the sender, e.g. the simp headers of a broadcast or reply.
+        MessageHeaderAccessor accessor = headers != null ? MessageHeaderAccessor.getAccessor(headers, MessageHeaderAccessor.class) : null;
+        if (accessor != null && accessor.isMutable()) {
+            accessor.setHeaderIfAbsent(MessageHeaders.CONTENT_TYPE, contentType);
+            return MessageBuilder.createMessage(encodedEvent.payload(), accessor.getMessageHeaders());
+        }
+
+        MessageBuilder<byte[]> builder = MessageBuilder.withPayload(encodedEvent.payload());
+        if (headers != null) builder.copyHeaders(headers);
+        return builder.setHeaderIfAbsent(MessageHeaders.CONTENT_TYPE, contentType).build();
+    }
+}
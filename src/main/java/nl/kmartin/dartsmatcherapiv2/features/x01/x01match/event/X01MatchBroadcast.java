@@ -0,0 +1,13 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event;
+
+/**
+ * A {@link X01MatchEvent} that is broadcast to the subscribers of a match. The event is encoded from a state of the
+ * match that is no longer modified (when it is published, or from the committed match when it is sent), so later
+ * modifications of the match don't affect the broadcast.
+ *
+ * @param event       the json encoded event
+ * @param binaryEvent the cbor encoded event, null when binary encoding is disabled
+ * @param publishedAt the {@link System#nanoTime()} at which the event was published
+ */
+public record X01MatchBroadcast(X01EncodedMatchEvent event, X01EncodedMatchEvent binaryEvent, long publishedAt) {
+}
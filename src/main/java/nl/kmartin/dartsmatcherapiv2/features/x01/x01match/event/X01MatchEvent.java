@@ -3,6 +3,7 @@ package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchDelta;
 import org.bson.types.ObjectId;
 
 public sealed interface X01MatchEvent {
@@ -12,6 +13,9 @@ public sealed interface X01MatchEvent {
     @JsonIgnore
     ObjectId getMatchId();
 
+    @JsonIgnore
+    Integer getBroadcastVersion();
+
     record X01ProcessMatchEvent(X01Match payload) implements X01MatchEvent {
         @Override
         public X01MatchEventType eventType() {
@@ -22,6 +26,11 @@ public sealed interface X01MatchEvent {
         public ObjectId getMatchId() {
             return payload.getId();
         }
+
+        @Override
+        public Integer getBroadcastVersion() {
+            return payload.getBroadcastVersion();
+        }
     }
 
     record X01AddHumanTurnEvent(X01Match payload) implements X01MatchEvent {
@@ -34,6 +43,11 @@ public sealed interface X01MatchEvent {
         public ObjectId getMatchId() {
             return payload.getId();
         }
+
+        @Override
+        public Integer getBroadcastVersion() {
+            return payload.getBroadcastVersion();
+        }
     }
 
     record X01AddBotTurnEvent(X01Match payload) implements X01MatchEvent {
@@ -46,6 +60,45 @@ public sealed interface X01MatchEvent {
         public ObjectId getMatchId() {
             return payload.getId();
         }
+
+        @Override
+        public Integer getBroadcastVersion() {
+            return payload.getBroadcastVersion();
+        }
+    }
+
+    record X01AddTurnDeltaEvent(X01MatchDelta payload) implements X01MatchEvent {
+        @Override
+        public X01MatchEventType eventType() {
+            return X01MatchEventType.ADD_TURN_DELTA;
+        }
+
+        @Override
+        public ObjectId getMatchId() {
+            return payload.matchId();
+        }
+
+        @Override
+        public Integer getBroadcastVersion() {
+            return payload.broadcastVersion();
+        }
+    }
+
+    record X01AddTurnsEvent(X01Match payload) implements X01MatchEvent {
+        @Override
+        public X01MatchEventType eventType() {
+            return X01MatchEventType.ADD_TURNS;
+        }
+
+        @Override
+        public ObjectId getMatchId() {
+            return payload.getId();
+        }
+
+        @Override
+        public Integer getBroadcastVersion() {
+            return payload.getBroadcastVersion();
+        }
     }
 
     record X01EditTurnEvent(X01Match payload) implements X01MatchEvent {
@@ -58,6 +111,11 @@ public sealed interface X01MatchEvent {
         public ObjectId getMatchId() {
             return payload.getId();
         }
+
+        @Override
+        public Integer getBroadcastVersion() {
+            return payload.getBroadcastVersion();
+        }
     }
 
     record X01DeleteLastTurnEvent(X01Match payload) implements X01MatchEvent {
@@ -70,6 +128,11 @@ public sealed interface X01MatchEvent {
         public ObjectId getMatchId() {
             return payload.getId();
         }
+
+        @Override
+        public Integer getBroadcastVersion() {
+            return payload.getBroadcastVersion();
+        }
     }
 
     record X01DeleteMatchEvent(ObjectId payload) implements X01MatchEvent {
@@ -82,6 +145,11 @@ public sealed interface X01MatchEvent {
         public ObjectId getMatchId() {
             return payload;
         }
+
+        @Override
+        public Integer getBroadcastVersion() {
+            return null;
+        }
     }
 
     record X01ResetMatchEvent(X01Match payload) implements X01MatchEvent {
@@ -94,6 +162,11 @@ public sealed interface X01MatchEvent {
         public ObjectId getMatchId() {
             return payload.getId();
         }
+
+        @Override
+        public Integer getBroadcastVersion() {
+            return payload.getBroadcastVersion();
+        }
     }
 }
 
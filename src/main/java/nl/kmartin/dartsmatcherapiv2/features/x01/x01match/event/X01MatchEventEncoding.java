@@ -0,0 +1,52 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event;
+
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * The wire formats of match events. A subscriber requests the binary format with an "accept: application/cbor"
+ * header on its STOMP subscription, every other subscriber receives json.
+ * - JSON: the default format, sent as websocket text frames.
+ * - CBOR: the same structure in binary form. Object ids are written as hex strings like in json, because ids that
+ * are map keys (e.g. standings and round scores) can only be strings. It's sent with an application/octet-stream
+ * content type, the only content type that is sent as websocket binary frames.
+ */
+public enum X01MatchEventEncoding {
+    JSON(MimeTypeUtils.APPLICATION_JSON, ""),
+    CBOR(MimeTypeUtils.APPLICATION_OCTET_STREAM, "/cbor");
+
+    public static final String ACCEPT_HEADER = "accept";
+    public static final MimeType CBOR_MIME_TYPE = new MimeType("application", "cbor");
+
+    private final MimeType contentType;
+    private final String destinationSuffix;
+
+    X01MatchEventEncoding(MimeType contentType, String destinationSuffix) {
+        this.contentType = contentType;
+        this.destinationSuffix = destinationSuffix;
+    }
+
+    public MimeType getContentType() {
+        return contentType;
+    }
+
+    public String getDestinationSuffix() {
+        return destinationSuffix;
+    }
+
+    /**
+     * Determines the encoding requested by the accept header of a subscription.
+     *
+     * @param accept String the accept header, a comma separated list of mime types
+     * @return {@link X01MatchEventEncoding} CBOR when the header accepts cbor, JSON otherwise
+     */
+    public static X01MatchEventEncoding fromAccept(String accept) {
+        if (accept == null || accept.isBlank()) return JSON;
+
+        try {
+            return MimeTypeUtils.parseMimeTypes(accept).stream().anyMatch(CBOR_MIME_TYPE::equalsTypeAndSubtype) ? CBOR : JSON;
+        } catch (IllegalArgumentException e) {
+            return JSON;
+        }
+    }
+}
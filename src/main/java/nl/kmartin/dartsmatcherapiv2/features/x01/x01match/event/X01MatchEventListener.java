@@ -15,8 +15,15 @@ public class X01MatchEventListener {
     }
 
     @EventListener
-    public void handleX01MatchEvent(X01MatchEvent event) {
-        String destination = WebsocketDestinations.getX01MatchBroadcastDestination((event.getMatchId()));
+    public void handleX01MatchBroadcast(X01MatchBroadcast broadcast) {
+        send(broadcast.event());
+        send(broadcast.binaryEvent());
+    }
+
+    private void send(X01EncodedMatchEvent event) {
+        if (event == null) return;
+
+        String destination = WebsocketDestinations.getX01MatchBroadcastDestination(event.matchId(), event.encoding());
         messagingTemplate.convertAndSend(destination, event);
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,8 @@ public enum X01MatchEventType {
     PROCESS_MATCH,
     ADD_HUMAN_TURN,
     ADD_BOT_TURN,
+    ADD_TURN_DELTA,
+    ADD_TURNS,
     EDIT_TURN,
     DELETE_LAST_TURN,
     DELETE_MATCH,
@@ -0,0 +1,21 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchVersion;
+import org.bson.types.ObjectId;
+
+import java.util.Optional;
+
+public interface IX01MatchCacheService {
+    Optional<X01Match> get(ObjectId matchId);
+
+    Optional<X01Match> getCopy(ObjectId matchId);
+
+    Optional<X01MatchVersion> getVersion(ObjectId matchId);
+
+    boolean contains(ObjectId matchId);
+
+    void put(X01Match match);
+
+    void evict(ObjectId matchId);
+}
@@ -0,0 +1,9 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import com.mongodb.client.model.changestream.OperationType;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+public interface IX01MatchChangeStreamService {
+    void handleChange(OperationType operationType, ObjectId matchId, Document document);
+}
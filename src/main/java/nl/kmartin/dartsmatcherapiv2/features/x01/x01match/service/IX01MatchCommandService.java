@@ -0,0 +1,11 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import org.bson.types.ObjectId;
+
+import java.util.function.Supplier;
+
+public interface IX01MatchCommandService {
+    <T> T execute(ObjectId matchId, Supplier<T> command);
+
+    void execute(ObjectId matchId, Runnable command);
+}
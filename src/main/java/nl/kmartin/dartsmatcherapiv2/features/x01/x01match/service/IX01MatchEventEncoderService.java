@@ -0,0 +1,17 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01EncodedMatchEvent;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEvent;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventEncoding;
+
+public interface IX01MatchEventEncoderService {
+    X01EncodedMatchEvent encode(X01MatchEvent event);
+
+    X01EncodedMatchEvent encode(X01MatchEvent event, X01MatchEventEncoding encoding);
+
+    X01EncodedMatchEvent getOrEncode(X01MatchEvent event);
+
+    X01EncodedMatchEvent getOrEncode(X01MatchEvent event, X01MatchEventEncoding encoding);
+
+    void put(X01EncodedMatchEvent encodedEvent);
+}
@@ -0,0 +1,23 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventType;
+
+import java.util.function.Supplier;
+
+public interface IX01MatchMetricsService {
+    <T> T recordPhase(X01MatchPhase phase, X01MatchEventType eventType, Supplier<T> supplier);
+
+    void recordPhase(X01MatchPhase phase, X01MatchEventType eventType, Runnable runnable);
+
+    void recordLoad(boolean cached, long durationNanos);
+
+    void recordSaveConflict(X01MatchEventType eventType);
+
+    void recordCommandWait(long durationNanos);
+
+    <T> T recordDartBotTurn(Supplier<T> supplier);
+
+    void recordDartBotTurns(int dartBotTurns);
+
+    void recordBroadcast(X01MatchEventType eventType, long latencyNanos);
+}
@@ -0,0 +1,11 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01TurnDelta;
+import org.springframework.data.mongodb.core.query.Update;
+
+public interface IX01MatchPartialUpdateService {
+    void saveTurn(X01Match match, X01TurnDelta turnDelta);
+
+    Update createTurnUpdate(X01Match match, X01TurnDelta turnDelta);
+}
@@ -1,8 +1,13 @@
 package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
 
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEvent;
+import org.bson.types.ObjectId;
 
 
 public interface IX01MatchPublishService {
     void publish(X01MatchEvent event);
+
+    boolean isBroadcast(ObjectId matchId, Integer broadcastVersion);
+
+    X01MatchPublishMetrics getMetrics();
 }
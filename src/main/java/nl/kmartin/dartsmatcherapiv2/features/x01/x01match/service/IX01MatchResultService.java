@@ -1,6 +1,7 @@
 package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
 
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01TurnDelta;
 import org.bson.types.ObjectId;
 
 import java.util.List;
@@ -9,6 +10,8 @@ import java.util.TreeMap;
 public interface IX01MatchResultService {
     void updateMatchResult(X01Match match);
 
+    void updateMatchResult(X01Match match, X01TurnDelta turnDelta);
+
     void updateSetResults(X01Match match);
 
     List<ObjectId> getMatchWinners(X01Match match);
@@ -0,0 +1,8 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchSearch;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchSummaryPage;
+
+public interface IX01MatchSearchService {
+    X01MatchSummaryPage searchMatches(X01MatchSearch search);
+}
@@ -6,6 +6,7 @@ import nl.kmartin.dartsmatcherapiv2.exceptionhandler.exception.ResourceNotFoundE
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01EditTurn;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Turn;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01TurnBatch;
 import org.bson.types.ObjectId;
 
 import java.util.List;
@@ -21,6 +22,8 @@ public interface IX01MatchService {
 
     X01Match addTurn(@NotNull ObjectId matchId, @NotNull @Valid X01Turn turn);
 
+    X01Match addTurns(@NotNull ObjectId matchId, @NotNull @Valid X01TurnBatch turnBatch);
+
     X01Match editTurn(@NotNull ObjectId matchId, @NotNull @Valid X01EditTurn editTurn);
 
     X01Match deleteLastTurn(@NotNull ObjectId matchId);
@@ -0,0 +1,12 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchSummary;
+import org.bson.types.ObjectId;
+
+import java.util.List;
+
+public interface IX01MatchSummaryService {
+    X01MatchSummary getMatchSummary(ObjectId matchId);
+
+    List<X01MatchSummary> getMatchSummaries(List<ObjectId> matchIds);
+}
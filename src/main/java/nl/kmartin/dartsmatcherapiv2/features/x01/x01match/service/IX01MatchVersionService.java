@@ -0,0 +1,16 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import org.bson.types.ObjectId;
+
+import java.util.List;
+
+public interface IX01MatchVersionService {
+    String getMatchETag(ObjectId matchId);
+
+    String getMatchesETag(List<ObjectId> matchIds);
+
+    String createMatchETag(X01Match match);
+
+    String createMatchesETag(List<X01Match> matches);
+}
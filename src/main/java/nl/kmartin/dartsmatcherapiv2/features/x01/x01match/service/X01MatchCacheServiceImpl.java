@@ -0,0 +1,235 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchStatus;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchVersion;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded write-through cache of in-play matches, so reading a live match doesn't require a database round trip.
+ *
+ * A cached match is a snapshot that is shared by all readers, so it must never be modified. A match that is going to
+ * be modified is read as an independent copy, so modifications never leak into the cache before they are saved.
+ * A match written inside a transaction is cached once the transaction has committed, as the match instance itself: the
+ * match of a committed command is no longer modified, so it doesn't have to be converted and the intermediate saves
+ * of a command (e.g. the bot turns) aren't cached at all. A match written outside a transaction is cached as a copy.
+ * Evictions made inside a transaction are (also) applied after the transaction has committed. Older versions never
+ * replace newer ones, concluded matches are not cached and the least recently used match is evicted when the cache is
+ * full.
+ */
+@Service
+public class X01MatchCacheServiceImpl implements IX01MatchCacheService {
+
+    private final MongoConverter mongoConverter;
+    private final Map<ObjectId, X01Match> cache;
+
+    public X01MatchCacheServiceImpl(MongoConverter mongoConverter,
+                                    @Value("${darts-matcher.x01.match-cache.max-size:100}") int maxSize) {
+        this.mongoConverter = mongoConverter;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ObjectId, X01Match> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Retrieves the snapshot of a cached match. The snapshot is shared by all readers and must not be modified.
+     *
+     * @param matchId {@link ObjectId} the id of the match
+     * @return {@link Optional<X01Match>} the cached match, empty when the match isn't cached
+     */
+    @Override
+    public Optional<X01Match> get(ObjectId matchId) {
+        if (matchId == null) return Optional.empty();
+
+        synchronized (cache) {
+            return Optional.ofNullable(cache.get(matchId));
+        }
+    }
+
+    /**
+     * Retrieves an independent copy of a cached match, to be modified.
+     *
+     * @param matchId {@link ObjectId} the id of the match
+     * @return {@link Optional<X01Match>} a copy of the cached match, empty when the match isn't cached
+     */
+    @Override
+    public Optional<X01Match> getCopy(ObjectId matchId) {
+        // Copy outside the lock, the cached match itself is never modified.
+        return get(matchId).map(this::copy);
+    }
+
+    /**
+     * Retrieves the versions of a cached match.
+     *
+     * @param matchId {@link ObjectId} the id of the match
+     * @return {@link Optional<X01MatchVersion>} the versions of the cached match, empty when the match isn't cached
+     */
+    @Override
+    public Optional<X01MatchVersion> getVersion(ObjectId matchId) {
+        return get(matchId).map(match -> new X01MatchVersion(matchId, match.getVersion(), match.getBroadcastVersion()));
+    }
+
+    /**
+     * Determines whether a match is cached.
+     *
+     * @param matchId {@link ObjectId} the id of the match
+     * @return boolean true if the match is cached
+     */
+    @Override
+    public boolean contains(ObjectId matchId) {
+        if (matchId == null) return false;
+
+        synchronized (cache) {
+            return cache.containsKey(matchId);
+        }
+    }
+
+    /**
+     * Caches a match. When called inside a transaction, the match is only cached once the transaction commits (in
+     * the state it is committed in), a rolled back transaction leaves the cache untouched. Outside a transaction a
+     * copy of the match is cached right away.
+     *
+     * @param match {@link X01Match} the (persisted) match to be cached
+     */
+    @Override
+    public void put(X01Match match) {
+        if (match == null || match.getId() == null) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            getPendingMatches().put(match.getId(), match);
+        } else if (isLive(match)) {
+            store(match.getId(), copy(match));
+        } else {
+            remove(match.getId());
+        }
+    }
+
+    /**
+     * Removes a match from the cache. When called inside a transaction, the match is removed again once the
+     * transaction commits, so a reader that cached the match before the commit can't keep it cached.
+     *
+     * @param matchId {@link ObjectId} the id of the match
+     */
+    @Override
+    public void evict(ObjectId matchId) {
+        if (matchId == null) return;
+
+        remove(matchId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A match cached earlier in the transaction isn't cached anymore.
+            Object pendingMatches = TransactionSynchronizationManager.getResource(this);
+            if (pendingMatches instanceof Map<?, ?> matches) matches.remove(matchId);
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(matchId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Retrieves the matches that are cached when the current transaction commits, registering the synchronization
+     * that caches them on first use.
+     *
+     * @return {@link Map} the matches to be cached by id
+     */
+    @SuppressWarnings("unchecked")
+    private Map<ObjectId, X01Match> getPendingMatches() {
+        Map<ObjectId, X01Match> pendingMatches = (Map<ObjectId, X01Match>) TransactionSynchronizationManager.getResource(this);
+        if (pendingMatches != null) return pendingMatches;
+
+        Map<ObjectId, X01Match> newPendingMatches = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, newPendingMatches);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                newPendingMatches.forEach((matchId, match) -> {
+                    if (isLive(match)) store(matchId, match);
+                    else remove(matchId);
+                });
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(X01MatchCacheServiceImpl.this);
+            }
+        });
+        return newPendingMatches;
+    }
+
+    /**
+     * Removes a match from the cache.
+     *
+     * @param matchId {@link ObjectId} the id of the match
+     */
+    private void remove(ObjectId matchId) {
+        synchronized (cache) {
+            cache.remove(matchId);
+        }
+    }
+
+    /**
+     * Stores the snapshot of a match unless a newer version is already cached.
+     *
+     * @param matchId {@link ObjectId} the id of the match
+     * @param match   {@link X01Match} the snapshot of the match, which is no longer modified
+     */
+    private void store(ObjectId matchId, X01Match match) {
+        synchronized (cache) {
+            // Never replace a newer version with an older one.
+            X01Match current = cache.get(matchId);
+            if (current != null && isNewer(current.getVersion(), match.getVersion())) return;
+
+            cache.put(matchId, match);
+        }
+    }
+
+    /**
+     * Copies a match by converting it into its persisted document form and reading it back.
+     *
+     * @param match {@link X01Match} the match to be copied
+     * @return {@link X01Match} the independent copy
+     */
+    private X01Match copy(X01Match match) {
+        Document document = new Document();
+        mongoConverter.write(match, document);
+        return mongoConverter.read(X01Match.class, document);
+    }
+
+    /**
+     * Determines whether a match is live. Concluded matches are no longer live, so they don't need to be cached.
+     *
+     * @param match {@link X01Match} the match
+     * @return boolean true if the match isn't concluded
+     */
+    private boolean isLive(X01Match match) {
+        return match.getMatchStatus() != MatchStatus.CONCLUDED;
+    }
+
+    /**
+     * Determines whether version a is newer than version b. A missing version is considered the oldest.
+     *
+     * @param a Integer the version to compare
+     * @param b Integer the version to compare against
+     * @return boolean true if version a is newer than version b
+     */
+    private boolean isNewer(Integer a, Integer b) {
+        if (a == null) return false;
+        return b == null || a > b;
+    }
+}
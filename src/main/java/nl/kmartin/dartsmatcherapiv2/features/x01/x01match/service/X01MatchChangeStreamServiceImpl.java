@@ -0,0 +1,167 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Broadcasts the changes other nodes make to matches, so subscribers of a match receive every change regardless of
+ * the node they are connected to.
+ *
+ * The service listens to the change stream of the matches collection (supported by the replica set that is required
+ * for transactions). A change is published as the full match (or as a deleted match) unless its broadcast version
+ * was already broadcast by this node, changes made by this node are therefore still broadcast as the event that made
+ * them. Cached copies of changed matches are refreshed, so this node never serves a match that was changed elsewhere.
+ *
+ * The change stream doesn't broadcast when the websocket broker relay is enabled, because the relay already delivers
+ * the broadcasts of every node to all subscribers. Publishing the changes as well would send every change once more
+ * per other node, so with the relay the change stream only keeps the match cache up to date.
+ */
+@Service
+public class X01MatchChangeStreamServiceImpl implements IX01MatchChangeStreamService, SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(X01MatchChangeStreamServiceImpl.class);
+
+    private static final List<String> OPERATION_TYPES = List.of(
+            OperationType.INSERT.getValue(),
+            OperationType.UPDATE.getValue(),
+            OperationType.REPLACE.getValue(),
+            OperationType.DELETE.getValue()
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final IX01MatchPublishService matchPublishService;
+    private final IX01MatchCacheService matchCacheService;
+    private final boolean enabled;
+    private final boolean publishChanges;
+
+    private MessageListenerContainer listenerContainer;
+
+    public X01MatchChangeStreamServiceImpl(MongoTemplate mongoTemplate,
+                                           IX01MatchPublishService matchPublishService,
+                                           IX01MatchCacheService matchCacheService,
+                                           @Value("${darts-matcher.x01.match-change-stream.enabled:false}") boolean enabled,
+                                           @Value("${darts-matcher.websocket.broker-relay.enabled:false}") boolean brokerRelayEnabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.matchPublishService = matchPublishService;
+        this.matchCacheService = matchCacheService;
+        this.enabled = enabled;
+        this.publishChanges = !brokerRelayEnabled;
+    }
+
+    /**
+     * Handles a change of the matches collection by refreshing the cached match and publishing the change when it
+     * wasn't broadcast yet (and the broker relay isn't broadcasting it).
+     *
+     * @param operationType {@link OperationType} the type of the change
+     * @param matchId       {@link ObjectId} the id of the changed match
+     * @param document      {@link Document} the match after the change, null when the match no longer exists
+     */
+    @Override
+    public void handleChange(OperationType operationType, ObjectId matchId, Document document) {
+        if (operationType == null || matchId == null) return;
+
+        // A deleted match is published without broadcast version.
+        if (operationType == OperationType.DELETE) {
+            matchCacheService.evict(matchId);
+            if (publishChanges && !matchPublishService.isBroadcast(matchId, null)) {
+                matchPublishService.publish(new X01MatchEvent.X01DeleteMatchEvent(matchId));
+            }
+            return;
+        }
+
+        // The match was deleted before the change could be looked up, the delete follows in the change stream.
+        if (document == null) return;
+
+        // Skip changes that were already broadcast before converting the match.
+        Integer broadcastVersion = document.getInteger("broadcastVersion", 0);
+        if (matchPublishService.isBroadcast(matchId, broadcastVersion)) return;
+
+        // Without publishing only a cached match needs the change.
+        boolean cached = matchCacheService.contains(matchId);
+        if (!publishChanges && !cached) return;
+
+        X01Match match = mongoTemplate.getConverter().read(X01Match.class, document);
+
+        // Refresh the cached match, the cache never replaces a newer version.
+        if (cached) matchCacheService.put(match);
+
+        if (publishChanges) matchPublishService.publish(new X01MatchEvent.X01ProcessMatchEvent(match));
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || isRunning()) return;
+
+        // Listen to the changes of the matches collection including the full match after an update.
+        ChangeStreamRequest<Document> request = ChangeStreamRequest.builder(this::onMessage)
+                .collection(mongoTemplate.getCollectionName(X01Match.class))
+                .filter(Aggregation.newAggregation(Aggregation.match(Criteria.where("operationType").in(OPERATION_TYPES))))
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+                .build();
+
+        listenerContainer = new DefaultMessageListenerContainer(mongoTemplate);
+        listenerContainer.register(request, Document.class);
+        listenerContainer.start();
+        log.info("Listening to the change stream of the {} collection{}.", mongoTemplate.getCollectionName(X01Match.class),
+                publishChanges ? "" : ", changes are not broadcast because the broker relay is enabled");
+    }
+
+    @Override
+    public void stop() {
+        if (listenerContainer != null) listenerContainer.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return listenerContainer != null && listenerContainer.isRunning();
+    }
+
+    /**
+     * Handles a message of the change stream, a failing change is logged so the next changes are still handled.
+     *
+     * @param message {@link Message} the change stream message
+     */
+    private void onMessage(Message<ChangeStreamDocument<Document>, Document> message) {
+        ChangeStreamDocument<Document> change = message.getRaw();
+        if (change == null) return;
+
+        try {
+            handleChange(change.getOperationType(), getMatchId(change.getDocumentKey()), message.getBody());
+        } catch (RuntimeException e) {
+            log.error("Failed to handle the {} change of match {}.", change.getOperationType(), change.getDocumentKey(), e);
+        }
+    }
+
+    /**
+     * Retrieves the match id of a change.
+     *
+     * @param documentKey {@link BsonDocument} the key of the changed document
+     * @return {@link ObjectId} the id of the match, null when the key isn't an object id
+     */
+    private ObjectId getMatchId(BsonDocument documentKey) {
+        if (documentKey == null) return null;
+
+        BsonValue id = documentKey.get("_id");
+        return id != null && id.isObjectId() ? id.asObjectId().getValue() : null;
+    }
+}
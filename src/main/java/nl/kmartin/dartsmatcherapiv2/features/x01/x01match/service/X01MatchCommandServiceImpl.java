@@ -0,0 +1,99 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes the commands (operations that modify a match) per match. Commands for the same match are executed one
+ * at a time in the order they were submitted, so concurrent clients scoring the same match no longer race each other
+ * into an optimistic locking conflict. Commands for different matches run in parallel without a global limit.
+ *
+ * Each match has a fair lock that a command holds while it runs on the thread that submitted it, so a command
+ * doesn't occupy a second thread. A command that is submitted from within a command of the same match re-enters the
+ * lock. The lock is removed once no command of the match is running or waiting, so idle matches don't hold any
+ * resources.
+ */
+@Service
+public class X01MatchCommandServiceImpl implements IX01MatchCommandService {
+
+    private final ConcurrentMap<ObjectId, MatchLock> matchLocks = new ConcurrentHashMap<>();
+    private final IX01MatchMetricsService matchMetricsService;
+
+    public X01MatchCommandServiceImpl(IX01MatchMetricsService matchMetricsService) {
+        this.matchMetricsService = matchMetricsService;
+    }
+
+    /**
+     * Executes a command on the current thread after all previously submitted commands of the same match have
+     * completed. A command that is submitted from within a command of the same match is executed directly.
+     *
+     * @param matchId {@link ObjectId} the id of the match the command modifies
+     * @param command {@link Supplier} the command to be executed
+     * @return T the result of the command
+     */
+    @Override
+    public <T> T execute(ObjectId matchId, Supplier<T> command) {
+        Objects.requireNonNull(matchId, "matchId");
+
+        long submittedAt = System.nanoTime();
+        MatchLock matchLock = acquire(matchId);
+        boolean nested = matchLock.lock.isHeldByCurrentThread();
+        matchLock.lock.lock();
+        try {
+            if (!nested) matchMetricsService.recordCommandWait(System.nanoTime() - submittedAt);
+            return command.get();
+        } finally {
+            matchLock.lock.unlock();
+            release(matchId);
+        }
+    }
+
+    /**
+     * Executes a command without a result after all previously submitted commands of the same match have completed.
+     *
+     * @param matchId {@link ObjectId} the id of the match the command modifies
+     * @param command {@link Runnable} the command to be executed
+     */
+    @Override
+    public void execute(ObjectId matchId, Runnable command) {
+        execute(matchId, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /**
+     * Retrieves (or creates) the lock of a match and registers the current command as one of its users.
+     *
+     * @param matchId {@link ObjectId} the id of the match
+     * @return {@link MatchLock} the lock of the match
+     */
+    private MatchLock acquire(ObjectId matchId) {
+        return matchLocks.compute(matchId, (id, matchLock) -> {
+            MatchLock acquired = matchLock != null ? matchLock : new MatchLock();
+            acquired.users++;
+            return acquired;
+        });
+    }
+
+    /**
+     * Unregisters the current command from the lock of a match, removing the lock when it has no users left.
+     *
+     * @param matchId {@link ObjectId} the id of the match
+     */
+    private void release(ObjectId matchId) {
+        matchLocks.computeIfPresent(matchId, (id, matchLock) -> --matchLock.users > 0 ? matchLock : null);
+    }
+
+    // The users are only modified while the map entry of the match is being computed.
+    private static final class MatchLock {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int users;
+    }
+}
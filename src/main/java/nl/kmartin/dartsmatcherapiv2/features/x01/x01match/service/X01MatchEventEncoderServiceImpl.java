@@ -0,0 +1,136 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01EncodedMatchEvent;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEvent;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventEncoding;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventType;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes match events exactly once per wire format. Encoded events are cached by match, broadcast version, event type
+ * and encoding, so the topic broadcast, the reply to the client that made the change and late subscribers all reuse the
+ * same bytes. The cbor encoding uses the same object mapper configuration (and serializers) as json. Only encodings of
+ * committed match states may be cached, a broadcast version that was rolled back could otherwise be reused for a
+ * different state. The least recently used encoding is evicted when the cache is full.
+ */
+@Service
+public class X01MatchEventEncoderServiceImpl implements IX01MatchEventEncoderService {
+
+    private final Map<X01MatchEventEncoding, ObjectMapper> objectMappers = new EnumMap<>(X01MatchEventEncoding.class);
+    private final Map<EncodedEventKey, X01EncodedMatchEvent> cache;
+
+    public X01MatchEventEncoderServiceImpl(ObjectMapper objectMapper,
+                                           @Value("${darts-matcher.x01.match-event-cache.max-size:500}") int maxSize) {
+        this.objectMappers.put(X01MatchEventEncoding.JSON, objectMapper);
+        this.objectMappers.put(X01MatchEventEncoding.CBOR, objectMapper.copyWith(new CBORFactory()));
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<EncodedEventKey, X01EncodedMatchEvent> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Encodes an event to json without using the cache.
+     *
+     * @param event {@link X01MatchEvent} the event to be encoded
+     * @return {@link X01EncodedMatchEvent} the encoded event
+     */
+    @Override
+    public X01EncodedMatchEvent encode(X01MatchEvent event) {
+        return encode(event, X01MatchEventEncoding.JSON);
+    }
+
+    /**
+     * Encodes an event to the given wire format without using the cache.
+     *
+     * @param event    {@link X01MatchEvent} the event to be encoded
+     * @param encoding {@link X01MatchEventEncoding} the wire format of the encoded event
+     * @return {@link X01EncodedMatchEvent} the encoded event
+     */
+    @Override
+    public X01EncodedMatchEvent encode(X01MatchEvent event, X01MatchEventEncoding encoding) {
+        try {
+            byte[] payload = objectMappers.get(encoding).writeValueAsBytes(event);
+            return new X01EncodedMatchEvent(event.getMatchId(), event.getBroadcastVersion(), event.eventType(), encoding, payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode " + event.eventType() + " event of match " + event.getMatchId() + " to " + encoding, e);
+        }
+    }
+
+    /**
+     * Retrieves the cached json encoding of an event, or encodes and caches the event when it isn't cached. The event
+     * must describe a committed match state.
+     *
+     * @param event {@link X01MatchEvent} the event to be encoded
+     * @return {@link X01EncodedMatchEvent} the encoded event
+     */
+    @Override
+    public X01EncodedMatchEvent getOrEncode(X01MatchEvent event) {
+        return getOrEncode(event, X01MatchEventEncoding.JSON);
+    }
+
+    /**
+     * Retrieves the cached encoding of an event in the given wire format, or encodes and caches the event when it
+     * isn't cached. The event must describe a committed match state.
+     *
+     * @param event    {@link X01MatchEvent} the event to be encoded
+     * @param encoding {@link X01MatchEventEncoding} the wire format of the encoded event
+     * @return {@link X01EncodedMatchEvent} the encoded event
+     */
+    @Override
+    public X01EncodedMatchEvent getOrEncode(X01MatchEvent event, X01MatchEventEncoding encoding) {
+        EncodedEventKey key = createKey(event.getMatchId(), event.getBroadcastVersion(), event.eventType(), encoding);
+        if (key == null) return encode(event, encoding);
+
+        X01EncodedMatchEvent encodedEvent;
+        synchronized (cache) {
+            encodedEvent = cache.get(key);
+        }
+        if (encodedEvent != null) return encodedEvent;
+
+        // Encode outside the lock, encoding the same event twice concurrently is harmless.
+        encodedEvent = encode(event, encoding);
+        put(encodedEvent);
+        return encodedEvent;
+    }
+
+    /**
+     * Caches an encoded event of a committed match state. Events without a broadcast version (deleted matches) are
+     * not cached.
+     *
+     * @param encodedEvent {@link X01EncodedMatchEvent} the encoded event
+     */
+    @Override
+    public void put(X01EncodedMatchEvent encodedEvent) {
+        if (encodedEvent == null) return;
+
+        EncodedEventKey key = createKey(encodedEvent.matchId(), encodedEvent.broadcastVersion(), encodedEvent.eventType(),
+                encodedEvent.encoding());
+        if (key == null) return;
+
+        synchronized (cache) {
+            cache.put(key, encodedEvent);
+        }
+    }
+
+    private EncodedEventKey createKey(ObjectId matchId, Integer broadcastVersion, X01MatchEventType eventType,
+                                      X01MatchEventEncoding encoding) {
+        if (matchId == null || broadcastVersion == null) return null;
+        return new EncodedEventKey(matchId, broadcastVersion, eventType, encoding);
+    }
+
+    private record EncodedEventKey(ObjectId matchId, int broadcastVersion, X01MatchEventType eventType,
+                                   X01MatchEventEncoding encoding) {
+    }
+}
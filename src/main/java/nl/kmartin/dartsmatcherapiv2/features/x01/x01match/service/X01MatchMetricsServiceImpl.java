@@ -0,0 +1,158 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventType;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records the timers and counters of the match operations in the meter registry (exposed for scraping on the
+ * prometheus actuator endpoint). The meters are tagged by the phase of the operation and the match event type of the
+ * operation, so the time spent in a turn can be split into loading, updating, saving and publishing the match. The
+ * meters are registered once per tag combination and reused, so recording doesn't look up the meter every time.
+ */
+@Service
+public class X01MatchMetricsServiceImpl implements IX01MatchMetricsService {
+    private static final String EVENT_TAG = "event";
+
+    private final MeterRegistry meterRegistry;
+    private final Timer commandWaitTimer;
+    private final Timer dartBotTurnTimer;
+    private final DistributionSummary dartBotTurnsSummary;
+    private final Timer cacheLoadTimer;
+    private final Timer databaseLoadTimer;
+    private final ConcurrentMap<PhaseKey, Timer> phaseTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> saveConflictCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> broadcastTimers = new ConcurrentHashMap<>();
+
+    public X01MatchMetricsServiceImpl(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.commandWaitTimer = Timer.builder("x01.match.command.wait")
+                .description("Time a match command waits for the previous commands of the match")
+                .register(meterRegistry);
+        this.dartBotTurnTimer = Timer.builder("x01.dartbot.turn")
+                .description("Time to generate a dart bot turn")
+                .register(meterRegistry);
+        this.dartBotTurnsSummary = DistributionSummary.builder("x01.dartbot.turns")
+                .description("Dart bot turns processed by a match operation that triggered bot turns")
+                .register(meterRegistry);
+        this.cacheLoadTimer = createLoadTimer("cache");
+        this.databaseLoadTimer = createLoadTimer("database");
+    }
+
+    /**
+     * Records the duration of a phase of a match operation.
+     *
+     * @param phase     {@link X01MatchPhase} the phase of the operation
+     * @param eventType {@link X01MatchEventType} the type of the operation
+     * @param supplier  {@link Supplier} the work of the phase
+     * @return T the result of the phase
+     */
+    @Override
+    public <T> T recordPhase(X01MatchPhase phase, X01MatchEventType eventType, Supplier<T> supplier) {
+        Timer phaseTimer = phaseTimers.computeIfAbsent(new PhaseKey(phase, eventType), key -> Timer.builder("x01.match.phase")
+                .description("Time spent in a phase of a match operation")
+                .tag("phase", toTagValue(phase))
+                .tag(EVENT_TAG, toTagValue(eventType))
+                .register(meterRegistry));
+        return phaseTimer.record(supplier);
+    }
+
+    /**
+     * Records the duration of a phase of a match operation without a result.
+     *
+     * @param phase     {@link X01MatchPhase} the phase of the operation
+     * @param eventType {@link X01MatchEventType} the type of the operation
+     * @param runnable  {@link Runnable} the work of the phase
+     */
+    @Override
+    public void recordPhase(X01MatchPhase phase, X01MatchEventType eventType, Runnable runnable) {
+        recordPhase(phase, eventType, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * @param cached        boolean whether the match was loaded from the match cache
+     * @param durationNanos long the time it took to load the match
+     */
+    @Override
+    public void recordLoad(boolean cached, long durationNanos) {
+        (cached ? cacheLoadTimer : databaseLoadTimer).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param eventType {@link X01MatchEventType} the type of the operation whose save was rejected
+     */
+    @Override
+    public void recordSaveConflict(X01MatchEventType eventType) {
+        saveConflictCounters.computeIfAbsent(toTagValue(eventType), event -> Counter.builder("x01.match.save.conflicts")
+                .description("Match saves rejected because the match was modified concurrently")
+                .tag(EVENT_TAG, event)
+                .register(meterRegistry)
+        ).increment();
+    }
+
+    /**
+     * @param durationNanos long the time a command waited before it was executed
+     */
+    @Override
+    public void recordCommandWait(long durationNanos) {
+        commandWaitTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time it takes to generate a dart bot turn.
+     *
+     * @param supplier {@link Supplier} generates the turn
+     * @return T the generated turn
+     */
+    @Override
+    public <T> T recordDartBotTurn(Supplier<T> supplier) {
+        return dartBotTurnTimer.record(supplier);
+    }
+
+    /**
+     * @param dartBotTurns int the number of dart bot turns processed by a match operation
+     */
+    @Override
+    public void recordDartBotTurns(int dartBotTurns) {
+        dartBotTurnsSummary.record(dartBotTurns);
+    }
+
+    /**
+     * @param eventType    {@link X01MatchEventType} the type of the broadcast event
+     * @param latencyNanos long the time between publishing the event and handing it to the broker
+     */
+    @Override
+    public void recordBroadcast(X01MatchEventType eventType, long latencyNanos) {
+        broadcastTimers.computeIfAbsent(toTagValue(eventType), event -> Timer.builder("x01.match.broadcast.latency")
+                .description("Time between publishing a match event and handing it to the message broker")
+                .tag(EVENT_TAG, event)
+                .register(meterRegistry)
+        ).record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer createLoadTimer(String source) {
+        return Timer.builder("x01.match.load")
+                .description("Time to load a match")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private String toTagValue(Enum<?> value) {
+        return value != null ? value.name().toLowerCase(Locale.ROOT) : "none";
+    }
+
+    private record PhaseKey(X01MatchPhase phase, X01MatchEventType eventType) {
+    }
+}
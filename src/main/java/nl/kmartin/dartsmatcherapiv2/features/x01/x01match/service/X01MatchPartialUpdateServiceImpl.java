@@ -0,0 +1,147 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import com.mongodb.client.result.UpdateResult;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.*;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * Persists an added turn using targeted $set/$unset updates instead of rewriting the whole match document. Only the
+ * added round score, the result of its leg and set, the sets/legs/rounds created by the match progress and the
+ * calculated match fields (players, standings, progress, status and versions) are written.
+ */
+@Service
+public class X01MatchPartialUpdateServiceImpl implements IX01MatchPartialUpdateService {
+
+    private static final String VERSION_FIELD = "version";
+
+    private final MongoTemplate mongoTemplate;
+
+    public X01MatchPartialUpdateServiceImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Saves the changes made by an added turn to an (already persisted and updated) match. Uses the version of the
+     * match for optimistic locking, after saving the version of the match is incremented.
+     *
+     * @param match     {@link X01Match} the updated match
+     * @param turnDelta {@link X01TurnDelta} the location of the added turn
+     * @throws OptimisticLockingFailureException when the persisted match has a different version
+     */
+    @Override
+    public void saveTurn(X01Match match, X01TurnDelta turnDelta) {
+        if (match == null || match.getId() == null || match.getVersion() == null)
+            throw new IllegalArgumentException("Only a persisted match can be partially updated.");
+
+        // Only update the match if it hasn't been modified since it was retrieved.
+        Query query = Query.query(Criteria.where("_id").is(match.getId()).and(VERSION_FIELD).is(match.getVersion()));
+        Update update = createTurnUpdate(match, turnDelta);
+
+        UpdateResult updateResult = mongoTemplate.updateFirst(query, update, mongoTemplate.getCollectionName(X01Match.class));
+        if (updateResult.getMatchedCount() == 0) {
+            throw new OptimisticLockingFailureException("Cannot save match " + match.getId() + " with version " + match.getVersion() + ", the match has been modified or deleted.");
+        }
+
+        // Keep the version of the match in line with the persisted version.
+        match.setVersion(match.getVersion() + 1);
+    }
+
+    /**
+     * Creates the update containing the changes made by an added turn.
+     *
+     * @param match     {@link X01Match} the updated match
+     * @param turnDelta {@link X01TurnDelta} the location of the added turn
+     * @return {@link Update} the update to be applied to the persisted match
+     */
+    @Override
+    public Update createTurnUpdate(X01Match match, X01TurnDelta turnDelta) {
+        Update update = new Update();
+
+        // Step 1: The added round score and the result of its leg and set.
+        X01Set set = match.getSets().get(turnDelta.setNumber());
+        X01Leg leg = set != null ? set.getLegs().get(turnDelta.legNumber()) : null;
+        if (leg != null) {
+            String setPath = "sets." + turnDelta.setNumber();
+            String legPath = setPath + ".legs." + turnDelta.legNumber();
+            String scorePath = legPath + ".rounds." + turnDelta.roundNumber() + ".scores." + turnDelta.throwerId().toHexString();
+            X01LegRound round = leg.getRounds().get(turnDelta.roundNumber());
+
+            setOrUnset(update, scorePath, round != null ? round.getScores().get(turnDelta.throwerId()) : null);
+            setOrUnset(update, legPath + ".throwsFirst", leg.getThrowsFirst());
+            setOrUnset(update, legPath + ".winner", leg.getWinner());
+            setOrUnset(update, legPath + ".checkoutDartsUsed", leg.getCheckoutDartsUsed());
+            setOrUnset(update, setPath + ".throwsFirst", set.getThrowsFirst());
+            setOrUnset(update, setPath + ".result", set.getResult());
+        }
+
+        // Step 2: The set, leg or round that was created for the next turn.
+        addCreatedProgressEntry(update, match, turnDelta);
+
+        // Step 3: The calculated match fields.
+        setOrUnset(update, "players", match.getPlayers());
+        setOrUnset(update, "standings", match.getStandings());
+        setOrUnset(update, "matchProgress", match.getMatchProgress());
+        setOrUnset(update, "matchStatus", match.getMatchStatus());
+        setOrUnset(update, "endDate", match.getEndDate());
+        setOrUnset(update, "broadcastVersion", match.getBroadcastVersion());
+        update.inc(VERSION_FIELD, 1);
+
+        return update;
+    }
+
+    /**
+     * Adds the (new) set, leg or round the match progress points to when it differs from the location of the
+     * added turn. The whole entry is written because it didn't exist before the turn was added.
+     *
+     * @param update    {@link Update} the update the entry is added to
+     * @param match     {@link X01Match} the updated match
+     * @param turnDelta {@link X01TurnDelta} the location of the added turn
+     */
+    private void addCreatedProgressEntry(Update update, X01Match match, X01TurnDelta turnDelta) {
+        X01MatchProgress progress = match.getMatchProgress();
+        if (progress == null || progress.getCurrentSet() == null) return;
+
+        X01Set currentSet = match.getSets().get(progress.getCurrentSet());
+        if (currentSet == null) return;
+
+        // A new set was created.
+        if (progress.getCurrentSet() != turnDelta.setNumber()) {
+            setOrUnset(update, "sets." + progress.getCurrentSet(), currentSet);
+            return;
+        }
+
+        X01Leg currentLeg = progress.getCurrentLeg() != null ? currentSet.getLegs().get(progress.getCurrentLeg()) : null;
+        if (currentLeg == null) return;
+
+        // A new leg was created in the set of the turn.
+        String setPath = "sets." + turnDelta.setNumber();
+        if (progress.getCurrentLeg() != turnDelta.legNumber()) {
+            setOrUnset(update, setPath + ".legs." + progress.getCurrentLeg(), currentLeg);
+            return;
+        }
+
+        // A new round was created in the leg of the turn.
+        X01LegRound currentRound = progress.getCurrentRound() != null ? currentLeg.getRounds().get(progress.getCurrentRound()) : null;
+        if (currentRound != null && progress.getCurrentRound() != turnDelta.roundNumber()) {
+            setOrUnset(update, setPath + ".legs." + turnDelta.legNumber() + ".rounds." + progress.getCurrentRound(), currentRound);
+        }
+    }
+
+    /**
+     * Adds a $set of the value converted to its persisted form, or an $unset when the value is null (null fields are
+     * not persisted).
+     *
+     * @param update {@link Update} the update the operation is added to
+     * @param key    String the path of the field
+     * @param value  Object the new value of the field
+     */
+    private void setOrUnset(Update update, String key, Object value) {
+        if (value == null) update.unset(key);
+        else update.set(key, mongoTemplate.getConverter().convertToMongoType(value));
+    }
+}
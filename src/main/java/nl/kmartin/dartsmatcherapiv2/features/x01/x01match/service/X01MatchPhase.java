@@ -0,0 +1,10 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+/**
+ * The phases of saving a modified match, used to measure where the time of a match operation goes.
+ */
+public enum X01MatchPhase {
+    UPDATE,
+    SAVE,
+    PUBLISH
+}
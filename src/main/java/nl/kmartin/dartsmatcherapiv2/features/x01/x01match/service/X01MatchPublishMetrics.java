@@ -0,0 +1,19 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+/**
+ * A point-in-time view of the match event publication pipeline.
+ *
+ * @param pending            the number of events waiting to be broadcast
+ * @param published          the total number of broadcast events
+ * @param dropped            the total number of events dropped because the pipeline was full
+ * @param stale              the total number of events skipped because a newer broadcast version was already sent
+ * @param failed             the total number of events that failed to be broadcast
+ * @param maxLatencyNanos    the highest time between publishing and broadcasting an event
+ */
+public record X01MatchPublishMetrics(int pending,
+                                     long published,
+                                     long dropped,
+                                     long stale,
+                                     long failed,
+                                     long maxLatencyNanos) {
+}
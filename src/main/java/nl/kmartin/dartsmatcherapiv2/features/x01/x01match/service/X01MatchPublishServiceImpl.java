@@ -1,21 +1,378 @@
 package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
 
+import jakarta.annotation.PreDestroy;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01EncodedMatchEvent;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchBroadcast;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEvent;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventEncoding;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Publishes match events to the subscribers of a match without blocking the thread that modified the match.
+ *
+ * When a transaction is active the events are only handed off after the transaction has committed, so subscribers
+ * never receive changes that are rolled back. The match of a committed transaction is no longer modified, so the events
+ * carrying the full match are encoded from the committed match on the thread pool instead of the thread that modified
+ * it. Such an event is superseded by a later full match event of the same match in the same transaction (e.g. a human
+ * turn followed by a bot turn), only the last one is encoded and broadcast. The other events (delta events and
+ * deletions) are small and refer to parts of the match that later turns modify, so they are encoded right away. Outside
+ * a transaction every event is encoded right away, as the match can still be modified. Every event is serialized only
+ * once per wire format (the binary encoding only when it is enabled) and cached for reuse. The broadcasts are fanned out
+ * on a bounded thread pool, broadcasts of the same match are sent one at a time in the order they were published. A
+ * broadcast with a broadcast version that isn't newer than the last sent broadcast of the match is skipped, so the same
+ * version published by this node and by the change stream of another node is only sent once. When the number of
+ * pending broadcasts reaches the capacity, new broadcasts are dropped (subscribers detect the gap in broadcast versions
+ * and fetch the match).
+ */
 @Service
-public class X01MatchPublishServiceImpl implements IX01MatchPublishService{
+public class X01MatchPublishServiceImpl implements IX01MatchPublishService {
+    private static final Logger log = LoggerFactory.getLogger(X01MatchPublishServiceImpl.class);
+
+    // The maximum number of matches of which the last sent broadcast version is remembered.
+    private static final int MAX_SENT_VERSIONS = 10000;
+
+    // The broadcast version of a deleted match, nothing is broadcast for a match after it is deleted.
+    private static final int DELETED_VERSION = Integer.MAX_VALUE;
+
     private final ApplicationEventPublisher eventPublisher;
+    private final IX01MatchEventEncoderService matchEventEncoderService;
+    private final IX01MatchMetricsService matchMetricsService;
+    private final ThreadPoolTaskExecutor publishExecutor;
+    private final int queueCapacity;
+    private final boolean binaryEncodingEnabled;
+
+    // The queue of broadcasts per match, the result of a queue is the last broadcast version sent for the match.
+    private final ConcurrentMap<ObjectId, CompletableFuture<Integer>> broadcastQueues = new ConcurrentHashMap<>();
+
+    // The last sent broadcast version per match, also when the queue of the match has been removed.
+    private final Map<ObjectId, Integer> sentVersions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ObjectId, Integer> eldest) {
+            return size() > MAX_SENT_VERSIONS;
+        }
+    };
 
-    public X01MatchPublishServiceImpl(ApplicationEventPublisher eventPublisher) {
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong stale = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
 
+    public X01MatchPublishServiceImpl(ApplicationEventPublisher eventPublisher,
+                                      IX01MatchEventEncoderService matchEventEncoderService,
+                                      IX01MatchMetricsService matchMetricsService,
+                                      ThreadPoolTaskExecutorBuilder taskExecutorBuilder,
+                                      @Value("${darts-matcher.x01.match-publish.pool-size:2}") int poolSize,
+                                      @Value("${darts-matcher.x01.match-publish.queue-capacity:10000}") int queueCapacity,
+                                      @Value("${darts-matcher.websocket.binary-encoding.enabled:false}") boolean binaryEncodingEnabled) {
         this.eventPublisher = eventPublisher;
+        this.matchEventEncoderService = matchEventEncoderService;
+        this.matchMetricsService = matchMetricsService;
+        this.queueCapacity = queueCapacity;
+        this.binaryEncodingEnabled = binaryEncodingEnabled;
+        this.publishExecutor = taskExecutorBuilder
+                .corePoolSize(poolSize)
+                .maxPoolSize(poolSize)
+                .threadNamePrefix("x01MatchPublish-")
+                .build();
+        this.publishExecutor.initialize();
     }
 
+    /**
+     * Publishes a match event. The event is broadcast asynchronously after the current transaction (if any) has
+     * committed.
+     *
+     * @param event {@link X01MatchEvent} the event to be published
+     */
+    @Override
     public void publish(X01MatchEvent event) {
-            // publish the match event
-            eventPublisher.publishEvent(event);
+        if (event == null) return;
+
+        // Broadcast the event only once the modification is committed, the committed match is encoded when it is sent.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            getPendingBroadcasts().add(carriesMatch(event)
+                    ? new PendingBroadcast(event, null, null, System.nanoTime())
+                    : encodeNow(event));
+        } else {
+            // Encode the event, the match can still be modified before it is broadcast.
+            PendingBroadcast broadcast = encodeNow(event);
+            cache(broadcast);
+            enqueue(broadcast);
+        }
+    }
+
+    /**
+     * Determines whether a broadcast version of a match was already sent (or a newer one was).
+     *
+     * @param matchId          {@link ObjectId} the id of the match
+     * @param broadcastVersion Integer the broadcast version of the match, null for a deleted match
+     * @return boolean true if broadcasting the version would be skipped
+     */
+    @Override
+    public boolean isBroadcast(ObjectId matchId, Integer broadcastVersion) {
+        if (matchId == null) return false;
+
+        Integer sentVersion;
+        synchronized (sentVersions) {
+            sentVersion = sentVersions.get(matchId);
+        }
+        return isStale(broadcastVersion, sentVersion);
+    }
+
+    /**
+     * @return {@link X01MatchPublishMetrics} the current state of the publication pipeline
+     */
+    @Override
+    public X01MatchPublishMetrics getMetrics() {
+        return new X01MatchPublishMetrics(pending.get(), published.get(), dropped.get(), stale.get(), failed.get(),
+                maxLatencyNanos.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publishExecutor.shutdown();
+    }
+
+    /**
+     * Retrieves the broadcasts that are handed off when the current transaction commits, registering the
+     * synchronization that hands them off on first use.
+     *
+     * @return {@link List} the broadcasts published in the current transaction in order
+     */
+    @SuppressWarnings("unchecked")
+    private List<PendingBroadcast> getPendingBroadcasts() {
+        List<PendingBroadcast> pendingBroadcasts = (List<PendingBroadcast>) TransactionSynchronizationManager.getResource(this);
+        if (pendingBroadcasts != null) return pendingBroadcasts;
+
+        List<PendingBroadcast> newPendingBroadcasts = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, newPendingBroadcasts);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (PendingBroadcast broadcast : conflate(newPendingBroadcasts)) {
+                    cache(broadcast);
+                    enqueue(broadcast);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(X01MatchPublishServiceImpl.this);
+            }
+        });
+        return newPendingBroadcasts;
+    }
+
+    /**
+     * Removes the full match events that are superseded by a later full match event of the same match. Once
+     * committed, both events would be encoded from the same (committed) match.
+     *
+     * @param broadcasts {@link List} the broadcasts published in a transaction in order
+     * @return {@link List} the broadcasts to be sent in order
+     */
+    private List<PendingBroadcast> conflate(List<PendingBroadcast> broadcasts) {
+        List<PendingBroadcast> conflated = new ArrayList<>(broadcasts.size());
+        Set<ObjectId> supersededMatches = new HashSet<>();
+        for (int i = broadcasts.size() - 1; i >= 0; i--) {
+            PendingBroadcast broadcast = broadcasts.get(i);
+            if (broadcast.isEncoded() || supersededMatches.add(broadcast.matchId())) {
+                conflated.add(0, broadcast);
+            } else {
+                stale.incrementAndGet();
+            }
+        }
+        return conflated;
+    }
+
+    /**
+     * Encodes an event right away, as a snapshot of its current state.
+     *
+     * @param event {@link X01MatchEvent} the event to be encoded
+     * @return {@link PendingBroadcast} the encoded broadcast
+     */
+    private PendingBroadcast encodeNow(X01MatchEvent event) {
+        X01EncodedMatchEvent binaryEvent = binaryEncodingEnabled ? matchEventEncoderService.encode(event, X01MatchEventEncoding.CBOR) : null;
+        return new PendingBroadcast(event, matchEventEncoderService.encode(event), binaryEvent, System.nanoTime());
+    }
+
+    /**
+     * Caches the encoding of a committed broadcast for reuse, the encoding of a broadcast that is encoded when it is
+     * sent is cached by the encoder.
+     *
+     * @param broadcast {@link PendingBroadcast} the committed broadcast
+     */
+    private void cache(PendingBroadcast broadcast) {
+        if (!broadcast.isEncoded()) return;
+
+        matchEventEncoderService.put(broadcast.encodedEvent());
+        matchEventEncoderService.put(broadcast.binaryEvent());
+    }
+
+    /**
+     * Determines whether an event carries the full match.
+     *
+     * @param event {@link X01MatchEvent} the event
+     * @return boolean true if the payload of the event is the match
+     */
+    private boolean carriesMatch(X01MatchEvent event) {
+        return !(event instanceof X01MatchEvent.X01AddTurnDeltaEvent) && !(event instanceof X01MatchEvent.X01DeleteMatchEvent);
+    }
+
+    /**
+     * Appends a broadcast to the queue of its match, or drops it when the pipeline is full.
+     *
+     * @param broadcast {@link PendingBroadcast} the broadcast to be sent
+     */
+    private void enqueue(PendingBroadcast broadcast) {
+        // Apply backpressure by dropping the broadcast when too many broadcasts are pending.
+        if (pending.incrementAndGet() > queueCapacity) {
+            pending.decrementAndGet();
+            dropped.incrementAndGet();
+            log.warn("Dropped {} broadcast of match {} with broadcast version {}, {} broadcasts are pending.",
+                    broadcast.event().eventType(), broadcast.matchId(), broadcast.broadcastVersion(), queueCapacity);
+            return;
+        }
+
+        // Propagate the logging context of the publisher to the broadcast.
+        Map<String, String> contextMap = MDC.getCopyOfContextMap();
+
+        // Append the broadcast to the queue of the match.
+        ObjectId matchId = broadcast.matchId();
+        AtomicReference<CompletableFuture<Integer>> broadcastFuture = new AtomicReference<>();
+        broadcastQueues.compute(matchId, (id, previous) -> {
+            CompletableFuture<Integer> queue = previous != null ? previous : CompletableFuture.completedFuture(null);
+            broadcastFuture.set(queue
+                    .exceptionally(throwable -> null) // A broadcast that couldn't be scheduled must not block the next.
+                    .thenApplyAsync(lastVersion -> send(broadcast, lastVersion, contextMap), publishExecutor));
+            return broadcastFuture.get();
+        });
+
+        // Remove the queue when this broadcast is the last broadcast of the match.
+        broadcastFuture.get().whenComplete((lastVersion, throwable) -> {
+            pending.decrementAndGet();
+            if (throwable != null) failed.incrementAndGet();
+            broadcastQueues.remove(matchId, broadcastFuture.get());
+        });
+    }
+
+    /**
+     * Sends a broadcast on the current (pool) thread unless the same or a newer broadcast of the match was already
+     * sent. A broadcast that isn't encoded yet is encoded from the committed match.
+     *
+     * @param broadcast   {@link PendingBroadcast} the broadcast to be sent
+     * @param lastVersion Integer the broadcast version of the last sent broadcast of the match
+     * @param contextMap  Map the MDC context of the thread that published the event
+     * @return Integer the broadcast version of the last sent broadcast of the match after this broadcast
+     */
+    private Integer send(PendingBroadcast broadcast, Integer lastVersion, Map<String, String> contextMap) {
+        try {
+            if (contextMap != null) MDC.setContextMap(contextMap);
+
+            // Skip broadcasts that aren't newer than the last sent broadcast.
+            ObjectId matchId = broadcast.matchId();
+            Integer broadcastVersion = broadcast.broadcastVersion();
+            if (isStale(broadcastVersion, lastVersion) || isBroadcast(matchId, broadcastVersion)) {
+                stale.incrementAndGet();
+                return lastVersion;
+            }
+
+            eventPublisher.publishEvent(encode(broadcast));
+            published.incrementAndGet();
+
+            long latencyNanos = System.nanoTime() - broadcast.publishedAt();
+            maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+            matchMetricsService.recordBroadcast(broadcast.event().eventType(), latencyNanos);
+
+            // A deleted match (without broadcast version) has no last version.
+            int sentVersion = broadcastVersion != null ? broadcastVersion : DELETED_VERSION;
+            synchronized (sentVersions) {
+                sentVersions.merge(matchId, sentVersion, Math::max);
+            }
+            return broadcastVersion;
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.error("Failed to broadcast {} of match {}.", broadcast.event().eventType(), broadcast.matchId(), e);
+            return lastVersion;
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    /**
+     * Encodes a broadcast, reusing the cached encodings of the committed match (e.g. of the reply to a command).
+     *
+     * @param broadcast {@link PendingBroadcast} the broadcast to be sent
+     * @return {@link X01MatchBroadcast} the encoded broadcast
+     */
+    private X01MatchBroadcast encode(PendingBroadcast broadcast) {
+        if (broadcast.isEncoded()) {
+            return new X01MatchBroadcast(broadcast.encodedEvent(), broadcast.binaryEvent(), broadcast.publishedAt());
+        }
+
+        X01MatchEvent event = broadcast.event();
+        X01EncodedMatchEvent binaryEvent = binaryEncodingEnabled
+                ? matchEventEncoderService.getOrEncode(event, X01MatchEventEncoding.CBOR)
+                : null;
+        return new X01MatchBroadcast(matchEventEncoderService.getOrEncode(event), binaryEvent, broadcast.publishedAt());
+    }
+
+    /**
+     * Determines whether a broadcast version isn't newer than the last sent broadcast version.
+     *
+     * @param broadcastVersion Integer the broadcast version to be sent, null for a deleted match
+     * @param sentVersion      Integer the last sent broadcast version, null when nothing was sent
+     * @return boolean true if the broadcast version is stale
+     */
+    private boolean isStale(Integer broadcastVersion, Integer sentVersion) {
+        if (sentVersion == null) return false;
+        return (broadcastVersion != null ? broadcastVersion : DELETED_VERSION) <= sentVersion;
+    }
+
+    /**
+     * A published event waiting to be broadcast.
+     *
+     * @param event        the published event
+     * @param encodedEvent the json encoded event, null when the event is encoded when it is sent
+     * @param binaryEvent  the cbor encoded event, null when binary encoding is disabled or the event isn't encoded yet
+     * @param publishedAt  the {@link System#nanoTime()} at which the event was published
+     */
+    private record PendingBroadcast(X01MatchEvent event, X01EncodedMatchEvent encodedEvent,
+                                    X01EncodedMatchEvent binaryEvent, long publishedAt) {
+        boolean isEncoded() {
+            return encodedEvent != null;
+        }
+
+        // An encoded event keeps the version it was published with, the match could have been modified since.
+        ObjectId matchId() {
+            return isEncoded() ? encodedEvent.matchId() : event.getMatchId();
+        }
 
+        Integer broadcastVersion() {
+            return isEncoded() ? encodedEvent.broadcastVersion() : event.getBroadcastVersion();
+        }
     }
 }
@@ -41,25 +41,36 @@ public class X01MatchResultServiceImpl implements IX01MatchResultService {
         // First update all set results.
         updateSetResults(match);
 
-        // Get the player(s) that have won the match
-        List<ObjectId> matchWinners = getMatchWinners(match);
-
-        // If multiple players have won the set, that means they have drawn.
-        ResultType winOrDrawType = matchWinners.size() > 1 ? ResultType.DRAW : ResultType.WIN;
+        // Update the player results, trailing sets, match state and standings.
+        updateMatchWinners(match);
+    }
 
-        // Set the individual results for each player
-        match.getPlayers().forEach(player -> player.setResultType(
-                matchWinners.isEmpty() ? null : (matchWinners.contains(player.getPlayerId()) ? winOrDrawType : ResultType.LOSS)
-        ));
+    /**
+     * Incrementally updates the match result after a single score has been appended to the match. Only the leg and
+     * set that contain the new score are recalculated, all other sets are expected to be up-to-date. Falls back to
+     * {@link #updateMatchResult(X01Match)} when the changed set cannot be found.
+     *
+     * @param match     {@link X01Match} the match to be updated
+     * @param turnDelta {@link X01TurnDelta} the location of the score that was added
+     */
+    @Override
+    public void updateMatchResult(X01Match match, X01TurnDelta turnDelta) {
+        if (match == null) return;
 
-        // Cleanup trailing sets that may linger beyond the final set.
-        removeSetsAfterWinner(match, matchWinners);
+        // Without a known changed set, a full recalculation is required.
+        if (turnDelta == null || X01MatchUtils.isSetsEmpty(match) || !match.getSets().containsKey(turnDelta.setNumber())) {
+            updateMatchResult(match);
+            return;
+        }
 
-        // Update the match state.
-        updateMatchState(match, matchWinners);
+        // Update only the changed leg and the result of the set it belongs to.
+        X01SetEntry setEntry = new X01SetEntry(turnDelta.setNumber(), match.getSets().get(turnDelta.setNumber()));
+        X01BestOf bestOf = match.getMatchSettings().getBestOf();
+        int x01 = match.getMatchSettings().getX01();
+        setResultService.updateSetResultForLeg(setEntry, turnDelta.legNumber(), bestOf, match.getPlayers(), x01);
 
-        // update the standings.
-        standingsService.updateMatchStandings(match);
+        // Update the player results, trailing sets, match state and standings.
+        updateMatchWinners(match);
     }
 
     /**
@@ -201,4 +212,32 @@ public class X01MatchResultServiceImpl implements IX01MatchResultService {
             match.setMatchStatus(MatchStatus.CONCLUDED);
         }
     }
+
+    /**
+     * Determines the match winners using the (already updated) set results. Then updates the player results,
+     * removes trailing sets, and updates the match state and standings.
+     *
+     * @param match {@link X01Match} the match to be updated
+     */
+    private void updateMatchWinners(X01Match match) {
+        // Get the player(s) that have won the match
+        List<ObjectId> matchWinners = getMatchWinners(match);
+
+        // If multiple players have won the set, that means they have drawn.
+        ResultType winOrDrawType = matchWinners.size() > 1 ? ResultType.DRAW : ResultType.WIN;
+
+        // Set the individual results for each player
+        match.getPlayers().forEach(player -> player.setResultType(
+                matchWinners.isEmpty() ? null : (matchWinners.contains(player.getPlayerId()) ? winOrDrawType : ResultType.LOSS)
+        ));
+
+        // Cleanup trailing sets that may linger beyond the final set.
+        removeSetsAfterWinner(match, matchWinners);
+
+        // Update the match state.
+        updateMatchState(match, matchWinners);
+
+        // update the standings.
+        standingsService.updateMatchStandings(match);
+    }
 }
@@ -0,0 +1,134 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import nl.kmartin.dartsmatcherapiv2.common.MessageKeys;
+import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
+import nl.kmartin.dartsmatcherapiv2.exceptionhandler.exception.InvalidArgumentsException;
+import nl.kmartin.dartsmatcherapiv2.exceptionhandler.response.TargetError;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchSearch;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchSummary;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchSummaryPage;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Searches matches newest first using keyset pagination. A page continues after the start date and id of the last
+ * match of the previous page (encoded in the cursor) instead of skipping the previous pages, so every page is a range
+ * scan of one of the compound indexes declared on {@link X01Match}. Only the summary fields of the matches are read.
+ */
+@Service
+public class X01MatchSearchServiceImpl implements IX01MatchSearchService {
+
+    private static final String ID_FIELD = "_id";
+    private static final String START_DATE_FIELD = "startDate";
+    private static final String CURSOR_SEPARATOR = ":";
+
+    private final MongoTemplate mongoTemplate;
+    private final MessageResolver messageResolver;
+
+    public X01MatchSearchServiceImpl(MongoTemplate mongoTemplate, MessageResolver messageResolver) {
+        this.mongoTemplate = mongoTemplate;
+        this.messageResolver = messageResolver;
+    }
+
+    /**
+     * Searches the matches that satisfy the filters of a search, ordered by start date (newest first).
+     *
+     * @param search {@link X01MatchSearch} the filters, the cursor of the page and the maximum number of matches
+     * @return {@link X01MatchSummaryPage} the summaries of the matches in the page and the cursor of the next page
+     * @throws InvalidArgumentsException when the cursor is not a cursor returned by a previous search
+     */
+    @Override
+    public X01MatchSummaryPage searchMatches(X01MatchSearch search) {
+        Query query = createSearchQuery(search);
+
+        // Fetch one match more than the limit to determine if there is a next page.
+        List<X01MatchSummary> matches = new ArrayList<>(mongoTemplate.find(query, X01MatchSummary.class,
+                mongoTemplate.getCollectionName(X01Match.class)));
+        if (matches.size() <= search.getLimit()) return new X01MatchSummaryPage(matches, null);
+
+        // The next page continues after the last match of this page.
+        List<X01MatchSummary> page = new ArrayList<>(matches.subList(0, search.getLimit()));
+        return new X01MatchSummaryPage(page, encodeCursor(page.get(page.size() - 1)));
+    }
+
+    /**
+     * Creates the query for a page of a search, including the sort, projection and limit.
+     *
+     * @param search {@link X01MatchSearch} the search
+     * @return {@link Query} the query selecting the matches of the page
+     */
+    private Query createSearchQuery(X01MatchSearch search) {
+        List<Criteria> criteria = new ArrayList<>();
+
+        // Step 1: The filters, each filter is optional.
+        if (search.getMatchStatus() != null) criteria.add(Criteria.where("matchStatus").is(search.getMatchStatus()));
+        if (search.getMatchType() != null) criteria.add(Criteria.where("matchType").is(search.getMatchType()));
+        if (search.getPlayerName() != null && !search.getPlayerName().isBlank())
+            criteria.add(Criteria.where("players.playerName").is(search.getPlayerName().trim()));
+        if (search.getStartedFrom() != null) criteria.add(Criteria.where(START_DATE_FIELD).gte(search.getStartedFrom()));
+        if (search.getStartedBefore() != null) criteria.add(Criteria.where(START_DATE_FIELD).lt(search.getStartedBefore()));
+
+        // Step 2: Continue after the last match of the previous page.
+        if (search.getCursor() != null && !search.getCursor().isBlank()) {
+            X01MatchSummary last = decodeCursor(search.getCursor());
+            criteria.add(new Criteria().orOperator(
+                    Criteria.where(START_DATE_FIELD).lt(last.getStartDate()),
+                    Criteria.where(START_DATE_FIELD).is(last.getStartDate()).and(ID_FIELD).lt(last.getId())
+            ));
+        }
+
+        Query query = criteria.isEmpty()
+                ? new Query()
+                : new Query(new Criteria().andOperator(criteria));
+
+        // Step 3: Sort on the index order, read only the summary fields and fetch one match more than the limit.
+        query.with(Sort.by(Sort.Direction.DESC, START_DATE_FIELD, ID_FIELD));
+        query.fields().include(X01MatchSummary.FIELDS);
+        query.limit(search.getLimit() + 1);
+
+        return query;
+    }
+
+    /**
+     * Encodes the position of a match in the search order as an opaque url safe cursor.
+     *
+     * @param match {@link X01MatchSummary} the last match of a page
+     * @return String the cursor of the next page
+     */
+    private String encodeCursor(X01MatchSummary match) {
+        String position = match.getStartDate().toEpochMilli() + CURSOR_SEPARATOR + match.getId().toHexString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into the start date and id of the last match of the previous page.
+     *
+     * @param cursor String the cursor of the page
+     * @return {@link X01MatchSummary} a summary containing only the start date and id
+     * @throws InvalidArgumentsException when the cursor cannot be decoded
+     */
+    private X01MatchSummary decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = position.split(CURSOR_SEPARATOR, 2);
+
+            X01MatchSummary last = new X01MatchSummary();
+            last.setStartDate(Instant.ofEpochMilli(Long.parseLong(parts[0])));
+            last.setId(new ObjectId(parts[1]));
+            return last;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidArgumentsException(new TargetError("cursor", messageResolver.getMessage(MessageKeys.MESSAGE_INVALID_CURSOR)));
+        }
+    }
+}
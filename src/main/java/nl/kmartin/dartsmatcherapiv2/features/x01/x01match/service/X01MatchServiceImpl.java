@@ -3,7 +3,12 @@ package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import nl.kmartin.dartsmatcherapiv2.common.MessageKeys;
+import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
+import nl.kmartin.dartsmatcherapiv2.exceptionhandler.exception.InvalidArgumentsException;
 import nl.kmartin.dartsmatcherapiv2.exceptionhandler.exception.ResourceNotFoundException;
+import nl.kmartin.dartsmatcherapiv2.exceptionhandler.response.TargetError;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchStatus;
 import nl.kmartin.dartsmatcherapiv2.features.basematch.model.PlayerType;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.*;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01dartbot.IX01DartBotService;
@@ -13,9 +18,12 @@ import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.api.IX01MatchRepositor
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEvent;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventType;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01matchsetup.IX01MatchSetupService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01playerstatistics.IX01PlayerStatisticsService;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01set.IX01SetProgressService;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01statistics.IX01StatisticsService;
 import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -39,12 +48,22 @@ public class X01MatchServiceImpl implements IX01MatchService {
     private final IX01LegRoundService legRoundService;
     private final IX01DartBotService dartBotService;
     private final IX01MatchPublishService matchPublishService;
+    private final IX01MatchCacheService matchCacheService;
+    private final IX01MatchPartialUpdateService matchPartialUpdateService;
+    private final IX01MatchMetricsService matchMetricsService;
+    private final IX01PlayerStatisticsService playerStatisticsService;
+    private final MessageResolver messageResolver;
+    private final boolean deltaEventsEnabled;
 
     public X01MatchServiceImpl(IX01MatchRepository matchRepository, IX01MatchSetupService matchSetupService,
                                IX01MatchResultService matchResultService, IX01MatchProgressService matchProgressService,
                                IX01StatisticsService statisticsService, IX01SetProgressService setProgressService,
                                IX01LegService legService, IX01LegRoundService legRoundService, IX01DartBotService dartBotService,
-                               IX01MatchPublishService matchPublishService) {
+                               IX01MatchPublishService matchPublishService, IX01MatchCacheService matchCacheService,
+                               IX01MatchPartialUpdateService matchPartialUpdateService,
+                               IX01MatchMetricsService matchMetricsService,
+                               IX01PlayerStatisticsService playerStatisticsService, MessageResolver messageResolver,
+                               @Value("${darts-matcher.x01.match-delta-events.enabled:false}") boolean deltaEventsEnabled) {
         this.matchRepository = matchRepository;
         this.matchSetupService = matchSetupService;
         this.matchResultService = matchResultService;
@@ -55,6 +74,12 @@ public class X01MatchServiceImpl implements IX01MatchService {
         this.legRoundService = legRoundService;
         this.dartBotService = dartBotService;
         this.matchPublishService = matchPublishService;
+        this.matchCacheService = matchCacheService;
+        this.matchPartialUpdateService = matchPartialUpdateService;
+        this.matchMetricsService = matchMetricsService;
+        this.playerStatisticsService = playerStatisticsService;
+        this.messageResolver = messageResolver;
+        this.deltaEventsEnabled = deltaEventsEnabled;
     }
 
     /**
@@ -70,12 +95,14 @@ public class X01MatchServiceImpl implements IX01MatchService {
         matchSetupService.setupMatch(match);
 
         // Save the match to the repository and return it.
-        saveMatchAndProcessBotTurns(match, X01MatchEventType.PROCESS_MATCH);
+        saveMatchAndProcessBotTurns(match, X01MatchEventType.PROCESS_MATCH, null);
         return match;
     }
 
     /**
-     * Get an X01Match from the repository using the id.
+     * Get an X01Match using the id. In-play matches are served from the match cache, only when the match isn't
+     * cached it is retrieved from the repository (and cached). A cached match is shared with other readers, so the
+     * returned match must not be modified.
      *
      * @param matchId ObjectId the id of the X01Match to be retrieved
      * @return X01Match corresponding to the matchId
@@ -84,7 +111,7 @@ public class X01MatchServiceImpl implements IX01MatchService {
     @Override
     @Transactional(readOnly = true)
     public X01Match getMatch(@NotNull ObjectId matchId) throws ResourceNotFoundException {
-        return matchRepository.findById(matchId).orElseThrow(() -> new ResourceNotFoundException(X01Match.class, matchId));
+        return loadMatch(matchId, matchCacheService::get);
     }
 
     /**
@@ -115,7 +142,7 @@ public class X01MatchServiceImpl implements IX01MatchService {
     @Override
     @Transactional(readOnly = true)
     public void checkMatchExists(ObjectId matchId) {
-        if (!matchRepository.existsById(matchId)) throw new ResourceNotFoundException(X01Match.class, matchId);
+        if (!matchCacheService.contains(matchId) && !matchRepository.existsById(matchId)) throw new ResourceNotFoundException(X01Match.class, matchId);
     }
 
     /**
@@ -130,13 +157,48 @@ public class X01MatchServiceImpl implements IX01MatchService {
     @Transactional
     public X01Match addTurn(@NotNull ObjectId matchId, @NotNull @Valid X01Turn turn) {
         // Find the match
-        X01Match match = this.getMatch(matchId);
+        X01Match match = this.loadMatch(matchId, matchCacheService::getCopy);
+        MatchStatus persistedStatus = match.getMatchStatus();
 
         // Add the turn to the current player of the match
-        addTurnToCurrentPlayer(match, turn);
+        X01TurnDelta turnDelta = addTurnToCurrentPlayer(match, turn);
 
-        // Add the turn to the match and save the updated match to the repository.
-        saveMatchAndProcessBotTurns(match, X01MatchEventType.ADD_HUMAN_TURN);
+        // Incrementally update the match using the added turn and save the updated match to the repository.
+        saveMatchAndProcessBotTurns(match, X01MatchEventType.ADD_HUMAN_TURN, turnDelta, persistedStatus);
+        return match;
+    }
+
+    /**
+     * Adds a batch of turns to a match, e.g. turns that were scored offline. The turns are added in order to the
+     * thrower whose turn it is, processing the Dart Bot turns in between. All turns are applied in memory, after which
+     * the match is saved once and a single event is broadcast. When a turn can't be added, none of the turns are saved.
+     * Turns that remain after the match is concluded are rejected.
+     *
+     * @param matchId   {@link ObjectId} The ID of the match the turns will be added to.
+     * @param turnBatch {@link X01TurnBatch} The turns in the order they were thrown
+     * @return {@link X01Match} The updated match
+     */
+    @Override
+    @Transactional
+    public X01Match addTurns(@NotNull ObjectId matchId, @NotNull @Valid X01TurnBatch turnBatch) {
+        // Find the match
+        X01Match match = this.loadMatch(matchId, matchCacheService::getCopy);
+        MatchStatus persistedStatus = match.getMatchStatus();
+
+        // Add each turn followed by the bot turns it leads to, incrementally updating the match after every turn.
+        matchMetricsService.recordPhase(X01MatchPhase.UPDATE, X01MatchEventType.ADD_TURNS, () -> {
+            for (X01Turn turn : turnBatch.getTurns()) {
+                if (match.getMatchStatus() == MatchStatus.CONCLUDED) {
+                    throw new InvalidArgumentsException(new TargetError("turns", messageResolver.getMessage(MessageKeys.MESSAGE_MATCH_CONCLUDED)));
+                }
+
+                updateMatch(match, addTurnToCurrentPlayer(match, turn));
+                processBotTurns(match, botTurnDelta -> updateMatch(match, botTurnDelta));
+            }
+        });
+
+        // Save and Broadcast the match once.
+        persistMatch(match, X01MatchEventType.ADD_TURNS, null, persistedStatus);
         return match;
     }
 
@@ -152,7 +214,8 @@ public class X01MatchServiceImpl implements IX01MatchService {
     @Transactional
     public X01Match editTurn(@NotNull ObjectId matchId, @NotNull @Valid X01EditTurn editTurn) {
         // Find the match
-        X01Match match = this.getMatch(matchId);
+        X01Match match = this.loadMatch(matchId, matchCacheService::getCopy);
+        MatchStatus persistedStatus = match.getMatchStatus();
 
         // Get the leg that contains the round.
         Optional<X01LegEntry> legOpt = matchProgressService.getSet(match, editTurn.getSet(), true)
@@ -168,7 +231,7 @@ public class X01MatchServiceImpl implements IX01MatchService {
         });
 
         // Save the updated match to the repository.
-        saveMatchAndProcessBotTurns(match, X01MatchEventType.EDIT_TURN);
+        saveMatchAndProcessBotTurns(match, X01MatchEventType.EDIT_TURN, persistedStatus);
         return match;
     }
 
@@ -184,13 +247,14 @@ public class X01MatchServiceImpl implements IX01MatchService {
     @Transactional
     public X01Match deleteLastTurn(@NotNull ObjectId matchId) {
         // Find the match
-        X01Match match = this.getMatch(matchId);
+        X01Match match = this.loadMatch(matchId, matchCacheService::getCopy);
+        MatchStatus persistedStatus = match.getMatchStatus();
 
         // Delete the last round score
         matchProgressService.removeLastScoreFromMatch(match);
 
         // Save the updated match to the repository.
-        saveMatchAndProcessBotTurns(match, X01MatchEventType.DELETE_LAST_TURN);
+        saveMatchAndProcessBotTurns(match, X01MatchEventType.DELETE_LAST_TURN, persistedStatus);
         return match;
     }
 
@@ -203,6 +267,8 @@ public class X01MatchServiceImpl implements IX01MatchService {
     @Transactional
     public void deleteMatch(ObjectId matchId) {
         this.matchRepository.deleteById(matchId);
+        this.matchCacheService.evict(matchId);
+        this.playerStatisticsService.removeMatchStatistics(matchId);
         this.matchPublishService.publish(new X01MatchEvent.X01DeleteMatchEvent(matchId));
     }
 
@@ -216,13 +282,14 @@ public class X01MatchServiceImpl implements IX01MatchService {
     @Transactional
     public X01Match resetMatch(ObjectId matchId) {
         // Find the match
-        X01Match match = this.getMatch(matchId);
+        X01Match match = this.loadMatch(matchId, matchCacheService::getCopy);
+        MatchStatus persistedStatus = match.getMatchStatus();
 
         // Reapply match setup to return to a clean starting state
         matchSetupService.setupMatch(match);
 
         // Save the reset match to the repository.
-        saveMatchAndProcessBotTurns(match, X01MatchEventType.RESET_MATCH);
+        saveMatchAndProcessBotTurns(match, X01MatchEventType.RESET_MATCH, persistedStatus);
         return match;
     }
 
@@ -230,10 +297,11 @@ public class X01MatchServiceImpl implements IX01MatchService {
     @Transactional
     public X01Match reprocessMatch(ObjectId matchId) {
         // Find the match
-        X01Match match = this.getMatch(matchId);
+        X01Match match = this.loadMatch(matchId, matchCacheService::getCopy);
+        MatchStatus persistedStatus = match.getMatchStatus();
 
         // Update calculated match fields (winner, statistics etc.), process bot turns and save it to the repository.
-        this.saveMatchAndProcessBotTurns(match, X01MatchEventType.PROCESS_MATCH);
+        this.saveMatchAndProcessBotTurns(match, X01MatchEventType.PROCESS_MATCH, persistedStatus);
 
         return match;
     }
@@ -243,8 +311,9 @@ public class X01MatchServiceImpl implements IX01MatchService {
      *
      * @param match {@link X01Match} The match the turn will be added to.
      * @param turn  {@link X01Turn} The turn of a player
+     * @return {@link X01TurnDelta} the location of the added turn
      */
-    private void addTurnToCurrentPlayer(@NotNull X01Match match, @NotNull @Valid X01Turn turn) {
+    private X01TurnDelta addTurnToCurrentPlayer(@NotNull X01Match match, @NotNull @Valid X01Turn turn) {
         // Get the current set
         X01SetEntry currentSetEntry = matchProgressService.getCurrentSetOrCreate(match)
                 .orElseThrow(() -> new ResourceNotFoundException(X01Set.class, null));
@@ -264,71 +333,211 @@ public class X01MatchServiceImpl implements IX01MatchService {
         ObjectId currentThrower = legRoundService.getCurrentThrowerInRound(currentRoundEntry.round(), currentLegEntry.leg().getThrowsFirst(), match.getPlayers());
 
         legService.addScore(x01, currentLegEntry.leg(), currentRoundEntry.roundNumber(), turn, players, currentThrower, trackDoubles);
+
+        return new X01TurnDelta(currentSetEntry.setNumber(), currentLegEntry.legNumber(), currentRoundEntry.roundNumber(), currentThrower);
     }
 
     /**
      * Saves the current match and processes Dart Bot turns until the current thrower is no longer a bot.
+     * The match is fully recalculated before it is saved.
      *
-     * @param match     {@link X01Match} the match to be saved and processed
-     * @param eventType {@link X01MatchEventType} the type of the operation that triggered the save
+     * @param match           {@link X01Match} the match to be saved and processed
+     * @param eventType       {@link X01MatchEventType} the type of the operation that triggered the save
+     * @param persistedStatus {@link MatchStatus} the status of the match when it was loaded, null for a new match
      */
-    private void saveMatchAndProcessBotTurns(X01Match match, X01MatchEventType eventType) {
-        // A match containing 1 bot should have a maximum of 2 bot turns in a row.
-        final int MAX_BOT_TURNS = 2;
+    private void saveMatchAndProcessBotTurns(X01Match match, X01MatchEventType eventType, MatchStatus persistedStatus) {
+        saveMatchAndProcessBotTurns(match, eventType, null, persistedStatus);
+    }
 
+    /**
+     * Saves the current match and processes Dart Bot turns until the current thrower is no longer a bot.
+     * When a turn delta is provided, the match is incrementally updated using only the added turn.
+     *
+     * @param match           {@link X01Match} the match to be saved and processed
+     * @param eventType       {@link X01MatchEventType} the type of the operation that triggered the save
+     * @param turnDelta       {@link X01TurnDelta} the location of the added turn, or null to fully recalculate the match
+     * @param persistedStatus {@link MatchStatus} the status of the match when it was loaded, null for a new match
+     */
+    private void saveMatchAndProcessBotTurns(X01Match match, X01MatchEventType eventType, X01TurnDelta turnDelta,
+                                             MatchStatus persistedStatus) {
         // Update, Save and Broadcast the match.
-        saveMatch(match, eventType);
+        saveMatch(match, eventType, turnDelta, persistedStatus);
+
+        // If it's a dart bots' turn. Create and Add the bot turn and then Update, Save and Broadcast the match. The
+        // match isn't updated yet when the bot turn is added, so its status is the status of the previous save.
+        processBotTurns(match, botTurnDelta -> saveMatch(match, X01MatchEventType.ADD_BOT_TURN, botTurnDelta, match.getMatchStatus()));
+    }
+
+    /**
+     * Creates and adds Dart Bot turns until the current thrower is no longer a bot.
+     *
+     * @param match        {@link X01Match} the match to add the bot turns to
+     * @param afterBotTurn {@link Consumer} called with the location of each added bot turn, must update the match
+     */
+    private void processBotTurns(X01Match match, Consumer<X01TurnDelta> afterBotTurn) {
+        // A match containing 1 bot should have a maximum of 2 bot turns in a row.
+        final int MAX_BOT_TURNS = 2;
 
-        // If it's a dart bots' turn. Create and Add the bot turn and then Update, Save and Broadcast the match.
         int botTurnsProcessed = 0;
         while (isCurrentThrowerDartBot(match)) {
             if (botTurnsProcessed >= MAX_BOT_TURNS)
                 throw new IllegalStateException("Invalid match state: three bot turns in a row are not allowed (matchId=" + match.getId() + ")");
 
-            X01Turn dartBotTurn = dartBotService.createDartBotTurn(match);
-            addTurnToCurrentPlayer(match, dartBotTurn);
-            saveMatch(match, X01MatchEventType.ADD_BOT_TURN);
+            X01Turn dartBotTurn = matchMetricsService.recordDartBotTurn(() -> dartBotService.createDartBotTurn(match));
+            X01TurnDelta botTurnDelta = addTurnToCurrentPlayer(match, dartBotTurn);
+            afterBotTurn.accept(botTurnDelta);
             botTurnsProcessed++;
         }
+
+        if (botTurnsProcessed > 0) matchMetricsService.recordDartBotTurns(botTurnsProcessed);
     }
 
     /**
      * Saves the given X01Match object by updating it, persisting it,
      * and publishing the corresponding match event based on the event type.
      *
-     * @param match     the X01Match object to be saved and published
-     * @param eventType the type of event indicating the nature of the save operation
+     * @param match           the X01Match object to be saved and published
+     * @param eventType       the type of event indicating the nature of the save operation
+     * @param turnDelta       the location of the added turn, or null to fully recalculate the match
+     * @param persistedStatus the status of the match before this save, null for a new match
      */
-    private void saveMatch(X01Match match, X01MatchEventType eventType) {
+    private void saveMatch(X01Match match, X01MatchEventType eventType, X01TurnDelta turnDelta, MatchStatus persistedStatus) {
         // Update the match
-        updateMatch(match);
+        matchMetricsService.recordPhase(X01MatchPhase.UPDATE, eventType, () -> updateMatch(match, turnDelta));
 
-        // Save the Match
-        matchRepository.save(match);
+        // Save and Broadcast the match.
+        persistMatch(match, eventType, turnDelta, persistedStatus);
+    }
+
+    /**
+     * Persists an (already updated) match, writes it through to the cache and publishes the corresponding match event.
+     * The broadcast version is increased once per persisted match, as every save publishes a single event.
+     *
+     * @param match           the X01Match object to be persisted and published
+     * @param eventType       the type of event indicating the nature of the save operation
+     * @param turnDelta       the location of the added turn, or null to save the whole match
+     * @param persistedStatus the status of the match before this save, null for a new match
+     */
+    private void persistMatch(X01Match match, X01MatchEventType eventType, X01TurnDelta turnDelta, MatchStatus persistedStatus) {
+        // Update the publishing version
+        match.setBroadcastVersion(match.getBroadcastVersion() + 1);
+
+        // Save the Match, a version conflict means the cached match is outdated. An added turn on a persisted match
+        // only writes the changed fields, other changes rewrite the whole match.
+        try {
+            matchMetricsService.recordPhase(X01MatchPhase.SAVE, eventType, () -> {
+                if (turnDelta != null && match.getVersion() != null) matchPartialUpdateService.saveTurn(match, turnDelta);
+                else matchRepository.save(match);
+            });
+        } catch (OptimisticLockingFailureException e) {
+            matchMetricsService.recordSaveConflict(eventType);
+            matchCacheService.evict(match.getId());
+            throw e;
+        }
+
+        // Write the saved match through to the cache.
+        matchCacheService.put(match);
+
+        // Only concluded matches count towards the lifetime statistics of the players. Update them when the match
+        // concludes, when a concluded match is changed and when the conclusion of the match is undone.
+        if (persistedStatus == MatchStatus.CONCLUDED || match.getMatchStatus() == MatchStatus.CONCLUDED) {
+            playerStatisticsService.updateMatchStatistics(match);
+        }
 
         // Publish the match event.
-        X01MatchEvent publishEvent = createSaveEventFromType(match, eventType);
-        this.matchPublishService.publish(publishEvent);
+        matchMetricsService.recordPhase(X01MatchPhase.PUBLISH, eventType, () -> {
+            X01MatchEvent publishEvent = createSaveEvent(match, eventType, turnDelta);
+            this.matchPublishService.publish(publishEvent);
+        });
     }
 
     /**
      * Updates calculated fields and cleans up a match. Includes updating match/set/leg results, player statistics,
      * and match progress.
      *
-     * @param match the {@link X01Match} to update
+     * When a turn delta is provided only the leg, set result and statistics affected by the added turn are updated.
+     * Otherwise, the whole match is recalculated (used for creating, editing, deleting, resetting and reprocessing).
+     *
+     * @param match     the {@link X01Match} to update
+     * @param turnDelta the {@link X01TurnDelta} of the added turn, or null to fully recalculate the match
      */
-    private void updateMatch(X01Match match) {
-        // Update match results
-        matchResultService.updateMatchResult(match);
-
-        // Update match statistics
-        statisticsService.updatePlayerStatistics(match);
+    private void updateMatch(X01Match match, X01TurnDelta turnDelta) {
+        if (turnDelta != null) {
+            // Incrementally update the match results and statistics using the added turn
+            matchResultService.updateMatchResult(match, turnDelta);
+            statisticsService.updatePlayerStatistics(match, turnDelta);
+        } else {
+            // Fully recalculate the match results and statistics
+            matchResultService.updateMatchResult(match);
+            statisticsService.updatePlayerStatistics(match);
+        }
 
         // Update Match Progress
         matchProgressService.updateMatchProgress(match);
+    }
 
-        // Update the publishing version
-        match.setBroadcastVersion(match.getBroadcastVersion() + 1);
+    /**
+     * Creates the X01MatchEvent that is published after a save. When delta events are enabled, an added turn is
+     * published as a delta event containing only the changes made by the turn, unless the turn concluded the match.
+     * All other saves (and added turns when delta events are disabled) publish the full match.
+     *
+     * @param match     the X01Match associated with the event
+     * @param eventType the type of event to create
+     * @param turnDelta the location of the added turn, or null when no turn was added
+     * @return an instance of X01MatchEvent to be published
+     */
+    private X01MatchEvent createSaveEvent(X01Match match, X01MatchEventType eventType, X01TurnDelta turnDelta) {
+        boolean isAddTurnEvent = eventType == X01MatchEventType.ADD_HUMAN_TURN || eventType == X01MatchEventType.ADD_BOT_TURN;
+
+        // Publish the delta of an added turn while the match is in play.
+        if (deltaEventsEnabled && isAddTurnEvent && turnDelta != null && match.getMatchStatus() == MatchStatus.IN_PLAY) {
+            Optional<X01MatchDelta> matchDelta = createMatchDelta(match, turnDelta);
+            if (matchDelta.isPresent()) return new X01MatchEvent.X01AddTurnDeltaEvent(matchDelta.get());
+        }
+
+        // Otherwise publish the full match.
+        return createSaveEventFromType(match, eventType);
+    }
+
+    /**
+     * Creates a delta containing the changes an added turn made to the (already updated) match.
+     *
+     * @param match     the {@link X01Match} the turn was added to
+     * @param turnDelta the {@link X01TurnDelta} location of the added turn
+     * @return {@link Optional<X01MatchDelta>} the delta, empty when the added score cannot be found in the match
+     */
+    private Optional<X01MatchDelta> createMatchDelta(X01Match match, X01TurnDelta turnDelta) {
+        // Find the added score
+        X01Set set = match.getSets().get(turnDelta.setNumber());
+        X01Leg leg = set != null ? set.getLegs().get(turnDelta.legNumber()) : null;
+        X01LegRound round = leg != null ? leg.getRounds().get(turnDelta.roundNumber()) : null;
+        X01LegRoundScore roundScore = round != null ? round.getScores().get(turnDelta.throwerId()) : null;
+        if (roundScore == null) return Optional.empty();
+
+        // The statistics of the thrower always change. When the leg is won, the result statistics of others can change.
+        Map<ObjectId, X01Statistics> changedStatistics = match.getPlayers().stream()
+                .filter(player -> leg.getWinner() != null || player.getPlayerId().equals(turnDelta.throwerId()))
+                .filter(player -> player.getStatistics() != null)
+                .collect(Collectors.toMap(X01MatchPlayer::getPlayerId, X01MatchPlayer::getStatistics));
+
+        return Optional.of(new X01MatchDelta(
+                match.getId(),
+                match.getBroadcastVersion(),
+                turnDelta.setNumber(),
+                turnDelta.legNumber(),
+                turnDelta.roundNumber(),
+                turnDelta.throwerId(),
+                roundScore,
+                set.getThrowsFirst(),
+                leg.getThrowsFirst(),
+                leg.getWinner(),
+                leg.getWinner() != null ? leg.getCheckoutDartsUsed() : null,
+                set.getResult(),
+                match.getMatchStatus(),
+                match.getMatchProgress(),
+                match.getStandings(),
+                changedStatistics
+        ));
     }
 
     /**
@@ -344,6 +553,7 @@ public class X01MatchServiceImpl implements IX01MatchService {
             case PROCESS_MATCH -> new X01MatchEvent.X01ProcessMatchEvent(match);
             case ADD_HUMAN_TURN -> new X01MatchEvent.X01AddHumanTurnEvent(match);
             case ADD_BOT_TURN -> new X01MatchEvent.X01AddBotTurnEvent(match);
+            case ADD_TURNS -> new X01MatchEvent.X01AddTurnsEvent(match);
             case EDIT_TURN -> new X01MatchEvent.X01EditTurnEvent(match);
             case DELETE_LAST_TURN -> new X01MatchEvent.X01DeleteLastTurnEvent(match);
             case RESET_MATCH -> new X01MatchEvent.X01ResetMatchEvent(match);
@@ -379,4 +589,27 @@ public class X01MatchServiceImpl implements IX01MatchService {
                 .filter(matchPlayer -> matchPlayer.getPlayerId().equals(playerId))
                 .findFirst();
     }
+
+    /**
+     * Loads a match from the match cache, or from the repository (and caches it) when the match isn't cached.
+     *
+     * @param matchId     {@link ObjectId} the id of the match
+     * @param cacheLookup the lookup of the cached match, a shared snapshot for reading or a copy for modifying
+     * @return {@link X01Match} the match
+     * @throws ResourceNotFoundException when there is no match that has the matchId
+     */
+    private X01Match loadMatch(ObjectId matchId, Function<ObjectId, Optional<X01Match>> cacheLookup) {
+        long start = System.nanoTime();
+
+        Optional<X01Match> cachedMatch = cacheLookup.apply(matchId);
+        if (cachedMatch.isPresent()) {
+            matchMetricsService.recordLoad(true, System.nanoTime() - start);
+            return cachedMatch.get();
+        }
+
+        X01Match match = matchRepository.findById(matchId).orElseThrow(() -> new ResourceNotFoundException(X01Match.class, matchId));
+        matchCacheService.put(match);
+        matchMetricsService.recordLoad(false, System.nanoTime() - start);
+        return match;
+    }
 }
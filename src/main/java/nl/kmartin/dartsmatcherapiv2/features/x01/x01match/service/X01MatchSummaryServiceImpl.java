@@ -0,0 +1,80 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import jakarta.validation.constraints.NotNull;
+import nl.kmartin.dartsmatcherapiv2.exceptionhandler.exception.ResourceNotFoundException;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchSummary;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the summaries of matches for list and lobby views. The match documents are projected to the summary fields,
+ * so the sets, legs and rounds of a match are never read from the database or serialized.
+ */
+@Service
+public class X01MatchSummaryServiceImpl implements IX01MatchSummaryService {
+
+    private static final String ID_FIELD = "_id";
+
+    private final MongoTemplate mongoTemplate;
+
+    public X01MatchSummaryServiceImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Retrieves the summary of a match.
+     *
+     * @param matchId {@link ObjectId} the id of the match
+     * @return {@link X01MatchSummary} the summary of the match
+     * @throws ResourceNotFoundException when the match doesn't exist
+     */
+    @Override
+    public X01MatchSummary getMatchSummary(@NotNull ObjectId matchId) throws ResourceNotFoundException {
+        X01MatchSummary summary = mongoTemplate.findOne(createSummaryQuery(Criteria.where(ID_FIELD).is(matchId)),
+                X01MatchSummary.class, mongoTemplate.getCollectionName(X01Match.class));
+        if (summary == null) throw new ResourceNotFoundException(X01Match.class, matchId);
+
+        return summary;
+    }
+
+    /**
+     * Retrieves the summaries of the matches with the given ids. Will return the summaries in the same order it
+     * received the match ids. Matches that weren't found won't be included in the list.
+     *
+     * @param matchIds a non-null list of {@link ObjectId} values representing match identifiers.
+     * @return a list of {@link X01MatchSummary} objects corresponding to the provided IDs.
+     */
+    @Override
+    public List<X01MatchSummary> getMatchSummaries(@NotNull List<ObjectId> matchIds) {
+        Map<ObjectId, X01MatchSummary> summaryMap = mongoTemplate.find(createSummaryQuery(Criteria.where(ID_FIELD).in(matchIds)),
+                        X01MatchSummary.class, mongoTemplate.getCollectionName(X01Match.class)).stream()
+                .collect(Collectors.toMap(X01MatchSummary::getId, Function.identity()));
+
+        return matchIds.stream()
+                .map(summaryMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates a query selecting only the summary fields of the matching documents.
+     *
+     * @param criteria {@link Criteria} the criteria of the matches
+     * @return {@link Query} the projected query
+     */
+    private Query createSummaryQuery(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.fields().include(X01MatchSummary.FIELDS);
+        return query;
+    }
+}
@@ -0,0 +1,133 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service;
+
+import jakarta.validation.constraints.NotNull;
+import nl.kmartin.dartsmatcherapiv2.exceptionhandler.exception.ResourceNotFoundException;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchVersion;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the (strong) ETags of matches for conditional requests. Every save of a match increments its version, so the
+ * version and broadcast version identify the state of a match. The ETags are read from the match cache or from the
+ * version fields of the match documents, so the sets, legs and rounds of a match aren't read to determine whether a
+ * client has the current match.
+ */
+@Service
+public class X01MatchVersionServiceImpl implements IX01MatchVersionService {
+
+    private static final String ID_FIELD = "_id";
+
+    private final MongoTemplate mongoTemplate;
+    private final IX01MatchCacheService matchCacheService;
+
+    public X01MatchVersionServiceImpl(MongoTemplate mongoTemplate, IX01MatchCacheService matchCacheService) {
+        this.mongoTemplate = mongoTemplate;
+        this.matchCacheService = matchCacheService;
+    }
+
+    /**
+     * Retrieves the ETag of a match. Like retrieving the match itself the cached versions are used when available.
+     *
+     * @param matchId {@link ObjectId} the id of the match
+     * @return String the ETag of the match
+     * @throws ResourceNotFoundException when the match doesn't exist
+     */
+    @Override
+    public String getMatchETag(@NotNull ObjectId matchId) throws ResourceNotFoundException {
+        X01MatchVersion matchVersion = matchCacheService.getVersion(matchId)
+                .orElseGet(() -> mongoTemplate.findOne(createVersionQuery(Criteria.where(ID_FIELD).is(matchId)),
+                        X01MatchVersion.class, mongoTemplate.getCollectionName(X01Match.class)));
+        if (matchVersion == null) throw new ResourceNotFoundException(X01Match.class, matchId);
+
+        return createETag(matchVersion.getVersion(), matchVersion.getBroadcastVersion());
+    }
+
+    /**
+     * Retrieves the ETag of the list of matches with the given ids, in the same order and without the matches that
+     * weren't found, as the matches are retrieved.
+     *
+     * @param matchIds a non-null list of {@link ObjectId} values representing match identifiers.
+     * @return String the ETag of the list of matches
+     */
+    @Override
+    public String getMatchesETag(@NotNull List<ObjectId> matchIds) {
+        Map<ObjectId, X01MatchVersion> versionMap = mongoTemplate.find(createVersionQuery(Criteria.where(ID_FIELD).in(matchIds)),
+                        X01MatchVersion.class, mongoTemplate.getCollectionName(X01Match.class)).stream()
+                .collect(Collectors.toMap(X01MatchVersion::getId, Function.identity()));
+
+        return createListETag(matchIds.stream()
+                .map(versionMap::get)
+                .filter(Objects::nonNull)
+                .map(matchVersion -> matchVersion.getId() + ":" + createETag(matchVersion.getVersion(), matchVersion.getBroadcastVersion()))
+                .collect(Collectors.joining(",")));
+    }
+
+    /**
+     * Creates the ETag of a retrieved match.
+     *
+     * @param match {@link X01Match} the match
+     * @return String the ETag of the match
+     */
+    @Override
+    public String createMatchETag(@NotNull X01Match match) {
+        return createETag(match.getVersion(), match.getBroadcastVersion());
+    }
+
+    /**
+     * Creates the ETag of a retrieved list of matches.
+     *
+     * @param matches the list of {@link X01Match} matches
+     * @return String the ETag of the list of matches
+     */
+    @Override
+    public String createMatchesETag(@NotNull List<X01Match> matches) {
+        return createListETag(matches.stream()
+                .map(match -> match.getId() + ":" + createMatchETag(match))
+                .collect(Collectors.joining(",")));
+    }
+
+    /**
+     * Creates a query selecting only the version fields of the matching documents.
+     *
+     * @param criteria {@link Criteria} the criteria of the matches
+     * @return {@link Query} the projected query
+     */
+    private Query createVersionQuery(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.fields().include(X01MatchVersion.FIELDS);
+        return query;
+    }
+
+    /**
+     * Creates the ETag of a match from its versions, e.g. "12.8".
+     *
+     * @param version          Integer the version of the match
+     * @param broadcastVersion Integer the broadcast version of the match
+     * @return String the quoted ETag
+     */
+    private String createETag(Integer version, Integer broadcastVersion) {
+        return "\"" + version + "." + (broadcastVersion != null ? broadcastVersion : 0) + "\"";
+    }
+
+    /**
+     * Creates the ETag of a list of matches by hashing the ids and ETags of the matches.
+     *
+     * @param matchETags String the ids and ETags of the matches in order
+     * @return String the quoted ETag
+     */
+    private String createListETag(String matchETags) {
+        return "\"" + DigestUtils.md5DigestAsHex(matchETags.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
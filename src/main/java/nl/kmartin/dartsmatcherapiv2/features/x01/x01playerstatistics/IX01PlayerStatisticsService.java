@@ -0,0 +1,21 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01playerstatistics;
+
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01PlayerStatistics;
+import org.bson.types.ObjectId;
+
+import java.time.Instant;
+
+public interface IX01PlayerStatisticsService {
+    void updateMatchStatistics(X01Match match);
+
+    void removeMatchStatistics(ObjectId matchId);
+
+    X01PlayerStatistics getPlayerStatistics(String playerName);
+
+    X01PlayerStatistics getPlayerStatistics(String playerName, Instant endedFrom, Instant endedBefore);
+
+    boolean startRebuildPlayerStatistics();
+
+    void rebuildPlayerStatistics();
+}
@@ -0,0 +1,34 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01playerstatistics;
+
+import nl.kmartin.dartsmatcherapiv2.common.RestEndpoints;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01PlayerStatistics;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+@RestController
+public class X01PlayerStatisticsController {
+    private final IX01PlayerStatisticsService playerStatisticsService;
+
+    public X01PlayerStatisticsController(IX01PlayerStatisticsService playerStatisticsService) {
+        this.playerStatisticsService = playerStatisticsService;
+    }
+
+    @GetMapping(path = RestEndpoints.X01_GET_PLAYER_STATISTICS, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public X01PlayerStatistics getPlayerStatistics(@PathVariable String playerName,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endedFrom,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endedBefore) {
+        return playerStatisticsService.getPlayerStatistics(playerName, endedFrom, endedBefore);
+    }
+
+    // The rebuild runs in the background, a request while a rebuild is running doesn't start another one.
+    @PostMapping(path = RestEndpoints.X01_REBUILD_PLAYER_STATISTICS)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void rebuildPlayerStatistics() {
+        playerStatisticsService.startRebuildPlayerStatistics();
+    }
+}
@@ -0,0 +1,313 @@
+package nl.kmartin.dartsmatcherapiv2.features.x01.x01playerstatistics;
+
+import jakarta.annotation.PreDestroy;
+import nl.kmartin.dartsmatcherapiv2.exceptionhandler.exception.ResourceNotFoundException;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchStatus;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.PlayerType;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.ResultType;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.*;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.*;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Maintains the lifetime statistics of (human) players across matches, players are identified by their name.
+ *
+ * When a match concludes the statistics of each player in the match are stored as a player match statistics document
+ * and added to the lifetime statistics of the player using $inc, so the lifetime statistics are updated without
+ * reading other matches. When a concluded match is changed the difference with the stored player match statistics is
+ * applied, when a match is no longer concluded (or deleted) its player match statistics are subtracted. Rolling window
+ * statistics are aggregated from the player match statistics, the match documents are only read when the statistics
+ * are rebuilt. A requested rebuild runs in the background, one rebuild at a time.
+ */
+@Service
+public class X01PlayerStatisticsServiceImpl implements IX01PlayerStatisticsService {
+    private static final Logger log = LoggerFactory.getLogger(X01PlayerStatisticsServiceImpl.class);
+
+    private static final String MATCH_ID_FIELD = "matchId";
+    private static final String PLAYER_NAME_FIELD = "playerName";
+    private static final String END_DATE_FIELD = "endDate";
+    private static final String RESULT_TYPE_FIELD = "resultType";
+    private static final String CHECKOUT_HIGHEST_FIELD = "checkoutHighest";
+    private static final String CHECKOUT_HIGHEST_PATH = "statistics.checkoutStats.checkoutHighest";
+
+    // The summed fields of the lifetime statistics, with their value in player match statistics (documents).
+    private static final List<Counter> COUNTERS = List.of(
+            new Counter("matchesPlayed", LiteralOperators.valueOf(1).asLiteral(), matchStatistics -> 1),
+            resultCounter("matchesWon", ResultType.WIN),
+            resultCounter("matchesDrawn", ResultType.DRAW),
+            resultCounter("matchesLost", ResultType.LOSS),
+            statisticsCounter("setsWon", "resultStatistics.setsWon", statistics -> statistics.getResultStatistics().getSetsWon()),
+            statisticsCounter("legsWon", "resultStatistics.legsWon", statistics -> statistics.getResultStatistics().getLegsWon()),
+            statisticsCounter("pointsThrown", "averageStats.pointsThrown", statistics -> statistics.getAverageStats().getPointsThrown()),
+            statisticsCounter("dartsThrown", "averageStats.dartsThrown", statistics -> statistics.getAverageStats().getDartsThrown()),
+            statisticsCounter("pointsThrownFirstNine", "averageStats.pointsThrownFirstNine", statistics -> statistics.getAverageStats().getPointsThrownFirstNine()),
+            statisticsCounter("dartsThrownFirstNine", "averageStats.dartsThrownFirstNine", statistics -> statistics.getAverageStats().getDartsThrownFirstNine()),
+            statisticsCounter("checkoutTonPlus", "checkoutStats.checkoutTonPlus", statistics -> statistics.getCheckoutStats().getCheckoutTonPlus()),
+            statisticsCounter("checkoutsMissed", "checkoutStats.checkoutsMissed", statistics -> Optional.ofNullable(statistics.getCheckoutStats().getCheckoutsMissed()).orElse(0)),
+            statisticsCounter("checkoutsHit", "checkoutStats.checkoutsHit", statistics -> statistics.getCheckoutStats().getCheckoutsHit()),
+            statisticsCounter("fortyPlus", "scoreStatistics.fortyPlus", statistics -> statistics.getScoreStatistics().getFortyPlus()),
+            statisticsCounter("sixtyPlus", "scoreStatistics.sixtyPlus", statistics -> statistics.getScoreStatistics().getSixtyPlus()),
+            statisticsCounter("eightyPlus", "scoreStatistics.eightyPlus", statistics -> statistics.getScoreStatistics().getEightyPlus()),
+            statisticsCounter("tonPlus", "scoreStatistics.tonPlus", statistics -> statistics.getScoreStatistics().getTonPlus()),
+            statisticsCounter("tonFortyPlus", "scoreStatistics.tonFortyPlus", statistics -> statistics.getScoreStatistics().getTonFortyPlus()),
+            statisticsCounter("tonEighty", "scoreStatistics.tonEighty", statistics -> statistics.getScoreStatistics().getTonEighty())
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final ThreadPoolTaskExecutor rebuildExecutor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public X01PlayerStatisticsServiceImpl(MongoTemplate mongoTemplate, ThreadPoolTaskExecutorBuilder taskExecutorBuilder) {
+        this.mongoTemplate = mongoTemplate;
+        this.rebuildExecutor = taskExecutorBuilder
+                .corePoolSize(1)
+                .maxPoolSize(1)
+                .threadNamePrefix("x01PlayerStatisticsRebuild-")
+                .build();
+        this.rebuildExecutor.initialize();
+    }
+
+    /**
+     * Updates the statistics of the players of a match after it is saved. A concluded match adds (or corrects) the
+     * statistics of its players, a match that isn't concluded removes them if they were added before.
+     *
+     * @param match {@link X01Match} the saved match
+     */
+    @Override
+    public void updateMatchStatistics(X01Match match) {
+        if (match == null || match.getId() == null) return;
+
+        // A match that isn't (or no longer) concluded doesn't count towards the statistics of its players.
+        if (match.getMatchStatus() != MatchStatus.CONCLUDED) {
+            removeMatchStatistics(match.getId());
+            return;
+        }
+
+        match.getPlayers().stream()
+                .filter(player -> player.getPlayerType() == PlayerType.HUMAN && player.getStatistics() != null)
+                .forEach(player -> {
+                    X01PlayerMatchStatistics matchStatistics = new X01PlayerMatchStatistics(null, match.getId(),
+                            player.getPlayerName(), match.getEndDate(), player.getResultType(), player.getStatistics());
+
+                    // Store the statistics of the player in the match, replacing the statistics stored earlier.
+                    X01PlayerMatchStatistics previous = mongoTemplate.findAndReplace(
+                            createMatchStatisticsQuery(match.getId()).addCriteria(Criteria.where(PLAYER_NAME_FIELD).is(player.getPlayerName())),
+                            matchStatistics, FindAndReplaceOptions.options().upsert());
+
+                    applyDifference(player.getPlayerName(), previous, matchStatistics);
+                });
+    }
+
+    /**
+     * Removes the statistics of the players of a match and subtracts them from their lifetime statistics.
+     *
+     * @param matchId {@link ObjectId} the id of the match
+     */
+    @Override
+    public void removeMatchStatistics(ObjectId matchId) {
+        mongoTemplate.findAllAndRemove(createMatchStatisticsQuery(matchId), X01PlayerMatchStatistics.class)
+                .forEach(removed -> applyDifference(removed.getPlayerName(), removed, null));
+    }
+
+    /**
+     * Retrieves the lifetime statistics of a player.
+     *
+     * @param playerName String the name of the player
+     * @return {@link X01PlayerStatistics} the statistics of the player
+     * @throws ResourceNotFoundException when the player hasn't concluded a match
+     */
+    @Override
+    public X01PlayerStatistics getPlayerStatistics(String playerName) throws ResourceNotFoundException {
+        X01PlayerStatistics playerStatistics = mongoTemplate.findById(playerName, X01PlayerStatistics.class);
+        if (playerStatistics == null) throw new ResourceNotFoundException(X01PlayerStatistics.class, playerName);
+
+        return playerStatistics;
+    }
+
+    /**
+     * Aggregates the statistics of a player over the matches that ended in a window.
+     *
+     * @param playerName  String the name of the player
+     * @param endedFrom   {@link Instant} the start of the window (inclusive), null for no start
+     * @param endedBefore {@link Instant} the end of the window (exclusive), null for no end
+     * @return {@link X01PlayerStatistics} the statistics of the player in the window
+     */
+    @Override
+    public X01PlayerStatistics getPlayerStatistics(String playerName, Instant endedFrom, Instant endedBefore) {
+        if (endedFrom == null && endedBefore == null) return getPlayerStatistics(playerName);
+
+        Criteria criteria = Criteria.where(PLAYER_NAME_FIELD).is(playerName);
+        if (endedFrom != null && endedBefore != null) criteria.and(END_DATE_FIELD).gte(endedFrom).lt(endedBefore);
+        else if (endedFrom != null) criteria.and(END_DATE_FIELD).gte(endedFrom);
+        else criteria.and(END_DATE_FIELD).lt(endedBefore);
+
+        X01PlayerStatistics playerStatistics = aggregatePlayerStatistics(criteria);
+        return playerStatistics != null ? playerStatistics : new X01PlayerStatistics(playerName);
+    }
+
+    /**
+     * Starts rebuilding the statistics of all players in the background, unless a rebuild is already running.
+     *
+     * @return boolean true if a rebuild was started, false when a rebuild is already running
+     */
+    @Override
+    public boolean startRebuildPlayerStatistics() {
+        if (!rebuilding.compareAndSet(false, true)) return false;
+
+        try {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuildPlayerStatistics();
+                } catch (RuntimeException e) {
+                    log.error("Failed to rebuild the player statistics.", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            rebuilding.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdown();
+    }
+
+    /**
+     * Rebuilds the player match statistics and lifetime statistics of all players from the concluded matches.
+     */
+    @Override
+    public void rebuildPlayerStatistics() {
+        // Step 1: Replace the player match statistics with the statistics of the human players of concluded matches.
+        Aggregation matchStatisticsAggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("matchStatus").is(MatchStatus.CONCLUDED.name())),
+                Aggregation.unwind("players"),
+                Aggregation.match(Criteria.where("players.playerType").is(PlayerType.HUMAN.name())),
+                Aggregation.project()
+                        .andExclude("_id")
+                        .and("_id").as(MATCH_ID_FIELD)
+                        .and("players.playerName").as(PLAYER_NAME_FIELD)
+                        .and(END_DATE_FIELD).as(END_DATE_FIELD)
+                        .and("players.resultType").as(RESULT_TYPE_FIELD)
+                        .and("players.statistics").as("statistics"),
+                Aggregation.out(mongoTemplate.getCollectionName(X01PlayerMatchStatistics.class))
+        );
+        mongoTemplate.aggregate(matchStatisticsAggregation, mongoTemplate.getCollectionName(X01Match.class), Document.class);
+
+        // Step 2: Replace the lifetime statistics with the sums of the player match statistics.
+        Aggregation playerStatisticsAggregation = Aggregation.newAggregation(
+                createPlayerStatisticsGroup(),
+                Aggregation.out(mongoTemplate.getCollectionName(X01PlayerStatistics.class))
+        );
+        mongoTemplate.aggregate(playerStatisticsAggregation, X01PlayerMatchStatistics.class, Document.class);
+    }
+
+    /**
+     * Applies the difference between the previous and current statistics of a player in a match to the lifetime
+     * statistics of the player.
+     *
+     * @param playerName String the name of the player
+     * @param previous   {@link X01PlayerMatchStatistics} the statistics that were counted, null when not counted
+     * @param current    {@link X01PlayerMatchStatistics} the statistics that should be counted, null when removed
+     */
+    private void applyDifference(String playerName, X01PlayerMatchStatistics previous, X01PlayerMatchStatistics current) {
+        Update update = new Update();
+        COUNTERS.forEach(counter -> {
+            int difference = counter.valueOf(current) - counter.valueOf(previous);
+            if (difference != 0) update.inc(counter.field(), difference);
+        });
+
+        int previousHighest = getCheckoutHighest(previous);
+        int currentHighest = getCheckoutHighest(current);
+        if (current != null) update.max(CHECKOUT_HIGHEST_FIELD, currentHighest);
+        if (update.getUpdateObject().isEmpty()) return;
+
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(playerName)), update, X01PlayerStatistics.class);
+
+        // The highest checkout can't be decremented, determine it again when the removed checkout might have been it.
+        if (previousHighest > currentHighest) {
+            X01PlayerStatistics aggregated = aggregatePlayerStatistics(Criteria.where(PLAYER_NAME_FIELD).is(playerName));
+            int checkoutHighest = aggregated != null ? aggregated.getCheckoutHighest() : 0;
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(playerName)),
+                    Update.update(CHECKOUT_HIGHEST_FIELD, checkoutHighest), X01PlayerStatistics.class);
+        }
+    }
+
+    /**
+     * Sums the player match statistics matching the criteria into statistics of a player.
+     *
+     * @param criteria {@link Criteria} the criteria selecting the player match statistics of one player
+     * @return {@link X01PlayerStatistics} the summed statistics, null when no player match statistics match
+     */
+    private X01PlayerStatistics aggregatePlayerStatistics(Criteria criteria) {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.match(criteria), createPlayerStatisticsGroup());
+        return mongoTemplate.aggregate(aggregation, X01PlayerMatchStatistics.class, X01PlayerStatistics.class).getUniqueMappedResult();
+    }
+
+    /**
+     * @return {@link GroupOperation} the group summing player match statistics into statistics per player
+     */
+    private GroupOperation createPlayerStatisticsGroup() {
+        GroupOperation group = Aggregation.group(PLAYER_NAME_FIELD);
+        for (Counter counter : COUNTERS) {
+            group = group.sum(counter.expression()).as(counter.field());
+        }
+        return group.max(CHECKOUT_HIGHEST_PATH).as(CHECKOUT_HIGHEST_FIELD);
+    }
+
+    private Query createMatchStatisticsQuery(ObjectId matchId) {
+        return Query.query(Criteria.where(MATCH_ID_FIELD).is(matchId));
+    }
+
+    private int getCheckoutHighest(X01PlayerMatchStatistics matchStatistics) {
+        return matchStatistics != null && matchStatistics.getStatistics() != null && matchStatistics.getStatistics().getCheckoutStats() != null
+                ? matchStatistics.getStatistics().getCheckoutStats().getCheckoutHighest()
+                : 0;
+    }
+
+    private static Counter resultCounter(String field, ResultType resultType) {
+        return new Counter(field,
+                ConditionalOperators.when(ComparisonOperators.valueOf(RESULT_TYPE_FIELD).equalToValue(resultType.name())).then(1).otherwise(0),
+                matchStatistics -> matchStatistics.getResultType() == resultType ? 1 : 0);
+    }
+
+    private static Counter statisticsCounter(String field, String statisticsPath, Function<X01Statistics, Integer> value) {
+        return new Counter(field,
+                ConditionalOperators.ifNull("statistics." + statisticsPath).then(0),
+                matchStatistics -> matchStatistics.getStatistics() != null ? value.apply(matchStatistics.getStatistics()) : 0);
+    }
+
+    /**
+     * A summed field of the lifetime statistics.
+     *
+     * @param field      the field in the lifetime statistics
+     * @param expression the value of a player match statistics document in an aggregation
+     * @param value      the value of player match statistics
+     */
+    private record Counter(String field, AggregationExpression expression, ToIntFunction<X01PlayerMatchStatistics> value) {
+        int valueOf(X01PlayerMatchStatistics matchStatistics) {
+            return matchStatistics != null ? value.applyAsInt(matchStatistics) : 0;
+        }
+    }
+}
@@ -12,6 +12,8 @@ import java.util.TreeMap;
 public interface IX01SetResultService {
     void updateSetResult(X01SetEntry setEntry, X01BestOf bestOf, List<X01MatchPlayer> players, int x01);
 
+    void updateSetResultForLeg(X01SetEntry setEntry, int legNumber, X01BestOf bestOf, List<X01MatchPlayer> players, int x01);
+
     void updateLegResults(X01Set set, List<X01MatchPlayer> players, int x01);
 
     List<ObjectId> getSetWinners(X01SetEntry setEntry, X01BestOf bestOf, List<X01MatchPlayer> players);
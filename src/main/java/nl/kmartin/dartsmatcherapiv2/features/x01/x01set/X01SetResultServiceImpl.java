@@ -53,6 +53,38 @@ public class X01SetResultServiceImpl implements IX01SetResultService {
         updatePlayerResults(set, players, setWinners);
     }
 
+    /**
+     * Updates the player results for a set after only a single leg has changed. Unlike
+     * {@link #updateSetResult(X01SetEntry, X01BestOf, List, int)} only the result of the given leg is recalculated,
+     * the results of the other legs in the set are expected to be up-to-date.
+     *
+     * @param setEntry  {@link X01SetEntry} the set to be updated
+     * @param legNumber int the number of the leg that has changed
+     * @param bestOf    {@link X01BestOf} the best of setting for the match
+     * @param players   {@link List<X01MatchPlayer>} the list of match players
+     * @param x01       int the x01 setting for the legs
+     */
+    @Override
+    public void updateSetResultForLeg(X01SetEntry setEntry, int legNumber, X01BestOf bestOf, List<X01MatchPlayer> players, int x01) {
+        // If the set is null exit early, if the players are null clear the set result and exit early.
+        if (setEntry == null || setEntry.set() == null) return;
+        X01Set set = setEntry.set();
+
+        if (X01MatchUtils.isPlayersEmpty(players)) {
+            set.setResult(null);
+            return;
+        }
+
+        // Update the result of the changed leg only.
+        if (!X01MatchUtils.isLegsEmpty(set) && set.getLegs().containsKey(legNumber)) {
+            legResultService.updateLegResult(set.getLegs().get(legNumber), players, x01);
+        }
+
+        // Update the set results map.
+        List<ObjectId> setWinners = getSetWinners(setEntry, bestOf, players);
+        updatePlayerResults(set, players, setWinners);
+    }
+
     /**
      * Updates the leg result for all legs in a set
      *
@@ -31,9 +31,11 @@ public class X01StandingsServiceImpl implements IX01StandingsService {
     public void updateMatchStandings(X01Match match) {
         if (match == null) return;
 
-        // Get the current set or the last set if the match is concluded.
+        // Get the current set or the last set if the match is concluded. When the next set hasn't been created yet
+        // there is no current set, so no legs have been won in it.
         Optional<X01SetEntry> currentSet = matchProgressService.getCurrentSet(match)
                 .or(() -> Optional.ofNullable(match.getSets().lastEntry())
+                        .filter(lastSet -> matchProgressService.isMatchConcluded(match))
                         .map(X01SetEntry::new));
 
         // Create the initial standings map with a value for each player set to 0 wins.
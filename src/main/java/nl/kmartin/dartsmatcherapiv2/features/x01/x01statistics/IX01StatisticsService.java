@@ -1,7 +1,10 @@
 package nl.kmartin.dartsmatcherapiv2.features.x01.x01statistics;
 
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01TurnDelta;
 
 public interface IX01StatisticsService {
     void updatePlayerStatistics(X01Match match);
+
+    void updatePlayerStatistics(X01Match match, X01TurnDelta turnDelta);
 }
@@ -56,6 +56,62 @@ public class X01StatisticsServiceImpl implements IX01StatisticsService {
         processSets(match.getSets(), match.getMatchSettings().isTrackDoubles(), playersMap);
     }
 
+    /**
+     * Incrementally updates the statistics of the player that threw the score described by the turn delta. The
+     * statistics of all players are expected to be up-to-date with the match before the score was added. When the
+     * score concluded a leg (and possibly a set) the result statistics are updated as well.
+     *
+     * Falls back to {@link #updatePlayerStatistics(X01Match)} when the score cannot be located or a player has no
+     * statistics yet.
+     *
+     * @param match     {@link X01Match} the match for which the player statistics need to be updated.
+     * @param turnDelta {@link X01TurnDelta} the location of the score that was added
+     */
+    @Override
+    public void updatePlayerStatistics(X01Match match, X01TurnDelta turnDelta) {
+        if (match == null) return;
+
+        // Locate the added score, its leg and set.
+        Optional<X01Set> setOpt = turnDelta == null || match.getSets() == null
+                ? Optional.empty()
+                : Optional.ofNullable(match.getSets().get(turnDelta.setNumber()));
+        Optional<X01Leg> legOpt = setOpt
+                .map(X01Set::getLegs)
+                .map(legs -> legs.get(turnDelta.legNumber()));
+        Optional<X01LegRound> roundOpt = legOpt
+                .map(X01Leg::getRounds)
+                .map(rounds -> rounds.get(turnDelta.roundNumber()));
+        Optional<X01LegRoundScore> scoreOpt = roundOpt
+                .map(X01LegRound::getScores)
+                .map(scores -> scores.get(turnDelta.throwerId()));
+
+        // Without a located score or initialized statistics, a full recalculation is required.
+        boolean isStatisticsMissing = match.getPlayers().stream().anyMatch(player -> player.getStatistics() == null);
+        if (scoreOpt.isEmpty() || isStatisticsMissing) {
+            updatePlayerStatistics(match);
+            return;
+        }
+
+        // Convert the players list to a players map for quicker access.
+        Map<ObjectId, X01MatchPlayer> playersMap = match.getPlayers()
+                .stream()
+                .collect(Collectors.toMap(X01MatchPlayer::getPlayerId, Function.identity()));
+
+        X01MatchPlayer player = playersMap.get(turnDelta.throwerId());
+        if (player == null) return;
+
+        // Update the statistics of the thrower with the added score.
+        X01Leg leg = legOpt.get();
+        X01LegRoundEntry legRoundEntry = new X01LegRoundEntry(turnDelta.roundNumber(), roundOpt.get());
+        processPlayerScore(player, leg, legRoundEntry, scoreOpt.get(), match.getMatchSettings().isTrackDoubles());
+
+        // When the score won the leg, the leg (and the set if it is now decided) count towards the result statistics.
+        if (turnDelta.throwerId().equals(leg.getWinner())) {
+            this.resultStatisticsService.updateLegsWonStatistics(leg, playersMap);
+            this.resultStatisticsService.updateSetsWonStatistics(setOpt.get(), playersMap);
+        }
+    }
+
     /**
      * Process and update the player statistics from the data of all the sets
      *
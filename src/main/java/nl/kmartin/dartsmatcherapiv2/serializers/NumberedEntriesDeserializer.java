@@ -0,0 +1,84 @@
+package nl.kmartin.dartsmatcherapiv2.serializers;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Leg;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01LegRound;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Set;
+
+import java.io.IOException;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Deserializes a list of entries written by {@link NumberedEntriesSerializer} straight into a {@link TreeMap} to
+ * guarantee key order. When a number occurs more than once the last entry wins.
+ *
+ * @param <V> the type of the values of the map
+ */
+public abstract class NumberedEntriesDeserializer<V> extends StdDeserializer<NavigableMap<Integer, V>> {
+    private final String numberField;
+    private final String valueField;
+    private final Class<V> valueClass;
+
+    protected NumberedEntriesDeserializer(String numberField, String valueField, Class<V> valueClass) {
+        super(NavigableMap.class);
+        this.numberField = numberField;
+        this.valueField = valueField;
+        this.valueClass = valueClass;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public NavigableMap<Integer, V> deserialize(JsonParser p, DeserializationContext context) throws IOException {
+        if (!p.isExpectedStartArrayToken()) {
+            return (NavigableMap<Integer, V>) context.handleUnexpectedToken(NavigableMap.class, p);
+        }
+        JsonDeserializer<Object> valueDeserializer = context.findRootValueDeserializer(context.constructType(valueClass));
+
+        NavigableMap<Integer, V> map = new TreeMap<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                return (NavigableMap<Integer, V>) context.handleUnexpectedToken(NavigableMap.class, p);
+            }
+
+            // Read the fields of the entry, unknown fields are skipped.
+            int number = 0;
+            V value = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = p.currentName();
+                JsonToken token = p.nextToken();
+                if (numberField.equals(fieldName)) {
+                    number = token == JsonToken.VALUE_NULL ? 0 : p.getValueAsInt();
+                } else if (valueField.equals(fieldName)) {
+                    value = token == JsonToken.VALUE_NULL ? null : (V) valueDeserializer.deserialize(p, context);
+                } else {
+                    p.skipChildren();
+                }
+            }
+            map.put(number, value);
+        }
+        return map;
+    }
+
+    public static class Sets extends NumberedEntriesDeserializer<X01Set> {
+        public Sets() {
+            super("setNumber", "set", X01Set.class);
+        }
+    }
+
+    public static class Legs extends NumberedEntriesDeserializer<X01Leg> {
+        public Legs() {
+            super("legNumber", "leg", X01Leg.class);
+        }
+    }
+
+    public static class Rounds extends NumberedEntriesDeserializer<X01LegRound> {
+        public Rounds() {
+            super("roundNumber", "round", X01LegRound.class);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package nl.kmartin.dartsmatcherapiv2.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Leg;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01LegRound;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Set;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Serializes a numbered map (e.g. the sets of a match) as a list of entries because JSON objects don't guarantee key
+ * order. The entries are written straight from the map, e.g. [{"setNumber": 1, "set": {...}}].
+ *
+ * @param <V> the type of the values of the map
+ */
+public class NumberedEntriesSerializer<V> extends StdSerializer<NavigableMap<Integer, V>> implements ContextualSerializer {
+    private final String numberField;
+    private final String valueField;
+    private final Class<V> valueClass;
+    private final JsonSerializer<Object> valueSerializer;
+
+    @SuppressWarnings("unchecked")
+    protected NumberedEntriesSerializer(String numberField, String valueField, Class<V> valueClass,
+                                        JsonSerializer<Object> valueSerializer) {
+        super((Class<NavigableMap<Integer, V>>) (Class<?>) NavigableMap.class);
+        this.numberField = numberField;
+        this.valueField = valueField;
+        this.valueClass = valueClass;
+        this.valueSerializer = valueSerializer;
+    }
+
+    /**
+     * Resolves the serializer of the values once per property instead of once per serialized map.
+     */
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+        if (valueSerializer != null) return this;
+        return new NumberedEntriesSerializer<>(numberField, valueField, valueClass, provider.findValueSerializer(valueClass, property));
+    }
+
+    @Override
+    public void serialize(NavigableMap<Integer, V> map, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        JsonSerializer<Object> valueSerializer = this.valueSerializer != null ? this.valueSerializer : provider.findValueSerializer(valueClass);
+
+        gen.writeStartArray(map, map.size());
+        for (Map.Entry<Integer, V> entry : map.entrySet()) {
+            gen.writeStartObject();
+            gen.writeNumberField(numberField, entry.getKey());
+            gen.writeFieldName(valueField);
+            if (entry.getValue() == null) {
+                provider.defaultSerializeNull(gen);
+            } else {
+                valueSerializer.serialize(entry.getValue(), gen, provider);
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    public static class Sets extends NumberedEntriesSerializer<X01Set> {
+        public Sets() {
+            super("setNumber", "set", X01Set.class, null);
+        }
+    }
+
+    public static class Legs extends NumberedEntriesSerializer<X01Leg> {
+        public Legs() {
+            super("legNumber", "leg", X01Leg.class, null);
+        }
+    }
+
+    public static class Rounds extends NumberedEntriesSerializer<X01LegRound> {
+        public Rounds() {
+            super("roundNumber", "round", X01LegRound.class, null);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.io.IOException;
 public class ObjectIdSerializer extends JsonSerializer<ObjectId> {
     @Override
     public void serialize(ObjectId objectId, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        // Binary formats (e.g. cbor) also write the hex string, the same as ids that are used as map keys.
         jsonGenerator.writeString(objectId.toString());
     }
 }
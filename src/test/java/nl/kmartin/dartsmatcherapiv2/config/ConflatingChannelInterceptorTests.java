@@ -0,0 +1,169 @@
+package nl.kmartin.dartsmatcherapiv2.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.kmartin.dartsmatcherapiv2.common.WebsocketDestinations;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+
+public class ConflatingChannelInterceptorTests {
+    private static final int TIMEOUT_SECONDS = 5;
+
+    private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+    private final CountDownLatch stalled = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private ConflatingChannelInterceptor conflatingChannelInterceptor;
+    private ExecutorService executor;
+    private ExecutorSubscribableChannel clientOutboundChannel;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(2);
+        conflatingChannelInterceptor = new ConflatingChannelInterceptor(meterRegistry, true);
+        // The executor rejects the tasks of the session "rejected" and fails on the tasks of the session "failed".
+        clientOutboundChannel = new ExecutorSubscribableChannel(task -> {
+            String sessionId = task instanceof MessageHandlingRunnable sendTask
+                    ? SimpMessageHeaderAccessor.getSessionId(sendTask.getMessage().getHeaders()) : null;
+            if ("rejected".equals(sessionId)) throw new RejectedExecutionException();
+            if ("failed".equals(sessionId)) throw new IllegalStateException();
+            executor.execute(task);
+        });
+        clientOutboundChannel.addInterceptor(conflatingChannelInterceptor);
+
+        // The session "slow" stalls on its first message until it is released.
+        clientOutboundChannel.subscribe(message -> {
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            if ("slow".equals(sessionId) && stalled.getCount() > 0) {
+                stalled.countDown();
+                awaitRelease();
+            }
+            sent.add(sessionId + ":" + new String((byte[]) message.getPayload(), StandardCharsets.UTF_8));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void slowSubscriberOnlyReceivesLatestBroadcast() throws InterruptedException {
+        String destination = WebsocketDestinations.getX01MatchBroadcastDestination(new ObjectId());
+
+        clientOutboundChannel.send(createBroadcast("slow", destination, 1));
+        Assertions.assertTrue(stalled.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        // The other subscriber keeps receiving every broadcast while the slow subscriber is stalled.
+        for (int version = 2; version <= 5; version++) {
+            clientOutboundChannel.send(createBroadcast("slow", destination, version));
+            clientOutboundChannel.send(createBroadcast("fast", destination, version));
+            Assertions.assertEquals("fast:" + version, sent.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+
+        release.countDown();
+        Assertions.assertEquals("slow:1", sent.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assertions.assertEquals("slow:5", sent.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assertions.assertNull(sent.poll(200, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(3, meterRegistry.get("stomp.broadcasts.conflated").counter().count());
+
+        // Once caught up, the subscriber receives the next broadcast right away.
+        clientOutboundChannel.send(createBroadcast("slow", destination, 6));
+        Assertions.assertEquals("slow:6", sent.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rejectedBroadcastIsSentOnCallingThread() throws InterruptedException {
+        String destination = WebsocketDestinations.getX01MatchBroadcastDestination(new ObjectId());
+
+        for (int version = 1; version <= 3; version++) {
+            clientOutboundChannel.send(createBroadcast("rejected", destination, version));
+            Assertions.assertEquals("rejected:" + version, sent.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            Assertions.assertEquals(0, conflatingChannelInterceptor.getSlotCount());
+        }
+    }
+
+    @Test
+    void failedBroadcastReleasesSlot() {
+        String destination = WebsocketDestinations.getX01MatchBroadcastDestination(new ObjectId());
+
+        for (int version = 1; version <= 3; version++) {
+            Message<byte[]> broadcast = createBroadcast("failed", destination, version);
+            Assertions.assertThrows(MessageDeliveryException.class, () -> clientOutboundChannel.send(broadcast));
+            Assertions.assertEquals(0, conflatingChannelInterceptor.getSlotCount());
+        }
+        Assertions.assertEquals(0, meterRegistry.get("stomp.broadcasts.conflated").counter().count());
+    }
+
+    @Test
+    void disconnectRemovesSlotsOfSession() throws InterruptedException {
+        String destination = WebsocketDestinations.getX01MatchBroadcastDestination(new ObjectId());
+
+        clientOutboundChannel.send(createBroadcast("slow", destination, 1));
+        Assertions.assertTrue(stalled.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        clientOutboundChannel.send(createBroadcast("slow", destination, 2));
+        Assertions.assertEquals(1, conflatingChannelInterceptor.getSlotCount());
+
+        conflatingChannelInterceptor.onSessionDisconnect(new SessionDisconnectEvent(this,
+                createBroadcast("slow", destination, 2), "slow", CloseStatus.NORMAL));
+        Assertions.assertEquals(0, conflatingChannelInterceptor.getSlotCount());
+
+        // The broadcast waiting for the closed session is dropped.
+        release.countDown();
+        Assertions.assertEquals("slow:1", sent.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assertions.assertNull(sent.poll(200, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(0, conflatingChannelInterceptor.getSlotCount());
+    }
+
+    @Test
+    void unsubscribeRemovesSlotOfSubscription() throws InterruptedException {
+        String destination = WebsocketDestinations.getX01MatchBroadcastDestination(new ObjectId());
+
+        clientOutboundChannel.send(createBroadcast("slow", destination, 1));
+        Assertions.assertTrue(stalled.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        clientOutboundChannel.send(createBroadcast("slow", destination, 2));
+
+        conflatingChannelInterceptor.onSessionUnsubscribe(new SessionUnsubscribeEvent(this, createBroadcast("slow", destination, 2)));
+        Assertions.assertEquals(0, conflatingChannelInterceptor.getSlotCount());
+
+        // A new subscription receives its broadcasts while the broadcast of the old one is still being sent.
+        clientOutboundChannel.send(createBroadcast("slow", destination, 3));
+        Assertions.assertEquals("slow:3", sent.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        release.countDown();
+        Assertions.assertEquals("slow:1", sent.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assertions.assertNull(sent.poll(200, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(0, conflatingChannelInterceptor.getSlotCount());
+    }
+
+    private Message<byte[]> createBroadcast(String sessionId, String destination, int broadcastVersion) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(String.valueOf(broadcastVersion).getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
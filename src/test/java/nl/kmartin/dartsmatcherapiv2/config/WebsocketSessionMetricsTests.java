@@ -0,0 +1,84 @@
+package nl.kmartin.dartsmatcherapiv2.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.coyote.http11.upgrade.UpgradeInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.List;
+
+public class WebsocketSessionMetricsTests {
+
+    @Test
+    void compressedSessionIsMetered() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WebsocketSessionMetrics sessionMetrics = new WebsocketSessionMetrics(meterRegistry);
+        WebSocketSession session = Mockito.mock(WebSocketSession.class);
+        Mockito.when(session.getExtensions()).thenReturn(List.of(new WebSocketExtension(WebsocketHandshakeHandler.PERMESSAGE_DEFLATE)));
+
+        WebsocketSessionMetrics.MeteredSession meteredSession = sessionMetrics.createMeteredSession(session);
+        TextMessage message = new TextMessage("{\"score\":60,\"dartsUsed\":3,\"doublesMissed\":0}".repeat(50));
+        for (int i = 0; i < 3; i++) meteredSession.sendMessage(message);
+        sessionMetrics.record(meteredSession);
+
+        Mockito.verify(session, Mockito.times(3)).sendMessage(message);
+        Assertions.assertTrue(meteredSession.isCompressed());
+        Assertions.assertEquals(3L * message.getPayloadLength(), meteredSession.getBytesSent());
+        Assertions.assertEquals(3L * message.getPayloadLength(),
+                meterRegistry.get("websocket.sent.bytes").tag("compression", "permessage-deflate").counter().count());
+        Assertions.assertEquals(3, meteredSession.getMessagesSent());
+        Assertions.assertEquals(3.0 * message.getPayloadLength(),
+                meterRegistry.get("websocket.session.sent.bytes").tag("compression", "permessage-deflate").summary().totalAmount());
+    }
+
+    @Test
+    void compressionRatioIsReadFromConnector() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WebsocketSessionMetrics sessionMetrics = new WebsocketSessionMetrics(meterRegistry);
+        WebSocketSession session = Mockito.mock(WebSocketSession.class);
+        Mockito.when(session.getExtensions()).thenReturn(List.of(new WebSocketExtension(WebsocketHandshakeHandler.PERMESSAGE_DEFLATE)));
+        Assertions.assertTrue(Double.isNaN(meterRegistry.get("websocket.compression.ratio").gauge().value()));
+
+        Connector connector = new Connector("HTTP/1.1");
+        sessionMetrics.bind(connector);
+        UpgradeInfo upgradeInfo = new UpgradeInfo();
+        ((AbstractHttp11Protocol<?>) connector.getProtocolHandler()).getUpgradeGroupInfo("websocket").addUpgradeInfo(upgradeInfo);
+
+        WebsocketSessionMetrics.MeteredSession meteredSession = sessionMetrics.createMeteredSession(session);
+        TextMessage message = new TextMessage("{\"score\":60,\"dartsUsed\":3,\"doublesMissed\":0}".repeat(50));
+        for (int i = 0; i < 4; i++) meteredSession.sendMessage(message);
+        upgradeInfo.addBytesSent(message.getPayloadLength() / 2);
+
+        Assertions.assertEquals(message.getPayloadLength() / 2, sessionMetrics.getWireBytesSent());
+        Assertions.assertEquals(message.getPayloadLength() / 2.0,
+                meterRegistry.get("websocket.sent.wire.bytes").functionCounter().count());
+        Assertions.assertEquals(8.0, meterRegistry.get("websocket.compression.ratio").gauge().value());
+    }
+
+    @Test
+    void compressionIsNotNegotiatedWhenDisabled() {
+        List<WebSocketExtension> requested = List.of(new WebSocketExtension(WebsocketHandshakeHandler.PERMESSAGE_DEFLATE));
+        ServerHttpRequest request = Mockito.mock(ServerHttpRequest.class);
+
+        Assertions.assertEquals(requested, new TestHandshakeHandler(true).filter(request, requested));
+        Assertions.assertTrue(new TestHandshakeHandler(false).filter(request, requested).isEmpty());
+    }
+
+    private static class TestHandshakeHandler extends WebsocketHandshakeHandler {
+        TestHandshakeHandler(boolean compressionEnabled) {
+            super(compressionEnabled);
+        }
+
+        List<WebSocketExtension> filter(ServerHttpRequest request, List<WebSocketExtension> requested) {
+            return filterRequestedExtensions(request, requested, requested);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import nl.kmartin.dartsmatcherapiv2.features.dartboard.DartboardServiceImpl;
+import nl.kmartin.dartsmatcherapiv2.features.dartboard.IDartboardService;
+import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Verifies that the lookup tables of the dartboard service score throws the same as checking the dartboard geometry
+ * section by section.
+ */
+public class DartboardTests {
+    private Dartboard dartboard;
+    private IDartboardService dartboardService;
+
+    @BeforeEach
+    void setUp() {
+        dartboard = new Dartboard();
+        dartboardService = new DartboardServiceImpl(dartboard);
+    }
+
+    @Test
+    void lookupMatchesGeometry() {
+        Random random = new Random(0);
+        DartBoardSection[] sections = DartBoardSection.values();
+        DartboardSectionArea[] areas = DartboardSectionArea.values();
+
+        for (int i = 0; i < 200_000; i++) {
+            Dart target = new Dart(sections[random.nextInt(sections.length)], areas[random.nextInt(areas.length - 1)]);
+            double offsetR = random.nextDouble() * 200 - 100;
+            double offsetTheta = random.nextDouble() * 2 * Math.PI - Math.PI;
+
+            Assertions.assertEquals(getExpectedScore(target, offsetR, offsetTheta), dartboardService.getScore(target, offsetR, offsetTheta));
+        }
+    }
+
+    @Test
+    void wireTiesAreBrokenClockwise() {
+        // The wire between 6 and 13 (counterclockwise of 6).
+        Dart result = dartboardService.getScore(new Dart(DartBoardSection.SIX, DartboardSectionArea.TRIPLE), 0, Math.PI / 20);
+        Assertions.assertEquals(new Dart(DartBoardSection.SIX, DartboardSectionArea.TRIPLE), result);
+
+        // The wire between the triple and the outer single.
+        result = dartboardService.getScore(new Dart(DartBoardSection.TWENTY, DartboardSectionArea.TRIPLE), 5, 0);
+        Assertions.assertEquals(new Dart(DartBoardSection.TWENTY, DartboardSectionArea.OUTER_SINGLE), result);
+    }
+
+    private Dart getExpectedScore(Dart target, double offsetR, double offsetTheta) {
+        // Find the center of the target.
+        double targetR = 0;
+        double targetTheta = 0;
+        if (target.getArea() != DartboardSectionArea.DOUBLE_BULL) {
+            for (DartboardSectionAreaDimen areaDimension : dartboard.getAreaDimensions()) {
+                if (areaDimension.getSectionArea() == target.getArea()) {
+                    targetR = (areaDimension.getInner() + areaDimension.getOuter()) / 2.0;
+                    targetTheta = getSectionTheta(dartboard.getSections().indexOf(target.getSection())) - Math.PI / 20;
+                    break;
+                }
+            }
+        }
+
+        double r = targetR + offsetR;
+        double theta = PolarCoordinate.normalizeTheta(PolarCoordinate.normalizeTheta(targetTheta + offsetTheta));
+
+        // Find the section and area the dart landed in.
+        DartBoardSection section = DartBoardSection.MISS;
+        for (int i = 0; i < dartboard.getSections().size(); i++) {
+            if (theta <= getSectionTheta(i)) {
+                section = dartboard.getSections().get(i);
+                break;
+            }
+        }
+
+        DartboardSectionArea area = DartboardSectionArea.MISS;
+        for (DartboardSectionAreaDimen areaDimension : dartboard.getAreaDimensions()) {
+            if (r >= areaDimension.getInner() && r < areaDimension.getOuter()) {
+                area = areaDimension.getSectionArea();
+                break;
+            }
+        }
+
+        return new Dart(section, area);
+    }
+
+    private double getSectionTheta(int sectorIndex) {
+        return sectorIndex != 20 ? (sectorIndex * Math.PI) / 10 + Math.PI / 20 : (sectorIndex * Math.PI) / 10;
+    }
+}
@@ -0,0 +1,89 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
+import nl.kmartin.dartsmatcherapiv2.exceptionhandler.exception.InvalidArgumentsException;
+import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.Dart;
+import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.DartBoardSection;
+import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.DartboardSectionArea;
+import nl.kmartin.dartsmatcherapiv2.features.testutils.X01FeatureTestFactory;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Checkout;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01CheckoutRoute;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01checkout.IX01CheckoutAdviceService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01checkout.IX01CheckoutService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.api.IX01MatchRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+public class X01CheckoutAdviceTests {
+
+    @Mock
+    private IX01MatchRepository matchRepository;
+
+    @Mock
+    private MessageResolver messageResolver;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private IX01CheckoutService checkoutService;
+    private IX01CheckoutAdviceService checkoutAdviceService;
+
+    @BeforeEach
+    void setUp() {
+        X01FeatureTestFactory featureTestFactory = new X01FeatureTestFactory(matchRepository, messageResolver, eventPublisher);
+        checkoutService = featureTestFactory.createCheckoutService();
+        checkoutAdviceService = featureTestFactory.createCheckoutAdviceService();
+    }
+
+    @Test
+    void bestRoutesMatchCheckouts() {
+        for (int remaining = 0; remaining <= 171; remaining++) {
+            Optional<X01Checkout> checkout = checkoutService.getCheckout(remaining);
+            Optional<X01CheckoutRoute> route = checkoutAdviceService.getBestCheckoutRoute(remaining, 3);
+
+            Assertions.assertEquals(checkout.isPresent(), route.isPresent(), "Checkout of " + remaining);
+            if (checkout.isEmpty()) continue;
+
+            List<Dart> darts = route.get().getDarts();
+            Assertions.assertEquals(checkout.get().getMinDarts(), darts.size(), "Darts of " + remaining);
+            Assertions.assertEquals(remaining, darts.stream().mapToInt(Dart::getScore).sum());
+            Assertions.assertTrue(darts.get(darts.size() - 1).getArea().isDouble());
+        }
+    }
+
+    @Test
+    void routesRespectDartsLeftAndPreferences() {
+        // A route never uses more darts than the darts left.
+        Assertions.assertTrue(checkoutAdviceService.getCheckoutRoutes(170, 2, null).isEmpty());
+        checkoutAdviceService.getCheckoutRoutes(100, 2, null)
+                .forEach(route -> Assertions.assertTrue(route.getDarts().size() <= 2));
+
+        // The configured preferred double and single setups are preferred.
+        Assertions.assertEquals(
+                List.of(new Dart(DartBoardSection.TWENTY, DartboardSectionArea.OUTER_SINGLE), new Dart(DartBoardSection.TWENTY, DartboardSectionArea.DOUBLE)),
+                checkoutAdviceService.getCheckoutRoutes(60, 2, null).get(0).getDarts()
+        );
+
+        // The preferred double of a player is preferred over the configured doubles.
+        List<Dart> preferredDoubleRoute = checkoutAdviceService.getCheckoutRoutes(60, 2, 16).get(0).getDarts();
+        Assertions.assertEquals(new Dart(DartBoardSection.SIXTEEN, DartboardSectionArea.DOUBLE), preferredDoubleRoute.get(1));
+
+        // Fewer darts always rank first.
+        Assertions.assertEquals(1, checkoutAdviceService.getCheckoutRoutes(50, 3, null).get(0).getDarts().size());
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        Assertions.assertThrows(InvalidArgumentsException.class, () -> checkoutAdviceService.getCheckoutRoutes(40, 4, null));
+        Assertions.assertThrows(InvalidArgumentsException.class, () -> checkoutAdviceService.getCheckoutRoutes(40, 2, 21));
+    }
+}
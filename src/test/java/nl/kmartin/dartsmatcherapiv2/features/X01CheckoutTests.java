@@ -1,6 +1,7 @@
 package nl.kmartin.dartsmatcherapiv2.features;
 
 import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
+import nl.kmartin.dartsmatcherapiv2.exceptionhandler.exception.InvalidArgumentsException;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Checkout;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01checkout.IX01CheckoutService;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01checkout.X01CheckoutServiceImpl;
@@ -14,6 +15,8 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @ExtendWith(MockitoExtension.class)
 public class X01CheckoutTests {
@@ -38,4 +41,22 @@ public class X01CheckoutTests {
         Assertions.assertEquals(checkouts.size(), 162);
     }
 
+    @Test
+    void testCheckoutTablesMatchCheckouts() {
+        Map<Integer, X01Checkout> checkouts = checkoutService.getCheckouts();
+        Set<Integer> impossibleCheckouts = Set.of(169, 168, 166, 165, 163, 162, 159);
+
+        for (int remaining = -1; remaining <= X01CheckoutServiceImpl.MAXIMUM_REMAINING + 1; remaining++) {
+            Assertions.assertEquals(Optional.ofNullable(checkouts.get(remaining)), checkoutService.getCheckout(remaining));
+            Assertions.assertEquals(remaining <= 170 && !impossibleCheckouts.contains(remaining), checkoutService.isScoreCheckout(remaining));
+        }
+    }
+
+    @Test
+    void testScoreCheckoutMinDarts() {
+        Assertions.assertTrue(checkoutService.isScoreCheckout(170, 3));
+        Assertions.assertFalse(checkoutService.isScoreCheckout(171, 3));
+        Assertions.assertThrows(InvalidArgumentsException.class, () -> checkoutService.isScoreCheckout(170, 2));
+    }
+
 }
@@ -0,0 +1,76 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
+import nl.kmartin.dartsmatcherapiv2.features.testutils.X01FeatureTestFactory;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01DartBotSimulationAverage;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01DartBotSimulationRequest;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01DartBotSimulationResult;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01dartbot.IX01DartBotSimulationService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01dartbot.X01DartBotSimulationServiceImpl;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.api.IX01MatchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class X01DartBotSimulationTests {
+    private static final int LEGS = 2_000;
+
+    @Mock
+    private IX01MatchRepository matchRepository;
+
+    @Mock
+    private MessageResolver messageResolver;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private IX01DartBotSimulationService dartBotSimulationService;
+
+    @BeforeEach
+    void setUp() {
+        X01FeatureTestFactory featureTestFactory = new X01FeatureTestFactory(matchRepository, messageResolver, eventPublisher);
+        dartBotSimulationService = featureTestFactory.createDartBotSimulationService(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((X01DartBotSimulationServiceImpl) dartBotSimulationService).shutdown();
+    }
+
+    @Test
+    void simulationReportsEveryLeg() {
+        X01DartBotSimulationResult result = dartBotSimulationService.simulate(new X01DartBotSimulationRequest(501, List.of(40, 100), LEGS));
+
+        Assertions.assertEquals(2, result.getAverages().size());
+        for (X01DartBotSimulationAverage average : result.getAverages()) {
+            int legs = average.getDartsPerLegDistribution().values().stream().mapToInt(Integer::intValue).sum();
+            int dartsUsed = average.getDartsPerLegDistribution().entrySet().stream()
+                    .mapToInt(entry -> entry.getKey() * entry.getValue())
+                    .sum();
+
+            Assertions.assertEquals(LEGS, legs);
+            Assertions.assertEquals(LEGS, average.getCheckoutsHit());
+            Assertions.assertEquals((double) dartsUsed / LEGS, average.getDartsPerLeg(), 1e-9);
+            Assertions.assertEquals(501.0 * LEGS / dartsUsed * 3, average.getThreeDartAverage(), 1e-9);
+        }
+    }
+
+    @Test
+    void simulatedAverageIsCloseToTarget() {
+        X01DartBotSimulationResult result = dartBotSimulationService.simulate(new X01DartBotSimulationRequest(501, List.of(60, 90), LEGS));
+
+        // The dart bot aims to finish within 5% of the darts required for the target average.
+        for (X01DartBotSimulationAverage average : result.getAverages()) {
+            double target = average.getTargetThreeDartAverage();
+            Assertions.assertEquals(target, average.getThreeDartAverage(), target * 0.1);
+        }
+    }
+}
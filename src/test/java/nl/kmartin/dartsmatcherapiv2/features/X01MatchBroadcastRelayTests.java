@@ -0,0 +1,144 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import nl.kmartin.dartsmatcherapiv2.common.WebsocketDestinations;
+import nl.kmartin.dartsmatcherapiv2.features.testutils.LocalStompBroker;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01EncodedMatchEvent;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01EncodedMatchEventConverter;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchBroadcast;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventEncoding;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventListener;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventType;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies that a match broadcast by one instance reaches the subscribers connected to another instance when the
+ * broadcasts are relayed through an external broker (replaced by a {@link LocalStompBroker}).
+ */
+public class X01MatchBroadcastRelayTests {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private LocalStompBroker broker;
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        broker = new LocalStompBroker();
+        nodeA = new Node(broker.getPort());
+        nodeB = new Node(broker.getPort());
+        nodeA.awaitBrokerAvailable();
+        nodeB.awaitBrokerAvailable();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        nodeA.relay.stop();
+        nodeB.relay.stop();
+        broker.close();
+    }
+
+    @Test
+    void handleX01MatchBroadcast_SubscriberOnOtherNode_ReceivesBroadcast() throws InterruptedException {
+        // Given
+        ObjectId matchId = new ObjectId();
+        String destination = WebsocketDestinations.getX01MatchBroadcastDestination(matchId);
+        String sessionId = "spectator";
+        nodeB.send(StompCommand.CONNECT, sessionId, null, null);
+        Assertions.assertEquals(StompCommand.CONNECTED, nodeB.receive().getCommand());
+        nodeB.send(StompCommand.SUBSCRIBE, sessionId, destination, "subscribed");
+        Assertions.assertEquals(StompCommand.RECEIPT, nodeB.receive().getCommand());
+
+        byte[] payload = "{\"eventType\":\"ADD_HUMAN_TURN\"}".getBytes(StandardCharsets.UTF_8);
+        X01EncodedMatchEvent event = new X01EncodedMatchEvent(matchId, 1, X01MatchEventType.ADD_HUMAN_TURN, X01MatchEventEncoding.JSON, payload);
+
+        // When
+        nodeA.eventListener.handleX01MatchBroadcast(new X01MatchBroadcast(event, null, System.nanoTime()));
+
+        // Then
+        StompHeaderAccessor message = nodeB.receive();
+        Assertions.assertEquals(StompCommand.MESSAGE, message.getCommand());
+        Assertions.assertEquals(sessionId, message.getSessionId());
+        Assertions.assertEquals(destination, message.getDestination());
+        Assertions.assertArrayEquals(payload, nodeB.lastPayload);
+    }
+
+    /**
+     * An instance of the application: a broker relay with its client channels and the match event listener.
+     */
+    private static class Node {
+        private final ExecutorSubscribableChannel clientInboundChannel = new ExecutorSubscribableChannel();
+        private final ExecutorSubscribableChannel clientOutboundChannel = new ExecutorSubscribableChannel();
+        private final ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        private final BlockingQueue<Message<?>> outboundMessages = new LinkedBlockingQueue<>();
+        private final StompBrokerRelayMessageHandler relay;
+        private final X01MatchEventListener eventListener;
+        private byte[] lastPayload;
+
+        Node(int brokerPort) {
+            clientOutboundChannel.subscribe(outboundMessages::add);
+
+            relay = new StompBrokerRelayMessageHandler(clientInboundChannel, clientOutboundChannel, brokerChannel, List.of("/topic", "/queue"));
+            relay.setRelayHost("127.0.0.1");
+            relay.setRelayPort(brokerPort);
+            relay.setSystemHeartbeatSendInterval(0);
+            relay.setSystemHeartbeatReceiveInterval(0);
+            relay.start();
+
+            SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+            messagingTemplate.setMessageConverter(new X01EncodedMatchEventConverter());
+            eventListener = new X01MatchEventListener(messagingTemplate);
+        }
+
+        void awaitBrokerAvailable() throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            while (!relay.isBrokerAvailable()) {
+                if (System.nanoTime() > deadline) Assertions.fail("The relay didn't connect to the broker.");
+                Thread.sleep(10);
+            }
+        }
+
+        void send(StompCommand command, String sessionId, String destination, String receipt) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+            accessor.setSessionId(sessionId);
+            accessor.setLeaveMutable(true);
+            if (command == StompCommand.CONNECT) {
+                accessor.setAcceptVersion("1.2");
+                accessor.setHeartbeat(0, 0);
+            }
+            if (destination != null) {
+                accessor.setDestination(destination);
+                accessor.setSubscriptionId("subscription-0");
+            }
+            if (receipt != null) accessor.setReceipt(receipt);
+            clientInboundChannel.send(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+        }
+
+        StompHeaderAccessor receive() throws InterruptedException {
+            Message<?> message = outboundMessages.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            Assertions.assertNotNull(message, "No message was sent to the client.");
+            lastPayload = (byte[]) message.getPayload();
+
+            StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+            return accessor != null ? accessor : StompHeaderAccessor.wrap(message);
+        }
+    }
+}
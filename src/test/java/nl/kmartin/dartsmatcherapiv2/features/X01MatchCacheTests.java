@@ -0,0 +1,229 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchStatus;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.PlayerType;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.*;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchCacheService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchCacheServiceImpl;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.*;
+
+public class X01MatchCacheTests {
+    private static final int MAX_SIZE = 2;
+
+    private MappingMongoConverter mongoConverter;
+    private IX01MatchCacheService matchCacheService;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(Collections.emptyList());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        mongoConverter = Mockito.spy(converter);
+        matchCacheService = new X01MatchCacheServiceImpl(mongoConverter, MAX_SIZE);
+    }
+
+    @Test
+    void getCopyReturnsIndependentCopy() {
+        X01Match match = createTestMatch(1);
+        matchCacheService.put(match);
+
+        X01Match cachedMatch = matchCacheService.getCopy(match.getId()).orElseThrow();
+        Assertions.assertNotSame(match, cachedMatch);
+        Assertions.assertEquals(match, cachedMatch);
+
+        // Modifying the returned match must not modify the cached match.
+        cachedMatch.getSets().clear();
+        Assertions.assertEquals(match, matchCacheService.get(match.getId()).orElseThrow());
+    }
+
+    @Test
+    void getReturnsSharedSnapshot() {
+        X01Match match = createTestMatch(1);
+        matchCacheService.put(match);
+
+        // The snapshot is taken when the match is cached, later modifications of the match aren't cached.
+        X01Match cachedMatch = matchCacheService.get(match.getId()).orElseThrow();
+        match.getSets().clear();
+        Assertions.assertNotSame(match, cachedMatch);
+        Assertions.assertFalse(cachedMatch.getSets().isEmpty());
+        Assertions.assertSame(cachedMatch, matchCacheService.get(match.getId()).orElseThrow());
+    }
+
+    @Test
+    void getVersionReturnsVersionsOfSnapshot() {
+        X01Match match = createTestMatch(3);
+        match.setBroadcastVersion(2);
+        matchCacheService.put(match);
+        match.setVersion(4);
+
+        X01MatchVersion matchVersion = matchCacheService.getVersion(match.getId()).orElseThrow();
+        Assertions.assertEquals(new X01MatchVersion(match.getId(), 3, 2), matchVersion);
+        Assertions.assertTrue(matchCacheService.getVersion(new ObjectId()).isEmpty());
+    }
+
+    @Test
+    void evictInTransactionIsRepeatedAfterCommit() throws InterruptedException {
+        X01Match match = createTestMatch(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            matchCacheService.evict(match.getId());
+
+            // A concurrent reader caches the match before the transaction has committed.
+            Thread reader = new Thread(() -> matchCacheService.put(match));
+            reader.start();
+            reader.join();
+            Assertions.assertTrue(matchCacheService.contains(match.getId()));
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertFalse(matchCacheService.contains(match.getId()));
+    }
+
+    @Test
+    void putInTransactionCachesCommittedMatch() {
+        X01Match match = createTestMatch(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            matchCacheService.put(match);
+            Assertions.assertFalse(matchCacheService.contains(match.getId()));
+
+            // The match is modified and saved again (e.g. by a bot turn) before the transaction commits.
+            match.setVersion(2);
+            matchCacheService.put(match);
+
+            commit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // The committed match itself is cached, it isn't converted.
+        Assertions.assertSame(match, matchCacheService.get(match.getId()).orElseThrow());
+        Mockito.verify(mongoConverter, Mockito.never()).write(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void concludedMatchInTransactionIsNotCached() {
+        X01Match match = createTestMatch(1);
+        matchCacheService.put(match);
+        Mockito.clearInvocations(mongoConverter);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            match.setVersion(2);
+            match.setMatchStatus(MatchStatus.CONCLUDED);
+            matchCacheService.put(match);
+            commit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertFalse(matchCacheService.contains(match.getId()));
+        Mockito.verifyNoInteractions(mongoConverter);
+    }
+
+    @Test
+    void putInRolledBackTransactionIsNotCached() {
+        X01Match match = createTestMatch(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            matchCacheService.put(match);
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertFalse(matchCacheService.contains(match.getId()));
+    }
+
+    @Test
+    void olderVersionDoesNotReplaceNewerVersion() {
+        X01Match match = createTestMatch(2);
+        matchCacheService.put(match);
+
+        match.setVersion(1);
+        match.setBroadcastVersion(99);
+        matchCacheService.put(match);
+
+        X01Match cachedMatch = matchCacheService.get(match.getId()).orElseThrow();
+        Assertions.assertEquals(2, cachedMatch.getVersion());
+        Assertions.assertNotEquals(99, cachedMatch.getBroadcastVersion());
+    }
+
+    @Test
+    void concludedMatchIsEvicted() {
+        X01Match match = createTestMatch(1);
+        matchCacheService.put(match);
+        Assertions.assertTrue(matchCacheService.contains(match.getId()));
+
+        match.setVersion(2);
+        match.setMatchStatus(MatchStatus.CONCLUDED);
+        matchCacheService.put(match);
+        Assertions.assertFalse(matchCacheService.contains(match.getId()));
+    }
+
+    @Test
+    void leastRecentlyUsedMatchIsEvictedWhenFull() {
+        X01Match match1 = createTestMatch(1);
+        X01Match match2 = createTestMatch(1);
+        X01Match match3 = createTestMatch(1);
+
+        matchCacheService.put(match1);
+        matchCacheService.put(match2);
+        matchCacheService.get(match1.getId());
+        matchCacheService.put(match3);
+
+        Assertions.assertTrue(matchCacheService.contains(match1.getId()));
+        Assertions.assertFalse(matchCacheService.contains(match2.getId()));
+        Assertions.assertTrue(matchCacheService.contains(match3.getId()));
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    private X01Match createTestMatch(int version) {
+        ObjectId playerId = new ObjectId();
+        X01MatchPlayer player = new X01MatchPlayer(playerId, "Player", PlayerType.HUMAN, null, null, new X01Statistics());
+
+        X01LegRound round = new X01LegRound(new LinkedHashMap<>(Map.of(playerId, new X01LegRoundScore(0, 60, 441))));
+        X01Leg leg = new X01Leg(null, playerId, new TreeMap<>(Map.of(1, round)));
+        X01Set set = new X01Set(new TreeMap<>(Map.of(1, leg)), playerId, null);
+
+        X01ClearByTwoRule clearByTwoRule = new X01ClearByTwoRule(false, 0);
+        X01BestOf bestOf = new X01BestOf(1, 3, X01BestOfType.LEGS, clearByTwoRule, clearByTwoRule, clearByTwoRule);
+
+        X01Match match = new X01Match();
+        match.setId(new ObjectId());
+        match.setVersion(version);
+        match.setMatchStatus(MatchStatus.IN_PLAY);
+        match.setMatchSettings(new X01MatchSettings(501, true, bestOf));
+        match.setPlayers(new ArrayList<>(List.of(player)));
+        match.setSets(new TreeMap<>(Map.of(1, set)));
+        match.setMatchProgress(new X01MatchProgress(1, 1, 2, playerId));
+        return match;
+    }
+}
@@ -0,0 +1,150 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.kmartin.dartsmatcherapiv2.config.JacksonConfig;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchBroadcast;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEvent;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventType;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.*;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class X01MatchChangeStreamTests {
+
+    private final BlockingQueue<X01MatchBroadcast> broadcasts = new LinkedBlockingQueue<>();
+    private MappingMongoConverter mongoConverter;
+    private MongoTemplate mongoTemplate;
+    private X01MatchPublishServiceImpl matchPublishService;
+    private IX01MatchCacheService matchCacheService;
+    private IX01MatchChangeStreamService matchChangeStreamService;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(Collections.emptyList());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        mongoConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        mongoConverter.setCustomConversions(conversions);
+        mongoConverter.afterPropertiesSet();
+
+        mongoTemplate = Mockito.mock(MongoTemplate.class);
+        Mockito.when(mongoTemplate.getConverter()).thenReturn(mongoConverter);
+
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        ObjectMapper objectMapper = jacksonConfig.objectMapper(jacksonConfig.customSerializerModule());
+        matchPublishService = new X01MatchPublishServiceImpl(event -> broadcasts.add((X01MatchBroadcast) event),
+                new X01MatchEventEncoderServiceImpl(objectMapper, 100),
+                new X01MatchMetricsServiceImpl(new SimpleMeterRegistry()), new ThreadPoolTaskExecutorBuilder(), 1, 100, false);
+        matchCacheService = new X01MatchCacheServiceImpl(mongoConverter, 10);
+        matchChangeStreamService = new X01MatchChangeStreamServiceImpl(mongoTemplate, matchPublishService, matchCacheService, true, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchPublishService.shutdown();
+    }
+
+    @Test
+    void changeOfOtherNodeIsBroadcastOnce() throws InterruptedException {
+        X01Match match = createTestMatch(1);
+        Document document = toDocument(match);
+
+        matchChangeStreamService.handleChange(OperationType.UPDATE, match.getId(), document);
+        X01MatchBroadcast broadcast = broadcasts.poll(5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(broadcast);
+        Assertions.assertEquals(X01MatchEventType.PROCESS_MATCH, broadcast.event().eventType());
+        Assertions.assertEquals(1, broadcast.event().broadcastVersion());
+
+        // The same change delivered again (e.g. after the stream resumed) is not broadcast again.
+        matchChangeStreamService.handleChange(OperationType.UPDATE, match.getId(), document);
+        Assertions.assertNull(broadcasts.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void changeOfThisNodeIsNotBroadcastAgain() throws InterruptedException {
+        X01Match match = createTestMatch(2);
+        matchCacheService.put(match);
+
+        // This node broadcasts its own change as the event that made it.
+        matchPublishService.publish(new X01MatchEvent.X01AddHumanTurnEvent(match));
+        Assertions.assertEquals(X01MatchEventType.ADD_HUMAN_TURN, broadcasts.poll(5, TimeUnit.SECONDS).event().eventType());
+
+        matchChangeStreamService.handleChange(OperationType.UPDATE, match.getId(), toDocument(match));
+        Assertions.assertNull(broadcasts.poll(200, TimeUnit.MILLISECONDS));
+
+        // A delete of another node is broadcast and evicts the cached match.
+        matchChangeStreamService.handleChange(OperationType.DELETE, match.getId(), null);
+        Assertions.assertEquals(X01MatchEventType.DELETE_MATCH, broadcasts.poll(5, TimeUnit.SECONDS).event().eventType());
+        Assertions.assertFalse(matchCacheService.contains(match.getId()));
+
+        // Older changes arriving after the delete are not broadcast.
+        matchChangeStreamService.handleChange(OperationType.UPDATE, match.getId(), toDocument(createTestMatch(match.getId(), 3)));
+        Assertions.assertNull(broadcasts.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void cachedMatchIsRefreshed() throws InterruptedException {
+        X01Match match = createTestMatch(1);
+        matchCacheService.put(match);
+
+        matchChangeStreamService.handleChange(OperationType.REPLACE, match.getId(), toDocument(createTestMatch(match.getId(), 2)));
+        Assertions.assertNotNull(broadcasts.poll(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, matchCacheService.get(match.getId()).orElseThrow().getBroadcastVersion());
+    }
+
+    @Test
+    void changeIsNotBroadcastWithBrokerRelay() throws InterruptedException {
+        IX01MatchChangeStreamService relayChangeStreamService = new X01MatchChangeStreamServiceImpl(mongoTemplate,
+                matchPublishService, matchCacheService, true, true);
+        X01Match match = createTestMatch(1);
+        matchCacheService.put(match);
+
+        // The relay delivers the broadcasts of the other node, the change only refreshes the cached match.
+        relayChangeStreamService.handleChange(OperationType.UPDATE, match.getId(), toDocument(createTestMatch(match.getId(), 2)));
+        Assertions.assertNull(broadcasts.poll(200, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(2, matchCacheService.get(match.getId()).orElseThrow().getBroadcastVersion());
+
+        relayChangeStreamService.handleChange(OperationType.DELETE, match.getId(), null);
+        Assertions.assertNull(broadcasts.poll(200, TimeUnit.MILLISECONDS));
+        Assertions.assertFalse(matchCacheService.contains(match.getId()));
+    }
+
+    private Document toDocument(X01Match match) {
+        Document document = new Document();
+        mongoConverter.write(match, document);
+        return document;
+    }
+
+    private X01Match createTestMatch(int broadcastVersion) {
+        return createTestMatch(new ObjectId(), broadcastVersion);
+    }
+
+    private X01Match createTestMatch(ObjectId matchId, int broadcastVersion) {
+        X01Match match = new X01Match();
+        match.setId(matchId);
+        match.setVersion(broadcastVersion);
+        match.setBroadcastVersion(broadcastVersion);
+        return match;
+    }
+}
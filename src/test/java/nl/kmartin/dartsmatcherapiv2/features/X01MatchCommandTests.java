@@ -0,0 +1,105 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchCommandService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchCommandServiceImpl;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchMetricsServiceImpl;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class X01MatchCommandTests {
+    private static final int COMMANDS = 50;
+
+    private X01MatchCommandServiceImpl matchCommandService;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        matchCommandService = new X01MatchCommandServiceImpl(new X01MatchMetricsServiceImpl(new SimpleMeterRegistry()));
+        callers = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void commandsForSameMatchAreSerialized() throws Exception {
+        ObjectId matchId = new ObjectId();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        int[] counter = {0}; // Deliberately not thread safe.
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < COMMANDS; i++) {
+            futures.add(callers.submit(() -> matchCommandService.execute(matchId, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                int value = counter[0];
+                Thread.onSpinWait();
+                counter[0] = value + 1;
+                running.decrementAndGet();
+            })));
+        }
+        for (Future<?> future : futures) future.get(10, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(1, maxRunning.get());
+        Assertions.assertEquals(COMMANDS, counter[0]);
+    }
+
+    @Test
+    void commandsForDifferentMatchesRunInParallel() throws Exception {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+
+        Future<Boolean> first = callers.submit(() -> awaitOther(matchCommandService, new ObjectId(), bothRunning));
+        Future<Boolean> second = callers.submit(() -> awaitOther(matchCommandService, new ObjectId(), bothRunning));
+
+        Assertions.assertTrue(first.get(10, TimeUnit.SECONDS));
+        Assertions.assertTrue(second.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void exceptionIsRethrownAndDoesNotBlockNextCommand() {
+        ObjectId matchId = new ObjectId();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> matchCommandService.execute(matchId, () -> {
+            throw new IllegalArgumentException();
+        }));
+        Assertions.assertEquals(1, matchCommandService.execute(matchId, () -> 1));
+    }
+
+    @Test
+    void commandRunsOnCallingThread() {
+        Thread caller = Thread.currentThread();
+
+        Assertions.assertSame(caller, matchCommandService.execute(new ObjectId(), Thread::currentThread));
+    }
+
+    @Test
+    void nestedCommandForSameMatchIsExecutedDirectly() {
+        ObjectId matchId = new ObjectId();
+
+        int result = matchCommandService.execute(matchId, () -> matchCommandService.execute(matchId, () -> 2));
+        Assertions.assertEquals(2, result);
+    }
+
+    private boolean awaitOther(IX01MatchCommandService commandService, ObjectId matchId, CountDownLatch bothRunning) {
+        return commandService.execute(matchId, () -> {
+            bothRunning.countDown();
+            try {
+                return bothRunning.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+    }
+}
@@ -0,0 +1,186 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
+import nl.kmartin.dartsmatcherapiv2.config.JacksonConfig;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchStatus;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.PlayerType;
+import nl.kmartin.dartsmatcherapiv2.features.testutils.X01FeatureTestFactory;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.*;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.api.IX01MatchRepository;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEvent;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchPublishService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.*;
+
+/**
+ * Verifies that applying the broadcast delta of an added turn to the previous match results in the updated match.
+ */
+@ExtendWith(MockitoExtension.class)
+public class X01MatchDeltaTests {
+    private static final int MAX_TURNS = 1000;
+    private static final int[] SCORES = {26, 41, 45, 60, 81, 85, 100, 121, 140, 180};
+
+    @Mock
+    private IX01MatchRepository matchRepository;
+
+    @Mock
+    private MessageResolver messageResolver;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IX01MatchPublishService matchPublishService;
+
+    private X01FeatureTestFactory featureTestFactory;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        featureTestFactory = new X01FeatureTestFactory(matchRepository, messageResolver, eventPublisher);
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        objectMapper = jacksonConfig.objectMapper(jacksonConfig.customSerializerModule());
+        Mockito.when(matchRepository.save(Mockito.any(X01Match.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void appliedDeltaEqualsFullMatch() throws Exception {
+        IX01MatchService matchService = featureTestFactory.createMatchService(matchPublishService, true);
+        X01Match match = createTestMatch();
+        matchService.createMatch(match);
+        Mockito.when(matchRepository.findById(match.getId())).thenReturn(Optional.of(match));
+
+        Random random = new Random(1);
+        int deltas = 0;
+        for (int turns = 0; match.getMatchStatus() == MatchStatus.IN_PLAY && turns < MAX_TURNS; turns++) {
+            // Given
+            X01Match previousMatch = copy(match);
+
+            // When
+            matchService.addTurn(match.getId(), createTurn(match, random));
+
+            // Then
+            X01MatchEvent event = getLastPublishedEvent();
+            if (event instanceof X01MatchEvent.X01AddTurnDeltaEvent deltaEvent) {
+                applyDelta(previousMatch, deltaEvent.payload());
+                Assertions.assertEquals(createSnapshot(match), createSnapshot(previousMatch),
+                        "Applied delta differs from the match after turn " + turns);
+                deltas++;
+            }
+        }
+
+        // The turn that concludes the match is broadcast as the full match.
+        Assertions.assertEquals(MatchStatus.CONCLUDED, match.getMatchStatus());
+        Assertions.assertInstanceOf(X01MatchEvent.X01AddHumanTurnEvent.class, getLastPublishedEvent());
+        Assertions.assertTrue(deltas > 0);
+    }
+
+    @Test
+    void addedTurnIsBroadcastAsFullMatchByDefault() {
+        IX01MatchService matchService = featureTestFactory.createMatchService(matchPublishService, false);
+        X01Match match = createTestMatch();
+        matchService.createMatch(match);
+        Mockito.when(matchRepository.findById(match.getId())).thenReturn(Optional.of(match));
+
+        matchService.addTurn(match.getId(), new X01Turn(60, null, 0));
+
+        Assertions.assertInstanceOf(X01MatchEvent.X01AddHumanTurnEvent.class, getLastPublishedEvent());
+    }
+
+    private X01MatchEvent getLastPublishedEvent() {
+        ArgumentCaptor<X01MatchEvent> eventCaptor = ArgumentCaptor.forClass(X01MatchEvent.class);
+        Mockito.verify(matchPublishService, Mockito.atLeastOnce()).publish(eventCaptor.capture());
+        return eventCaptor.getValue();
+    }
+
+    /**
+     * Applies a delta to a match the way a subscriber does.
+     */
+    private void applyDelta(X01Match match, X01MatchDelta delta) {
+        X01Set set = match.getSets().computeIfAbsent(delta.setNumber(), setNumber -> new X01Set(null, delta.setThrowsFirst(), null));
+        set.setResult(delta.setResult());
+
+        X01Leg leg = set.getLegs().computeIfAbsent(delta.legNumber(), legNumber -> new X01Leg(null, delta.legThrowsFirst(), null));
+        leg.setWinner(delta.legWinner());
+        leg.setCheckoutDartsUsed(delta.checkoutDartsUsed());
+        leg.getRounds().computeIfAbsent(delta.roundNumber(), roundNumber -> new X01LegRound())
+                .getScores().put(delta.playerId(), delta.roundScore());
+
+        match.setBroadcastVersion(delta.broadcastVersion());
+        match.setMatchStatus(delta.matchStatus());
+        match.setMatchProgress(delta.matchProgress());
+        match.setStandings(delta.standings());
+        match.getPlayers().stream()
+                .filter(player -> delta.statistics().containsKey(player.getPlayerId()))
+                .forEach(player -> player.setStatistics(delta.statistics().get(player.getPlayerId())));
+    }
+
+    /**
+     * Creates a json snapshot of a match without the empty rounds, legs and sets. The match creates the next round,
+     * leg or set ahead of time, a subscriber creates it when the delta of the first score in it arrives.
+     */
+    private String createSnapshot(X01Match match) throws Exception {
+        X01Match snapshot = copy(match);
+        snapshot.getSets().values().forEach(set -> {
+            set.getLegs().values().forEach(leg -> leg.getRounds().values().removeIf(round -> round.getScores().isEmpty()));
+            set.getLegs().values().removeIf(leg -> leg.getRounds().isEmpty());
+        });
+        snapshot.getSets().values().removeIf(set -> set.getLegs().isEmpty());
+        return objectMapper.writeValueAsString(snapshot);
+    }
+
+    private X01Match copy(X01Match match) throws Exception {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(match), X01Match.class);
+    }
+
+    private X01Turn createTurn(X01Match match, Random random) {
+        int remaining = getRemaining(match, match.getMatchProgress().getCurrentThrower());
+
+        // Checkout when the remaining is a double.
+        if (remaining <= 40 && remaining % 2 == 0) return new X01Turn(remaining, 1 + random.nextInt(3), random.nextInt(2));
+
+        // Otherwise score without leaving less than two.
+        int score = SCORES[random.nextInt(SCORES.length)];
+        return new X01Turn(Math.min(score, remaining - 2), null, 0);
+    }
+
+    private int getRemaining(X01Match match, ObjectId playerId) {
+        X01MatchProgress progress = match.getMatchProgress();
+        X01Set set = match.getSets().get(progress.getCurrentSet());
+        X01Leg leg = set != null ? set.getLegs().get(progress.getCurrentLeg()) : null;
+        if (leg == null) return match.getMatchSettings().getX01();
+
+        return leg.getRounds().descendingMap().values().stream()
+                .map(round -> round.getScores().get(playerId))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .map(X01LegRoundScore::getRemaining)
+                .orElse(match.getMatchSettings().getX01());
+    }
+
+    private X01Match createTestMatch() {
+        X01ClearByTwoRule clearByTwoRule = new X01ClearByTwoRule(false, 0);
+        X01BestOf bestOf = new X01BestOf(3, 3, X01BestOfType.SETS, clearByTwoRule, clearByTwoRule, clearByTwoRule);
+
+        X01MatchPlayer player1 = new X01MatchPlayer(null, "Player 1", PlayerType.HUMAN, null, null, null);
+        X01MatchPlayer player2 = new X01MatchPlayer(null, "Player 2", PlayerType.HUMAN, null, null, null);
+
+        X01Match match = new X01Match();
+        match.setId(new ObjectId());
+        match.setMatchSettings(new X01MatchSettings(301, true, bestOf));
+        match.setPlayers(new ArrayList<>(List.of(player1, player2)));
+        return match;
+    }
+}
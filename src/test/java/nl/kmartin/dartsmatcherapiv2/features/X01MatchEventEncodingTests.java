@@ -0,0 +1,94 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.kmartin.dartsmatcherapiv2.common.WebsocketDestinations;
+import nl.kmartin.dartsmatcherapiv2.config.EventEncodingChannelInterceptor;
+import nl.kmartin.dartsmatcherapiv2.config.JacksonConfig;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01StandingsEntry;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.*;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchEventEncoderServiceImpl;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchMetricsServiceImpl;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchPublishServiceImpl;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class X01MatchEventEncodingTests {
+
+    @Test
+    void binaryBroadcastIsCompactCbor() throws Exception {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        ObjectMapper objectMapper = jacksonConfig.objectMapper(jacksonConfig.customSerializerModule());
+        BlockingQueue<X01MatchBroadcast> broadcasts = new LinkedBlockingQueue<>();
+        X01MatchPublishServiceImpl matchPublishService = new X01MatchPublishServiceImpl(event -> broadcasts.add((X01MatchBroadcast) event),
+                new X01MatchEventEncoderServiceImpl(objectMapper, 100), new X01MatchMetricsServiceImpl(new SimpleMeterRegistry()),
+                new ThreadPoolTaskExecutorBuilder(), 1, 100, true);
+
+        try {
+            X01Match match = new X01Match();
+            match.setId(new ObjectId());
+            match.setBroadcastVersion(1);
+            ObjectId playerId = new ObjectId();
+            match.getStandings().put(playerId, new X01StandingsEntry());
+            matchPublishService.publish(new X01MatchEvent.X01ProcessMatchEvent(match));
+
+            X01MatchBroadcast broadcast = broadcasts.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(broadcast);
+            X01EncodedMatchEvent binaryEvent = broadcast.binaryEvent();
+            Assertions.assertEquals(X01MatchEventEncoding.CBOR, binaryEvent.encoding());
+            Assertions.assertTrue(binaryEvent.payload().length < broadcast.event().payload().length);
+
+            // The binary encoding has the same structure as json, object ids are written like the ids used as map keys.
+            JsonNode event = objectMapper.copyWith(new CBORFactory()).readTree(binaryEvent.payload());
+            Assertions.assertEquals("PROCESS_MATCH", event.get("eventType").asText());
+            Assertions.assertEquals(match.getId().toHexString(), event.get("payload").get("id").textValue());
+            Assertions.assertTrue(event.get("payload").get("standings").has(playerId.toHexString()));
+
+            // Binary events are sent with the content type that is sent as websocket binary frames.
+            Message<?> message = new X01EncodedMatchEventConverter().toMessage(binaryEvent, null);
+            Assertions.assertNotNull(message);
+            Assertions.assertEquals(MimeTypeUtils.APPLICATION_OCTET_STREAM, message.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+        } finally {
+            matchPublishService.shutdown();
+        }
+    }
+
+    @Test
+    void subscriptionAcceptingCborIsMovedToBinaryDestination() {
+        EventEncodingChannelInterceptor interceptor = new EventEncodingChannelInterceptor(true);
+        ExecutorSubscribableChannel channel = new ExecutorSubscribableChannel();
+        ObjectId matchId = new ObjectId();
+        String destination = WebsocketDestinations.getX01MatchBroadcastDestination(matchId);
+
+        Message<?> cborSubscription = interceptor.preSend(createSubscription(destination, "application/cbor"), channel);
+        Assertions.assertEquals(WebsocketDestinations.getX01MatchBroadcastDestination(matchId, X01MatchEventEncoding.CBOR),
+                StompHeaderAccessor.wrap(cborSubscription).getDestination());
+
+        Message<?> jsonSubscription = interceptor.preSend(createSubscription(destination, null), channel);
+        Assertions.assertEquals(destination, StompHeaderAccessor.wrap(jsonSubscription).getDestination());
+    }
+
+    private Message<byte[]> createSubscription(String destination, String accept) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setSubscriptionId("sub-0");
+        if (accept != null) accessor.setNativeHeader(X01MatchEventEncoding.ACCEPT_HEADER, accept);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
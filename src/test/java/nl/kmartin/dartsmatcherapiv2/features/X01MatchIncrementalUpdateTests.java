@@ -0,0 +1,131 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchStatus;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.PlayerType;
+import nl.kmartin.dartsmatcherapiv2.features.testutils.X01FeatureTestFactory;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.*;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.api.IX01MatchRepository;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.*;
+
+/**
+ * Verifies that incrementally updating a match after each added turn results in the same match state as fully
+ * recalculating the match.
+ */
+@ExtendWith(MockitoExtension.class)
+public class X01MatchIncrementalUpdateTests {
+    private static final int MAX_TURNS = 1000;
+    private static final int[] SCORES = {26, 41, 45, 60, 81, 85, 100, 121, 140, 180};
+
+    @Mock
+    private IX01MatchRepository matchRepository;
+
+    @Mock
+    private MessageResolver messageResolver;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private IX01MatchService matchService;
+
+    @BeforeEach
+    void setUp() {
+        X01FeatureTestFactory featureTestFactory = new X01FeatureTestFactory(matchRepository, messageResolver, eventPublisher);
+        matchService = featureTestFactory.createMatchService();
+    }
+
+    @Test
+    void incrementalUpdateMatchesFullRecalculation() {
+        for (long seed = 0; seed < 5; seed++) {
+            playAndVerifyMatch(new Random(seed));
+        }
+    }
+
+    private void playAndVerifyMatch(Random random) {
+        // Given
+        X01Match match = createTestMatch();
+        Mockito.when(matchRepository.save(Mockito.any(X01Match.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        matchService.createMatch(match);
+        Mockito.when(matchRepository.findById(match.getId())).thenReturn(Optional.of(match));
+
+        ObjectId humanId = match.getPlayers().get(0).getPlayerId();
+        int turns = 0;
+
+        // When
+        while (match.getMatchStatus() == MatchStatus.IN_PLAY && turns++ < MAX_TURNS) {
+            matchService.addTurn(match.getId(), createHumanTurn(match, humanId, random));
+            String incrementalSnapshot = createSnapshot(match);
+
+            matchService.reprocessMatch(match.getId());
+            String fullSnapshot = createSnapshot(match);
+
+            // Then
+            Assertions.assertEquals(fullSnapshot, incrementalSnapshot, "Incremental update diverged after turn " + turns);
+        }
+
+        Assertions.assertEquals(MatchStatus.CONCLUDED, match.getMatchStatus());
+    }
+
+    private X01Turn createHumanTurn(X01Match match, ObjectId humanId, Random random) {
+        int remaining = getRemaining(match, humanId);
+
+        // Occasionally bust the turn.
+        if (remaining <= 60 && random.nextInt(5) == 0) return new X01Turn(remaining + 1, null, 1);
+
+        // Checkout when the remaining is a double.
+        if (remaining <= 40 && remaining % 2 == 0) return new X01Turn(remaining, 1 + random.nextInt(3), random.nextInt(2));
+
+        // Otherwise score without leaving less than two.
+        int score = SCORES[random.nextInt(SCORES.length)];
+        return new X01Turn(Math.min(score, remaining - 2), null, 0);
+    }
+
+    private int getRemaining(X01Match match, ObjectId playerId) {
+        X01MatchProgress progress = match.getMatchProgress();
+        X01Set set = match.getSets().get(progress.getCurrentSet());
+        X01Leg leg = set != null ? set.getLegs().get(progress.getCurrentLeg()) : null;
+        if (leg == null) return match.getMatchSettings().getX01();
+
+        return leg.getRounds().descendingMap().values().stream()
+                .map(round -> round.getScores().get(playerId))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .map(X01LegRoundScore::getRemaining)
+                .orElse(match.getMatchSettings().getX01());
+    }
+
+    private String createSnapshot(X01Match match) {
+        return String.join("|",
+                String.valueOf(match.getPlayers()),
+                String.valueOf(match.getSets()),
+                String.valueOf(match.getStandings()),
+                String.valueOf(match.getMatchProgress()),
+                String.valueOf(match.getMatchStatus())
+        );
+    }
+
+    private X01Match createTestMatch() {
+        X01ClearByTwoRule clearByTwoRule = new X01ClearByTwoRule(false, 0);
+        X01BestOf bestOf = new X01BestOf(3, 3, X01BestOfType.SETS, clearByTwoRule, clearByTwoRule, clearByTwoRule);
+
+        X01MatchPlayer human = new X01MatchPlayer(null, "Human", PlayerType.HUMAN, null, null, null);
+        X01MatchPlayer dartBot = new X01MatchPlayer(null, "Dart Bot", PlayerType.DART_BOT, null, new X01DartBotSettings(70), null);
+
+        X01Match match = new X01Match();
+        match.setId(new ObjectId());
+        match.setMatchSettings(new X01MatchSettings(301, true, bestOf));
+        match.setPlayers(new ArrayList<>(List.of(human, dartBot)));
+        return match;
+    }
+}
@@ -0,0 +1,68 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
+import nl.kmartin.dartsmatcherapiv2.config.JacksonConfig;
+import nl.kmartin.dartsmatcherapiv2.features.testutils.X01FeatureTestFactory;
+import nl.kmartin.dartsmatcherapiv2.features.testutils.X01SyntheticMatchFactory;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.api.IX01MatchRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+public class X01MatchJsonTests {
+
+    @Mock
+    private IX01MatchRepository matchRepository;
+
+    @Mock
+    private MessageResolver messageResolver;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ObjectMapper objectMapper;
+    private X01Match match;
+
+    @BeforeEach
+    void setUp() {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        objectMapper = jacksonConfig.objectMapper(jacksonConfig.customSerializerModule());
+        match = new X01SyntheticMatchFactory(new X01FeatureTestFactory(matchRepository, messageResolver, eventPublisher))
+                .createConcludedMatch(3, 3, 1);
+    }
+
+    @Test
+    void setsLegsAndRoundsAreWrittenAsOrderedEntries() throws Exception {
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(match));
+
+        JsonNode sets = json.get("sets");
+        Assertions.assertTrue(sets.isArray());
+        Assertions.assertEquals(match.getSets().size(), sets.size());
+        Assertions.assertEquals(match.getSets().firstKey(), sets.get(0).get("setNumber").asInt());
+
+        JsonNode legs = sets.get(0).get("set").get("legs");
+        Assertions.assertEquals(match.getSets().firstEntry().getValue().getLegs().size(), legs.size());
+        Assertions.assertEquals(1, legs.get(0).get("legNumber").asInt());
+
+        JsonNode rounds = legs.get(0).get("leg").get("rounds");
+        Assertions.assertEquals(1, rounds.get(0).get("roundNumber").asInt());
+        Assertions.assertTrue(rounds.get(0).get("round").has("scores"));
+    }
+
+    @Test
+    void matchSurvivesJsonAndCborRoundTrip() throws Exception {
+        Assertions.assertEquals(match, objectMapper.readValue(objectMapper.writeValueAsBytes(match), X01Match.class));
+
+        ObjectMapper cborMapper = objectMapper.copyWith(new CBORFactory());
+        Assertions.assertEquals(match, cborMapper.readValue(cborMapper.writeValueAsBytes(match), X01Match.class));
+    }
+}
@@ -0,0 +1,61 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventType;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchMetricsServiceImpl;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchPhase;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class X01MatchMetricsTests {
+    private SimpleMeterRegistry meterRegistry;
+    private X01MatchMetricsServiceImpl matchMetricsService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        matchMetricsService = new X01MatchMetricsServiceImpl(meterRegistry);
+    }
+
+    @Test
+    void phaseIsRecordedPerPhaseAndEventType() {
+        matchMetricsService.recordPhase(X01MatchPhase.SAVE, X01MatchEventType.PROCESS_MATCH, () -> {
+        });
+        matchMetricsService.recordPhase(X01MatchPhase.SAVE, X01MatchEventType.ADD_HUMAN_TURN, () -> {
+        });
+        matchMetricsService.recordPhase(X01MatchPhase.SAVE, X01MatchEventType.ADD_HUMAN_TURN, () -> {
+        });
+
+        Assertions.assertEquals(1, meterRegistry.get("x01.match.phase").tags("phase", "save", "event", "process_match").timer().count());
+        Assertions.assertEquals(2, meterRegistry.get("x01.match.phase").tags("phase", "save", "event", "add_human_turn").timer().count());
+        Assertions.assertEquals(2, meterRegistry.find("x01.match.phase").timers().size());
+    }
+
+    @Test
+    void phaseReturnsResultOfWork() {
+        Assertions.assertEquals(1, matchMetricsService.recordPhase(X01MatchPhase.UPDATE, X01MatchEventType.EDIT_TURN, () -> 1));
+    }
+
+    @Test
+    void loadIsRecordedPerSource() {
+        matchMetricsService.recordLoad(false, 1_000);
+        matchMetricsService.recordLoad(true, 1_000);
+        matchMetricsService.recordLoad(true, 1_000);
+
+        Assertions.assertEquals(1, meterRegistry.get("x01.match.load").tags("source", "database").timer().count());
+        Assertions.assertEquals(2, meterRegistry.get("x01.match.load").tags("source", "cache").timer().count());
+    }
+
+    @Test
+    void saveConflictsAndBroadcastsAreRecordedPerEventType() {
+        matchMetricsService.recordSaveConflict(X01MatchEventType.ADD_HUMAN_TURN);
+        matchMetricsService.recordSaveConflict(X01MatchEventType.ADD_HUMAN_TURN);
+        matchMetricsService.recordBroadcast(X01MatchEventType.ADD_BOT_TURN, 1_000);
+        matchMetricsService.recordBroadcast(null, 1_000);
+
+        Assertions.assertEquals(2, meterRegistry.get("x01.match.save.conflicts").tags("event", "add_human_turn").counter().count());
+        Assertions.assertEquals(1, meterRegistry.get("x01.match.broadcast.latency").tags("event", "add_bot_turn").timer().count());
+        Assertions.assertEquals(1, meterRegistry.get("x01.match.broadcast.latency").tags("event", "none").timer().count());
+    }
+}
@@ -0,0 +1,180 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchStatus;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.PlayerType;
+import nl.kmartin.dartsmatcherapiv2.features.testutils.X01FeatureTestFactory;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.*;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.api.IX01MatchRepository;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchPartialUpdateService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchPartialUpdateServiceImpl;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.*;
+
+/**
+ * Verifies that applying the partial update of an added turn to the persisted match results in the same document as
+ * persisting the whole match.
+ */
+@ExtendWith(MockitoExtension.class)
+public class X01MatchPartialUpdateTests {
+    private static final int MAX_TURNS = 1000;
+    private static final int[] SCORES = {26, 41, 45, 60, 81, 85, 100, 121, 140, 180};
+
+    @Mock
+    private IX01MatchRepository matchRepository;
+
+    @Mock
+    private MessageResolver messageResolver;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private MappingMongoConverter mongoConverter;
+    private IX01MatchService matchService;
+    private IX01MatchPartialUpdateService matchPartialUpdateService;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(Collections.emptyList());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        mongoConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        mongoConverter.setCustomConversions(conversions);
+        mongoConverter.afterPropertiesSet();
+        Mockito.when(mongoTemplate.getConverter()).thenReturn(mongoConverter);
+
+        X01FeatureTestFactory featureTestFactory = new X01FeatureTestFactory(matchRepository, messageResolver, eventPublisher);
+        matchService = featureTestFactory.createMatchService();
+        matchPartialUpdateService = new X01MatchPartialUpdateServiceImpl(mongoTemplate);
+    }
+
+    @Test
+    void partialUpdateMatchesFullDocument() {
+        for (long seed = 0; seed < 3; seed++) {
+            playAndVerifyMatch(new Random(seed));
+        }
+    }
+
+    private void playAndVerifyMatch(Random random) {
+        // Given
+        X01Match match = createTestMatch();
+        Mockito.when(matchRepository.save(Mockito.any(X01Match.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        matchService.createMatch(match);
+        Mockito.when(matchRepository.findById(match.getId())).thenReturn(Optional.of(match));
+
+        int turns = 0;
+
+        // When
+        while (match.getMatchStatus() == MatchStatus.IN_PLAY && turns++ < MAX_TURNS) {
+            X01MatchProgress progress = match.getMatchProgress();
+            X01TurnDelta turnDelta = new X01TurnDelta(progress.getCurrentSet(), progress.getCurrentLeg(),
+                    progress.getCurrentRound(), progress.getCurrentThrower());
+            Document persistedDocument = createDocument(match);
+
+            matchService.addTurn(match.getId(), createTurn(match, progress.getCurrentThrower(), random));
+            applyUpdate(persistedDocument, matchPartialUpdateService.createTurnUpdate(match, turnDelta).getUpdateObject());
+
+            // Then
+            Assertions.assertEquals(createDocument(match), persistedDocument, "Partial update diverged after turn " + turns);
+        }
+
+        Assertions.assertEquals(MatchStatus.CONCLUDED, match.getMatchStatus());
+    }
+
+    private Document createDocument(X01Match match) {
+        Document document = new Document();
+        mongoConverter.write(match, document);
+        document.remove("version");
+        return document;
+    }
+
+    private void applyUpdate(Document document, Document updateObject) {
+        Document setOperations = updateObject.get("$set", new Document());
+        setOperations.forEach((key, value) -> {
+            String[] path = key.split("\\.");
+            getParent(document, path).put(path[path.length - 1], value);
+        });
+
+        Document unsetOperations = updateObject.get("$unset", new Document());
+        unsetOperations.keySet().forEach(key -> {
+            String[] path = key.split("\\.");
+            getParent(document, path).remove(path[path.length - 1]);
+        });
+    }
+
+    private Document getParent(Document document, String[] path) {
+        Document parent = document;
+        for (int i = 0; i < path.length - 1; i++) {
+            Object child = parent.get(path[i]);
+            if (!(child instanceof Document)) {
+                child = new Document();
+                parent.put(path[i], child);
+            }
+            parent = (Document) child;
+        }
+        return parent;
+    }
+
+    private X01Turn createTurn(X01Match match, ObjectId playerId, Random random) {
+        int remaining = getRemaining(match, playerId);
+
+        // Occasionally bust the turn.
+        if (remaining <= 60 && random.nextInt(5) == 0) return new X01Turn(remaining + 1, null, 1);
+
+        // Checkout when the remaining is a double.
+        if (remaining <= 40 && remaining % 2 == 0) return new X01Turn(remaining, 1 + random.nextInt(3), random.nextInt(2));
+
+        // Otherwise score without leaving less than two.
+        int score = SCORES[random.nextInt(SCORES.length)];
+        return new X01Turn(Math.min(score, remaining - 2), null, 0);
+    }
+
+    private int getRemaining(X01Match match, ObjectId playerId) {
+        X01MatchProgress progress = match.getMatchProgress();
+        X01Set set = match.getSets().get(progress.getCurrentSet());
+        X01Leg leg = set != null ? set.getLegs().get(progress.getCurrentLeg()) : null;
+        if (leg == null) return match.getMatchSettings().getX01();
+
+        return leg.getRounds().descendingMap().values().stream()
+                .map(round -> round.getScores().get(playerId))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .map(X01LegRoundScore::getRemaining)
+                .orElse(match.getMatchSettings().getX01());
+    }
+
+    private X01Match createTestMatch() {
+        X01ClearByTwoRule clearByTwoRule = new X01ClearByTwoRule(false, 0);
+        X01BestOf bestOf = new X01BestOf(3, 3, X01BestOfType.SETS, clearByTwoRule, clearByTwoRule, clearByTwoRule);
+
+        X01MatchPlayer player1 = new X01MatchPlayer(null, "Player 1", PlayerType.HUMAN, null, null, null);
+        X01MatchPlayer player2 = new X01MatchPlayer(null, "Player 2", PlayerType.HUMAN, null, null, null);
+
+        X01Match match = new X01Match();
+        match.setId(new ObjectId());
+        match.setMatchSettings(new X01MatchSettings(301, true, bestOf));
+        match.setPlayers(new ArrayList<>(List.of(player1, player2)));
+        return match;
+    }
+}
@@ -0,0 +1,231 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.kmartin.dartsmatcherapiv2.config.JacksonConfig;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01EncodedMatchEvent;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01EncodedMatchEventConverter;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchBroadcast;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEvent;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.event.X01MatchEventType;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchEventEncoderService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchMetricsService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchEventEncoderServiceImpl;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchMetricsServiceImpl;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchPublishServiceImpl;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class X01MatchPublishTests {
+    private static final int POOL_SIZE = 4;
+
+    private final BlockingQueue<X01MatchBroadcast> broadcasts = new LinkedBlockingQueue<>();
+    private ObjectMapper objectMapper;
+    private IX01MatchEventEncoderService matchEventEncoderService;
+    private IX01MatchMetricsService matchMetricsService;
+    private X01MatchPublishServiceImpl matchPublishService;
+
+    @BeforeEach
+    void setUp() {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        objectMapper = jacksonConfig.objectMapper(jacksonConfig.customSerializerModule());
+        matchEventEncoderService = new X01MatchEventEncoderServiceImpl(objectMapper, 100);
+        matchMetricsService = new X01MatchMetricsServiceImpl(new SimpleMeterRegistry());
+        matchPublishService = new X01MatchPublishServiceImpl(event -> broadcasts.add((X01MatchBroadcast) event),
+                matchEventEncoderService, matchMetricsService, new ThreadPoolTaskExecutorBuilder(), POOL_SIZE, 100, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchPublishService.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void broadcastsOfSameMatchAreSentInOrder() throws InterruptedException {
+        X01Match match = createTestMatch();
+        for (int version = 1; version <= 50; version++) {
+            match.setBroadcastVersion(version);
+            matchPublishService.publish(new X01MatchEvent.X01ProcessMatchEvent(match));
+        }
+
+        for (int version = 1; version <= 50; version++) {
+            X01MatchBroadcast broadcast = broadcasts.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(broadcast);
+            Assertions.assertEquals(version, broadcast.event().broadcastVersion());
+        }
+    }
+
+    @Test
+    void staleBroadcastIsSkipped() throws InterruptedException {
+        // Block the first broadcast, so the other broadcasts are queued behind it.
+        CountDownLatch release = new CountDownLatch(1);
+        X01MatchPublishServiceImpl blockingPublishService = new X01MatchPublishServiceImpl(event -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            broadcasts.add((X01MatchBroadcast) event);
+        }, matchEventEncoderService, matchMetricsService, new ThreadPoolTaskExecutorBuilder(), POOL_SIZE, 100, false);
+
+        try {
+            X01Match match = createTestMatch();
+            match.setBroadcastVersion(2);
+            blockingPublishService.publish(new X01MatchEvent.X01ProcessMatchEvent(match));
+            match.setBroadcastVersion(1);
+            blockingPublishService.publish(new X01MatchEvent.X01ProcessMatchEvent(match));
+            match.setBroadcastVersion(3);
+            blockingPublishService.publish(new X01MatchEvent.X01ProcessMatchEvent(match));
+            release.countDown();
+
+            Assertions.assertEquals(2, broadcasts.poll(5, TimeUnit.SECONDS).event().broadcastVersion());
+            Assertions.assertEquals(3, broadcasts.poll(5, TimeUnit.SECONDS).event().broadcastVersion());
+            Assertions.assertEquals(1, blockingPublishService.getMetrics().stale());
+        } finally {
+            blockingPublishService.shutdown();
+        }
+    }
+
+    @Test
+    void broadcastIsSnapshotWhenPublished() throws Exception {
+        X01Match match = createTestMatch();
+        match.setBroadcastVersion(1);
+        matchPublishService.publish(new X01MatchEvent.X01ProcessMatchEvent(match));
+        match.setBroadcastVersion(2);
+
+        X01MatchBroadcast broadcast = broadcasts.poll(5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(broadcast);
+        JsonNode message = objectMapper.readTree(broadcast.event().payload());
+        Assertions.assertEquals(1, message.get("payload").get("broadcastVersion").asInt());
+    }
+
+    @Test
+    void broadcastIsSentAfterCommit() throws InterruptedException {
+        X01Match match = createTestMatch();
+        TransactionSynchronizationManager.initSynchronization();
+        matchPublishService.publish(new X01MatchEvent.X01ProcessMatchEvent(match));
+
+        Assertions.assertNull(broadcasts.poll(100, TimeUnit.MILLISECONDS));
+
+        commit();
+
+        X01MatchBroadcast broadcast = broadcasts.poll(5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(broadcast);
+
+        // The committed encoding is reused instead of serializing the event again.
+        X01EncodedMatchEvent encodedEvent = matchEventEncoderService.getOrEncode(new X01MatchEvent.X01ProcessMatchEvent(match));
+        Assertions.assertSame(broadcast.event(), encodedEvent);
+    }
+
+    @Test
+    void committedMatchIsEncodedWhenSent() throws InterruptedException {
+        IX01MatchEventEncoderService encoderService = Mockito.spy(matchEventEncoderService);
+        X01MatchPublishServiceImpl publishService = new X01MatchPublishServiceImpl(event -> broadcasts.add((X01MatchBroadcast) event),
+                encoderService, matchMetricsService, new ThreadPoolTaskExecutorBuilder(), POOL_SIZE, 100, false);
+
+        try {
+            // A human turn followed by a bot turn in the same transaction.
+            X01Match match = createTestMatch();
+            TransactionSynchronizationManager.initSynchronization();
+            match.setBroadcastVersion(1);
+            publishService.publish(new X01MatchEvent.X01AddHumanTurnEvent(match));
+            match.setBroadcastVersion(2);
+            publishService.publish(new X01MatchEvent.X01AddBotTurnEvent(match));
+
+            // Nothing is encoded on the thread that modified the match.
+            Mockito.verifyNoInteractions(encoderService);
+            commit();
+
+            // Only the committed match is encoded and broadcast, as the last event of the transaction.
+            X01MatchBroadcast broadcast = broadcasts.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(broadcast);
+            Assertions.assertEquals(X01MatchEventType.ADD_BOT_TURN, broadcast.event().eventType());
+            Assertions.assertEquals(2, broadcast.event().broadcastVersion());
+            Assertions.assertNull(broadcasts.poll(200, TimeUnit.MILLISECONDS));
+            Assertions.assertEquals(1, publishService.getMetrics().stale());
+        } finally {
+            publishService.shutdown();
+        }
+    }
+
+    @Test
+    void replyIsEncodedAsEventOfCommand() throws InterruptedException {
+        // A human turn followed by a bot turn is broadcast as a bot turn.
+        X01Match match = createTestMatch();
+        matchPublishService.publish(new X01MatchEvent.X01AddBotTurnEvent(match));
+
+        X01MatchBroadcast broadcast = broadcasts.poll(5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(broadcast);
+
+        // The reply to the human turn is a human turn event, only an event of the same type reuses the broadcast.
+        X01EncodedMatchEvent reply = matchEventEncoderService.getOrEncode(new X01MatchEvent.X01AddHumanTurnEvent(match));
+        Assertions.assertEquals(X01MatchEventType.ADD_HUMAN_TURN, reply.eventType());
+        Assertions.assertSame(broadcast.event(), matchEventEncoderService.getOrEncode(new X01MatchEvent.X01AddBotTurnEvent(match)));
+    }
+
+    @Test
+    void encodedEventIsSentAsIs() {
+        X01EncodedMatchEvent encodedEvent = matchEventEncoderService.encode(new X01MatchEvent.X01ProcessMatchEvent(createTestMatch()));
+
+        Message<?> message = new X01EncodedMatchEventConverter().toMessage(encodedEvent, null);
+
+        Assertions.assertNotNull(message);
+        Assertions.assertSame(encodedEvent.payload(), message.getPayload());
+        Assertions.assertEquals(MimeTypeUtils.APPLICATION_JSON, message.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+    }
+
+    @Test
+    void broadcastIsDroppedWhenFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        X01MatchPublishServiceImpl blockingPublishService = new X01MatchPublishServiceImpl(event -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, matchEventEncoderService, matchMetricsService, new ThreadPoolTaskExecutorBuilder(), 1, 2, false);
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                blockingPublishService.publish(new X01MatchEvent.X01DeleteMatchEvent(new ObjectId()));
+            }
+            Assertions.assertEquals(1, blockingPublishService.getMetrics().dropped());
+        } finally {
+            release.countDown();
+            blockingPublishService.shutdown();
+        }
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    private X01Match createTestMatch() {
+        X01Match match = new X01Match();
+        match.setId(new ObjectId());
+        return match;
+    }
+}
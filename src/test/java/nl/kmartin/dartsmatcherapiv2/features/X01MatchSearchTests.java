@@ -0,0 +1,106 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
+import nl.kmartin.dartsmatcherapiv2.exceptionhandler.exception.InvalidArgumentsException;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchStatus;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchSearch;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchSummary;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchSummaryPage;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchSearchService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchSearchServiceImpl;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class X01MatchSearchTests {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MessageResolver messageResolver;
+
+    private IX01MatchSearchService matchSearchService;
+
+    @BeforeEach
+    void setUp() {
+        matchSearchService = new X01MatchSearchServiceImpl(mongoTemplate, messageResolver);
+    }
+
+    @Test
+    void searchMatches_MoreMatchesThanLimit_ReturnsNextCursorContinuingAfterLastMatch() {
+        // Given
+        Mockito.when(mongoTemplate.getCollectionName(X01Match.class)).thenReturn("matches");
+        List<X01MatchSummary> matches = createSummaries(3);
+        Mockito.when(mongoTemplate.find(Mockito.any(Query.class), Mockito.eq(X01MatchSummary.class), Mockito.eq("matches")))
+                .thenReturn(matches)
+                .thenReturn(new ArrayList<>());
+        X01MatchSearch search = new X01MatchSearch(MatchStatus.IN_PLAY, null, null, null, null, null, 2);
+
+        // When
+        X01MatchSummaryPage page = matchSearchService.searchMatches(search);
+        search.setCursor(page.getNextCursor());
+        X01MatchSummaryPage nextPage = matchSearchService.searchMatches(search);
+
+        // Then
+        Assertions.assertEquals(matches.subList(0, 2), page.getMatches());
+        Assertions.assertNotNull(page.getNextCursor());
+        Assertions.assertTrue(nextPage.getMatches().isEmpty());
+        Assertions.assertNull(nextPage.getNextCursor());
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        Mockito.verify(mongoTemplate, Mockito.times(2)).find(queryCaptor.capture(), Mockito.eq(X01MatchSummary.class), Mockito.eq("matches"));
+        Query firstQuery = queryCaptor.getAllValues().get(0);
+        Query nextQuery = queryCaptor.getAllValues().get(1);
+
+        // One match more than the limit is fetched, newest first and without the sets of the matches.
+        Assertions.assertEquals(3, firstQuery.getLimit());
+        Assertions.assertEquals(new Document("startDate", -1).append("_id", -1), firstQuery.getSortObject());
+        Assertions.assertFalse(firstQuery.getFieldsObject().containsKey("sets"));
+
+        // The next page continues after the last match of the first page.
+        X01MatchSummary last = matches.get(1);
+        String nextCriteria = nextQuery.getQueryObject().toString();
+        Assertions.assertTrue(nextCriteria.contains(last.getId().toHexString()));
+        Assertions.assertTrue(nextCriteria.contains("IN_PLAY"));
+        Assertions.assertTrue(nextCriteria.contains(last.getStartDate().toString()));
+    }
+
+    @Test
+    void searchMatches_InvalidCursor_ThrowsInvalidArgumentsException() {
+        // Given
+        X01MatchSearch search = new X01MatchSearch(null, null, null, null, null, "not-a-cursor", 20);
+
+        // When / Then
+        Assertions.assertThrows(InvalidArgumentsException.class, () -> matchSearchService.searchMatches(search));
+        Mockito.verifyNoInteractions(mongoTemplate);
+    }
+
+    private List<X01MatchSummary> createSummaries(int count) {
+        List<X01MatchSummary> summaries = new ArrayList<>();
+        Instant startDate = Instant.parse("2025-01-01T12:00:00Z");
+        for (int i = 0; i < count; i++) {
+            X01MatchSummary summary = new X01MatchSummary();
+            summary.setId(new ObjectId());
+            summary.setStartDate(startDate.minusSeconds(60L * i));
+            summary.setMatchStatus(MatchStatus.IN_PLAY);
+            summaries.add(summary);
+        }
+        return summaries;
+    }
+}
@@ -1,5 +1,7 @@
 package nl.kmartin.dartsmatcherapiv2.features;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
 import nl.kmartin.dartsmatcherapiv2.features.basematch.model.PlayerType;
 import nl.kmartin.dartsmatcherapiv2.features.x01.model.*;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01dartbot.IX01DartBotService;
@@ -8,6 +10,7 @@ import nl.kmartin.dartsmatcherapiv2.features.x01.x01leground.IX01LegRoundService
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.api.IX01MatchRepository;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.*;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01matchsetup.IX01MatchSetupService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01playerstatistics.IX01PlayerStatisticsService;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01set.IX01SetProgressService;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01statistics.IX01StatisticsService;
 import org.junit.jupiter.api.BeforeEach;
@@ -56,6 +59,17 @@ public class X01MatchServiceTests {
     @Mock
     IX01MatchPublishService matchPublishService;
 
+    @Mock
+    IX01MatchCacheService matchCacheService;
+
+    @Mock
+    IX01MatchPartialUpdateService matchPartialUpdateService;
+
+    @Mock
+    IX01PlayerStatisticsService playerStatisticsService;
+
+    @Mock
+    MessageResolver messageResolver;
 
     @BeforeEach
     void setUp() {
@@ -69,7 +83,13 @@ public class X01MatchServiceTests {
                 legService,
                 legRoundService,
                 dartBotService,
-                matchPublishService
+                matchPublishService,
+                matchCacheService,
+                matchPartialUpdateService,
+                new X01MatchMetricsServiceImpl(new SimpleMeterRegistry()),
+                playerStatisticsService,
+                messageResolver,
+                false
         );
     }
 
@@ -107,6 +127,7 @@ public class X01MatchServiceTests {
 
         // Then
         System.out.println(createdMatch);
+        Mockito.verifyNoInteractions(playerStatisticsService);
     }
 
 }
@@ -0,0 +1,70 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import nl.kmartin.dartsmatcherapiv2.exceptionhandler.exception.ResourceNotFoundException;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchSummary;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchSummaryService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchSummaryServiceImpl;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class X01MatchSummaryTests {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private IX01MatchSummaryService matchSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        matchSummaryService = new X01MatchSummaryServiceImpl(mongoTemplate);
+        Mockito.when(mongoTemplate.getCollectionName(X01Match.class)).thenReturn("matches");
+    }
+
+    @Test
+    void getMatchSummaries_ProjectsSummaryFields_ReturnsSummariesInRequestedOrder() {
+        // Given
+        X01MatchSummary first = createSummary();
+        X01MatchSummary second = createSummary();
+        Mockito.when(mongoTemplate.find(Mockito.any(Query.class), Mockito.eq(X01MatchSummary.class), Mockito.eq("matches")))
+                .thenReturn(List.of(second, first));
+
+        // When
+        List<X01MatchSummary> summaries = matchSummaryService.getMatchSummaries(List.of(first.getId(), new ObjectId(), second.getId()));
+
+        // Then
+        Assertions.assertEquals(List.of(first, second), summaries);
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        Mockito.verify(mongoTemplate).find(queryCaptor.capture(), Mockito.eq(X01MatchSummary.class), Mockito.eq("matches"));
+        Assertions.assertEquals(X01MatchSummary.FIELDS.length, queryCaptor.getValue().getFieldsObject().size());
+        Assertions.assertFalse(queryCaptor.getValue().getFieldsObject().containsKey("sets"));
+    }
+
+    @Test
+    void getMatchSummary_MatchNotFound_ThrowsResourceNotFoundException() {
+        // Given
+        ObjectId matchId = new ObjectId();
+
+        // When / Then
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> matchSummaryService.getMatchSummary(matchId));
+    }
+
+    private X01MatchSummary createSummary() {
+        X01MatchSummary summary = new X01MatchSummary();
+        summary.setId(new ObjectId());
+        return summary;
+    }
+}
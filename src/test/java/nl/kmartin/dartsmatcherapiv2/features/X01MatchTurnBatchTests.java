@@ -0,0 +1,124 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
+import nl.kmartin.dartsmatcherapiv2.exceptionhandler.exception.InvalidArgumentsException;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchStatus;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.PlayerType;
+import nl.kmartin.dartsmatcherapiv2.features.testutils.X01FeatureTestFactory;
+import nl.kmartin.dartsmatcherapiv2.features.testutils.X01SyntheticMatchFactory;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.*;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.api.IX01MatchRepository;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Verifies that adding a batch of turns results in the same match as adding the turns one by one, while the match is
+ * only saved once.
+ */
+@ExtendWith(MockitoExtension.class)
+public class X01MatchTurnBatchTests {
+    private static final ObjectId PLAYER_1_ID = new ObjectId();
+    private static final ObjectId PLAYER_2_ID = new ObjectId();
+
+    @Mock
+    private IX01MatchRepository matchRepository;
+
+    @Mock
+    private MessageResolver messageResolver;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private IX01MatchService matchService;
+    private X01SyntheticMatchFactory syntheticMatchFactory;
+
+    @BeforeEach
+    void setUp() {
+        X01FeatureTestFactory featureTestFactory = new X01FeatureTestFactory(matchRepository, messageResolver, eventPublisher);
+        matchService = featureTestFactory.createMatchService();
+        syntheticMatchFactory = new X01SyntheticMatchFactory(featureTestFactory);
+        Mockito.when(matchRepository.save(Mockito.any(X01Match.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void addTurns_EqualsAddingTurnsOneByOne_SavesOnce() {
+        // Given
+        X01Match singleTurnMatch = createTestMatch();
+        Random random = new Random(7);
+        List<X01Turn> turns = new ArrayList<>();
+        while (singleTurnMatch.getMatchStatus() == MatchStatus.IN_PLAY) {
+            X01Turn turn = syntheticMatchFactory.createTurn(singleTurnMatch, random);
+            turns.add(turn);
+            matchService.addTurn(singleTurnMatch.getId(), turn);
+        }
+
+        X01Match batchMatch = createTestMatch();
+        int broadcastVersion = batchMatch.getBroadcastVersion();
+        Mockito.clearInvocations(matchRepository);
+
+        // When
+        matchService.addTurns(batchMatch.getId(), new X01TurnBatch(turns));
+
+        // Then
+        Assertions.assertEquals(MatchStatus.CONCLUDED, batchMatch.getMatchStatus());
+        Assertions.assertEquals(createSnapshot(singleTurnMatch), createSnapshot(batchMatch));
+        Mockito.verify(matchRepository, Mockito.times(1)).save(batchMatch);
+        Assertions.assertEquals(broadcastVersion + 1, batchMatch.getBroadcastVersion());
+    }
+
+    @Test
+    void addTurns_TurnAfterConclusion_SavesNothing() {
+        // Given
+        X01Match match = createTestMatch();
+        List<X01Turn> turns = new ArrayList<>();
+        turns.add(new X01Turn(180, null, null));
+        turns.add(new X01Turn(0, null, null));
+        turns.add(new X01Turn(121, 3, 0));
+        turns.add(new X01Turn(60, null, null));
+        Mockito.clearInvocations(matchRepository);
+
+        // When, Then
+        Assertions.assertThrows(InvalidArgumentsException.class, () -> matchService.addTurns(match.getId(), new X01TurnBatch(turns)));
+        Mockito.verify(matchRepository, Mockito.never()).save(Mockito.any(X01Match.class));
+    }
+
+    private X01Match createTestMatch() {
+        X01ClearByTwoRule clearByTwoRule = new X01ClearByTwoRule(false, 0);
+        X01BestOf bestOf = new X01BestOf(1, 1, X01BestOfType.LEGS, clearByTwoRule, clearByTwoRule, clearByTwoRule);
+
+        X01Match match = new X01Match();
+        match.setId(new ObjectId());
+        match.setMatchSettings(new X01MatchSettings(301, true, bestOf));
+        match.setPlayers(new ArrayList<>(List.of(
+                new X01MatchPlayer(PLAYER_1_ID, "Player 1", PlayerType.HUMAN, null, null, null),
+                new X01MatchPlayer(PLAYER_2_ID, "Player 2", PlayerType.HUMAN, null, null, null)
+        )));
+
+        matchService.createMatch(match);
+        Mockito.when(matchRepository.findById(match.getId())).thenReturn(Optional.of(match));
+        return match;
+    }
+
+    private String createSnapshot(X01Match match) {
+        return String.join("|",
+                String.valueOf(match.getPlayers()),
+                String.valueOf(match.getSets()),
+                String.valueOf(match.getStandings()),
+                String.valueOf(match.getMatchProgress()),
+                String.valueOf(match.getMatchStatus())
+        );
+    }
+}
@@ -0,0 +1,107 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import nl.kmartin.dartsmatcherapiv2.exceptionhandler.exception.ResourceNotFoundException;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01MatchVersion;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchCacheService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchVersionService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.X01MatchVersionServiceImpl;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+public class X01MatchVersionTests {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IX01MatchCacheService matchCacheService;
+
+    private IX01MatchVersionService matchVersionService;
+
+    @BeforeEach
+    void setUp() {
+        matchVersionService = new X01MatchVersionServiceImpl(mongoTemplate, matchCacheService);
+    }
+
+    @Test
+    void getMatchETag_MatchNotCached_ProjectsVersionFields() {
+        // Given
+        X01Match match = createMatch(3, 2);
+        Mockito.when(mongoTemplate.getCollectionName(X01Match.class)).thenReturn("matches");
+        Mockito.when(mongoTemplate.findOne(Mockito.any(Query.class), Mockito.eq(X01MatchVersion.class), Mockito.eq("matches")))
+                .thenReturn(new X01MatchVersion(match.getId(), 3, 2));
+
+        // When
+        String eTag = matchVersionService.getMatchETag(match.getId());
+
+        // Then
+        Assertions.assertEquals(matchVersionService.createMatchETag(match), eTag);
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        Mockito.verify(mongoTemplate).findOne(queryCaptor.capture(), Mockito.eq(X01MatchVersion.class), Mockito.eq("matches"));
+        Assertions.assertEquals(X01MatchVersion.FIELDS.length, queryCaptor.getValue().getFieldsObject().size());
+    }
+
+    @Test
+    void getMatchETag_MatchCached_ChangesWithVersion() {
+        // Given
+        X01Match match = createMatch(3, 2);
+        Mockito.when(matchCacheService.getVersion(match.getId()))
+                .thenReturn(Optional.of(new X01MatchVersion(match.getId(), 3, 2)), Optional.of(new X01MatchVersion(match.getId(), 4, 2)));
+
+        // When
+        String eTag = matchVersionService.getMatchETag(match.getId());
+
+        // Then
+        Assertions.assertEquals(matchVersionService.createMatchETag(match), eTag);
+        Assertions.assertNotEquals(eTag, matchVersionService.getMatchETag(match.getId()));
+        Mockito.verify(matchCacheService, Mockito.never()).get(match.getId());
+        Mockito.verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void getMatchETag_MatchNotFound_ThrowsResourceNotFoundException() {
+        Mockito.when(mongoTemplate.getCollectionName(X01Match.class)).thenReturn("matches");
+
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> matchVersionService.getMatchETag(new ObjectId()));
+    }
+
+    @Test
+    void getMatchesETag_EqualsETagOfRetrievedMatches() {
+        // Given
+        X01Match first = createMatch(1, 1);
+        X01Match second = createMatch(5, 4);
+        Mockito.when(mongoTemplate.getCollectionName(X01Match.class)).thenReturn("matches");
+        Mockito.when(mongoTemplate.find(Mockito.any(Query.class), Mockito.eq(X01MatchVersion.class), Mockito.eq("matches")))
+                .thenReturn(List.of(new X01MatchVersion(second.getId(), 5, 4), new X01MatchVersion(first.getId(), 1, 1)));
+
+        // When
+        String eTag = matchVersionService.getMatchesETag(List.of(first.getId(), new ObjectId(), second.getId()));
+
+        // Then
+        Assertions.assertEquals(matchVersionService.createMatchesETag(List.of(first, second)), eTag);
+        Assertions.assertNotEquals(matchVersionService.createMatchesETag(List.of(second, first)), eTag);
+    }
+
+    private X01Match createMatch(int version, int broadcastVersion) {
+        X01Match match = new X01Match();
+        match.setId(new ObjectId());
+        match.setVersion(version);
+        match.setBroadcastVersion(broadcastVersion);
+        return match;
+    }
+}
@@ -0,0 +1,164 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchStatus;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.PlayerType;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.ResultType;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.*;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01playerstatistics.IX01PlayerStatisticsService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01playerstatistics.X01PlayerStatisticsServiceImpl;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+public class X01PlayerStatisticsTests {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private IX01PlayerStatisticsService playerStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        playerStatisticsService = new X01PlayerStatisticsServiceImpl(mongoTemplate, new ThreadPoolTaskExecutorBuilder());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((X01PlayerStatisticsServiceImpl) playerStatisticsService).shutdown();
+    }
+
+    @Test
+    void updateMatchStatistics_MatchConcluded_IncrementsStatisticsOfHumanPlayers() {
+        // Given
+        X01Match match = createConcludedMatch(100, 30, 121);
+
+        // When
+        playerStatisticsService.updateMatchStatistics(match);
+
+        // Then
+        Document update = captureUpdate();
+        Document inc = update.get("$inc", Document.class);
+        Assertions.assertEquals(1, inc.get("matchesPlayed"));
+        Assertions.assertEquals(1, inc.get("matchesWon"));
+        Assertions.assertEquals(100, inc.get("pointsThrown"));
+        Assertions.assertEquals(30, inc.get("dartsThrown"));
+        Assertions.assertFalse(inc.containsKey("matchesLost"));
+        Assertions.assertEquals(121, update.get("$max", Document.class).get("checkoutHighest"));
+
+        // The bot of the match has no lifetime statistics.
+        Mockito.verify(mongoTemplate, Mockito.times(1)).findAndReplace(Mockito.any(Query.class), Mockito.any(X01PlayerMatchStatistics.class), Mockito.any(FindAndReplaceOptions.class));
+    }
+
+    @Test
+    void updateMatchStatistics_ConcludedMatchChanged_IncrementsOnlyTheDifference() {
+        // Given
+        X01Match previousMatch = createConcludedMatch(100, 30, 121);
+        X01MatchPlayer previousPlayer = previousMatch.getPlayers().get(0);
+        X01PlayerMatchStatistics previous = new X01PlayerMatchStatistics(new ObjectId(), previousMatch.getId(),
+                previousPlayer.getPlayerName(), previousMatch.getEndDate(), previousPlayer.getResultType(), previousPlayer.getStatistics());
+        Mockito.when(mongoTemplate.findAndReplace(Mockito.any(Query.class), Mockito.any(X01PlayerMatchStatistics.class), Mockito.any(FindAndReplaceOptions.class)))
+                .thenReturn(previous);
+
+        X01Match match = createConcludedMatch(140, 33, 121);
+        match.setId(previousMatch.getId());
+
+        // When
+        playerStatisticsService.updateMatchStatistics(match);
+
+        // Then
+        Document inc = captureUpdate().get("$inc", Document.class);
+        Assertions.assertEquals(40, inc.get("pointsThrown"));
+        Assertions.assertEquals(3, inc.get("dartsThrown"));
+        Assertions.assertFalse(inc.containsKey("matchesPlayed"));
+    }
+
+    @Test
+    void updateMatchStatistics_MatchNoLongerConcluded_SubtractsStatistics() {
+        // Given
+        X01Match match = createConcludedMatch(100, 30, 0);
+        X01MatchPlayer player = match.getPlayers().get(0);
+        X01PlayerMatchStatistics previous = new X01PlayerMatchStatistics(new ObjectId(), match.getId(),
+                player.getPlayerName(), match.getEndDate(), player.getResultType(), player.getStatistics());
+        Mockito.when(mongoTemplate.findAllAndRemove(Mockito.any(Query.class), Mockito.eq(X01PlayerMatchStatistics.class)))
+                .thenReturn(List.of(previous));
+        match.setMatchStatus(MatchStatus.IN_PLAY);
+
+        // When
+        playerStatisticsService.updateMatchStatistics(match);
+
+        // Then
+        Document inc = captureUpdate().get("$inc", Document.class);
+        Assertions.assertEquals(-1, inc.get("matchesPlayed"));
+        Assertions.assertEquals(-1, inc.get("matchesWon"));
+        Assertions.assertEquals(-100, inc.get("pointsThrown"));
+        Mockito.verify(mongoTemplate, Mockito.never()).findAndReplace(Mockito.any(Query.class), Mockito.any(X01PlayerMatchStatistics.class), Mockito.any(FindAndReplaceOptions.class));
+    }
+
+    @Test
+    void startRebuildPlayerStatistics_RebuildRunning_DoesNotStartAnother() throws InterruptedException {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(mongoTemplate.getCollectionName(Mockito.any())).thenReturn("collection");
+        Mockito.when(mongoTemplate.aggregate(Mockito.any(Aggregation.class), Mockito.anyString(), Mockito.eq(Document.class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        // When
+        boolean firstStarted = playerStatisticsService.startRebuildPlayerStatistics();
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        boolean secondStarted = playerStatisticsService.startRebuildPlayerStatistics();
+        release.countDown();
+
+        // Then
+        Assertions.assertTrue(firstStarted);
+        Assertions.assertFalse(secondStarted);
+        Mockito.verify(mongoTemplate, Mockito.timeout(5000)).aggregate(Mockito.any(Aggregation.class), Mockito.eq(X01PlayerMatchStatistics.class), Mockito.eq(Document.class));
+    }
+
+    private Document captureUpdate() {
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        Mockito.verify(mongoTemplate).upsert(Mockito.any(Query.class), updateCaptor.capture(), Mockito.eq(X01PlayerStatistics.class));
+        return updateCaptor.getValue().getUpdateObject();
+    }
+
+    private X01Match createConcludedMatch(int pointsThrown, int dartsThrown, int checkoutHighest) {
+        X01Statistics humanStatistics = new X01Statistics();
+        humanStatistics.getAverageStats().setPointsThrown(pointsThrown);
+        humanStatistics.getAverageStats().setDartsThrown(dartsThrown);
+        humanStatistics.getCheckoutStats().setCheckoutHighest(checkoutHighest);
+
+        X01MatchPlayer human = new X01MatchPlayer(new ObjectId(), "John Doe", PlayerType.HUMAN, ResultType.WIN, null, humanStatistics);
+        X01MatchPlayer bot = new X01MatchPlayer(new ObjectId(), "Dart Bot", PlayerType.DART_BOT, ResultType.LOSS, null, new X01Statistics());
+
+        X01Match match = new X01Match();
+        match.setId(new ObjectId());
+        match.setMatchStatus(MatchStatus.CONCLUDED);
+        match.setEndDate(Instant.now());
+        match.setPlayers(new ArrayList<>(List.of(human, bot)));
+        return match;
+    }
+}
@@ -0,0 +1,64 @@
+package nl.kmartin.dartsmatcherapiv2.features;
+
+import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.MatchStatus;
+import nl.kmartin.dartsmatcherapiv2.features.testutils.X01FeatureTestFactory;
+import nl.kmartin.dartsmatcherapiv2.features.testutils.X01SyntheticMatchFactory;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01LegRoundScore;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.X01Match;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.api.IX01MatchRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class X01SyntheticMatchTests {
+
+    @Mock
+    private IX01MatchRepository matchRepository;
+
+    @Mock
+    private MessageResolver messageResolver;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private X01SyntheticMatchFactory syntheticMatchFactory;
+
+    @BeforeEach
+    void setUp() {
+        syntheticMatchFactory = new X01SyntheticMatchFactory(new X01FeatureTestFactory(matchRepository, messageResolver, eventPublisher));
+    }
+
+    @Test
+    void concludedMatchIsPlayedToTheEnd() {
+        X01Match match = syntheticMatchFactory.createConcludedMatch(5, 5, 1);
+
+        Assertions.assertEquals(MatchStatus.CONCLUDED, match.getMatchStatus());
+        Assertions.assertTrue(match.getSets().size() >= 3);
+        Assertions.assertNotNull(match.getSets().lastEntry().getValue().getResult());
+    }
+
+    @Test
+    void sameSeedCreatesSameMatch() {
+        X01Match match = syntheticMatchFactory.createMatch(501, 3, 3, 100, 7);
+        X01Match otherMatch = syntheticMatchFactory.createMatch(501, 3, 3, 100, 7);
+
+        Assertions.assertEquals(getScores(match), getScores(otherMatch));
+    }
+
+    private List<Integer> getScores(X01Match match) {
+        return match.getSets().values().stream()
+                .flatMap(set -> set.getLegs().values().stream())
+                .flatMap(leg -> leg.getRounds().values().stream())
+                .flatMap(round -> round.getScores().values().stream())
+                .map(X01LegRoundScore::getScore)
+                .toList();
+    }
+}
@@ -0,0 +1,161 @@
+package nl.kmartin.dartsmatcherapiv2.features.testutils;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompDecoder;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local stand-in for an external STOMP broker, used to test the broker relay without running a broker. Supports
+ * connecting, (un)subscribing, receipts and sending to the subscribers of a destination (exact destination match).
+ */
+public class LocalStompBroker implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connectionExecutor = Executors.newCachedThreadPool();
+    private final List<Connection> connections = new CopyOnWriteArrayList<>();
+    private final AtomicLong messageIds = new AtomicLong();
+
+    public LocalStompBroker() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.connectionExecutor.execute(this::acceptConnections);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.forEach(Connection::close);
+        connectionExecutor.shutdownNow();
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Connection connection = new Connection(serverSocket.accept());
+                connections.add(connection);
+                connectionExecutor.execute(connection::readFrames);
+            } catch (IOException e) {
+                // The broker is closed.
+            }
+        }
+    }
+
+    private void sendToSubscribers(String destination, Message<byte[]> message) {
+        StompHeaderAccessor sendAccessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        String messageId = Long.toString(messageIds.incrementAndGet());
+
+        connections.forEach(connection -> connection.subscriptions.forEach((subscriptionId, subscribedDestination) -> {
+            if (!subscribedDestination.equals(destination)) return;
+
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+            accessor.setDestination(destination);
+            accessor.setSubscriptionId(subscriptionId);
+            accessor.setMessageId(messageId);
+            if (sendAccessor != null && sendAccessor.getContentType() != null) accessor.setContentType(sendAccessor.getContentType());
+            connection.send(accessor, message.getPayload());
+        }));
+    }
+
+    private class Connection {
+        private final Socket socket;
+        private final StompDecoder decoder = new StompDecoder();
+        private final StompEncoder encoder = new StompEncoder();
+
+        // The destination of every subscription of the connection by subscription id.
+        private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+
+        Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        void readFrames() {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] chunk = new byte[8192];
+
+            try (InputStream inputStream = socket.getInputStream()) {
+                int read;
+                while ((read = inputStream.read(chunk)) != -1) {
+                    buffer.put(chunk, 0, read);
+                    buffer.flip();
+                    List<Message<byte[]>> frames = decoder.decode(buffer);
+                    buffer.compact();
+                    frames.forEach(this::handleFrame);
+                }
+            } catch (IOException e) {
+                // The connection is closed.
+            } finally {
+                close();
+            }
+        }
+
+        void handleFrame(Message<byte[]> frame) {
+            StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(frame, StompHeaderAccessor.class);
+            if (accessor == null || accessor.getCommand() == null) return; // Heartbeat
+
+            switch (accessor.getCommand()) {
+                case CONNECT, STOMP -> {
+                    StompHeaderAccessor connected = StompHeaderAccessor.create(StompCommand.CONNECTED);
+                    connected.setVersion("1.2");
+                    connected.setHeartbeat(0, 0);
+                    send(connected, new byte[0]);
+                }
+                case SUBSCRIBE -> subscriptions.put(accessor.getSubscriptionId(), accessor.getDestination());
+                case UNSUBSCRIBE -> subscriptions.remove(accessor.getSubscriptionId());
+                case SEND -> sendToSubscribers(accessor.getDestination(), frame);
+                default -> {
+                }
+            }
+
+            if (accessor.getReceipt() != null) {
+                StompHeaderAccessor receipt = StompHeaderAccessor.create(StompCommand.RECEIPT);
+                receipt.setReceiptId(accessor.getReceipt());
+                send(receipt, new byte[0]);
+            }
+
+            if (accessor.getCommand() == StompCommand.DISCONNECT) close();
+        }
+
+        synchronized void send(StompHeaderAccessor accessor, byte[] payload) {
+            try {
+                OutputStream outputStream = socket.getOutputStream();
+                outputStream.write(encoder.encode(MessageBuilder.createMessage(payload, accessor.getMessageHeaders())));
+                outputStream.flush();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void close() {
+            connections.remove(this);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already closed.
+            }
+        }
+    }
+}
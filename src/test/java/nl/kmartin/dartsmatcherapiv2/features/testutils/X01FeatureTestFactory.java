@@ -1,12 +1,17 @@
 package nl.kmartin.dartsmatcherapiv2.features.testutils;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import nl.kmartin.dartsmatcherapiv2.common.MessageResolver;
+import nl.kmartin.dartsmatcherapiv2.config.JacksonConfig;
 import nl.kmartin.dartsmatcherapiv2.features.dartboard.DartboardServiceImpl;
 import nl.kmartin.dartsmatcherapiv2.features.dartboard.IDartboardService;
 import nl.kmartin.dartsmatcherapiv2.features.dartboard.model.Dartboard;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01averagestatistics.IX01AverageStatisticsService;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01averagestatistics.X01AverageStatisticsServiceImpl;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01checkout.IX01CheckoutAdviceService;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01checkout.IX01CheckoutService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01checkout.X01CheckoutAdviceServiceImpl;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01checkout.X01CheckoutServiceImpl;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01checkoutstatistics.IX01CheckoutStatisticsService;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01checkoutstatistics.X01CheckoutStatisticsServiceImplService;
@@ -18,6 +23,7 @@ import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.api.IX01MatchRepositor
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.*;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01matchsetup.IX01MatchSetupService;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01matchsetup.X01MatchSetupServiceImpl;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01playerstatistics.IX01PlayerStatisticsService;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01resultstatistics.IX01ResultStatisticsService;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01resultstatistics.X01ResultStatisticsServiceImpl;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01rules.IX01RulesService;
@@ -29,6 +35,8 @@ import nl.kmartin.dartsmatcherapiv2.features.x01.x01standings.IX01StandingsServi
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01standings.X01StandingsServiceImpl;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01statistics.IX01StatisticsService;
 import nl.kmartin.dartsmatcherapiv2.features.x01.x01statistics.X01StatisticsServiceImpl;
+import org.mockito.Mockito;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
@@ -46,6 +54,10 @@ public class X01FeatureTestFactory {
     }
 
     public IX01MatchService createMatchService() {
+        return createMatchService(createMatchPublishService(), false);
+    }
+
+    public IX01MatchService createMatchService(IX01MatchPublishService matchPublishService, boolean deltaEventsEnabled) {
         return new X01MatchServiceImpl(
                 matchRepositoryMock,
                 createMatchSetupService(),
@@ -56,7 +68,13 @@ public class X01FeatureTestFactory {
                 createLegService(),
                 createLegRoundService(),
                 createDartBotService(),
-                createMatchPublishService()
+                matchPublishService,
+                createMatchCacheService(),
+                createMatchPartialUpdateService(),
+                createMatchMetricsService(),
+                createPlayerStatisticsService(),
+                messageResolverMock,
+                deltaEventsEnabled
         );
     }
 
@@ -112,6 +130,10 @@ public class X01FeatureTestFactory {
         return new X01CheckoutServiceImpl(checkoutsResource, messageResolverMock);
     }
 
+    public IX01CheckoutAdviceService createCheckoutAdviceService() {
+        return new X01CheckoutAdviceServiceImpl(messageResolverMock, new int[]{20, 16, 8, 18, 12, 10}, true, true, 5);
+    }
+
     public IX01MatchSetupService createMatchSetupService() {
         return new X01MatchSetupServiceImpl();
     }
@@ -151,13 +173,18 @@ public class X01FeatureTestFactory {
         );
     }
 
+    public IX01DartBotSimulationService createDartBotSimulationService(int parallelism) {
+        return new X01DartBotSimulationServiceImpl(createDartBotService(), parallelism);
+    }
+
     public IX01DartBotThrowSimulator createDartBotThrowSimulator() {
         return new X01DartBotThrowSimulatorImpl(
                 createDartboardService(),
                 createCheckoutService(),
                 createDartBotCheckoutPolicy(),
                 createDartBotAccuracyCalculator(),
-                createDartBotScoringStrategy());
+                createDartBotScoringStrategy(),
+                createCheckoutAdviceService());
     }
 
     public IDartboardService createDartboardService() {
@@ -176,8 +203,33 @@ public class X01FeatureTestFactory {
         return new X01DartBotAccuracyCalculatorImpl();
     }
 
+    public IX01MatchCacheService createMatchCacheService() {
+        // Caching is disabled so the services always operate on the matches returned by the repository mock.
+        return Mockito.mock(IX01MatchCacheService.class);
+    }
+
+    public IX01MatchPartialUpdateService createMatchPartialUpdateService() {
+        // Matches returned by the repository mock are never versioned, so the partial update path is not used.
+        return Mockito.mock(IX01MatchPartialUpdateService.class);
+    }
+
+    public IX01PlayerStatisticsService createPlayerStatisticsService() {
+        // The player statistics are stored outside the match repository, updating them has no effect on the match.
+        return Mockito.mock(IX01PlayerStatisticsService.class);
+    }
+
     public IX01MatchPublishService createMatchPublishService() {
-        return new X01MatchPublishServiceImpl(eventPublisherMock);
+        return new X01MatchPublishServiceImpl(eventPublisherMock, createMatchEventEncoderService(), createMatchMetricsService(), new ThreadPoolTaskExecutorBuilder(), 1, 10000, false);
+    }
+
+    public IX01MatchMetricsService createMatchMetricsService() {
+        return new X01MatchMetricsServiceImpl(new SimpleMeterRegistry());
+    }
+
+    public IX01MatchEventEncoderService createMatchEventEncoderService() {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        ObjectMapper objectMapper = jacksonConfig.objectMapper(jacksonConfig.customSerializerModule());
+        return new X01MatchEventEncoderServiceImpl(objectMapper, 500);
     }
 
     public IX01StandingsService createStandingsService() {
@@ -0,0 +1,167 @@
+package nl.kmartin.dartsmatcherapiv2.features.testutils;
+
+import nl.kmartin.dartsmatcherapiv2.features.basematch.model.PlayerType;
+import nl.kmartin.dartsmatcherapiv2.features.x01.model.*;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01checkout.IX01CheckoutService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01leg.IX01LegResultService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01leg.IX01LegService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01leground.IX01LegRoundService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchProgressService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01match.service.IX01MatchResultService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01matchsetup.IX01MatchSetupService;
+import nl.kmartin.dartsmatcherapiv2.features.x01.x01statistics.IX01StatisticsService;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Creates synthetic X01 matches of any size by playing scripted turns through the match services, the same way the
+ * match service adds turns (without a repository). The turns are generated from a seeded {@link Random}, so the same
+ * seed always produces the same match. Used by tests and the benchmarks (see src/jmh/java).
+ */
+public class X01SyntheticMatchFactory {
+    // The scores of a scoring turn, a turn that would leave less than 2 points is thrown as a miss.
+    private static final int[] SCORING_TURNS = {26, 41, 45, 55, 60, 81, 85, 95, 100, 121, 140, 180};
+
+    // The chance that a player hits a checkout when the remaining score can be checked out.
+    private static final double CHECKOUT_HIT_CHANCE = 0.35;
+
+    private final IX01MatchSetupService matchSetupService;
+    private final IX01MatchProgressService matchProgressService;
+    private final IX01MatchResultService matchResultService;
+    private final IX01StatisticsService statisticsService;
+    private final IX01LegService legService;
+    private final IX01LegResultService legResultService;
+    private final IX01LegRoundService legRoundService;
+    private final IX01CheckoutService checkoutService;
+
+    public X01SyntheticMatchFactory(X01FeatureTestFactory featureTestFactory) {
+        this.matchSetupService = featureTestFactory.createMatchSetupService();
+        this.matchProgressService = featureTestFactory.createMatchProgressService();
+        this.matchResultService = featureTestFactory.createMatchResultService();
+        this.statisticsService = featureTestFactory.createStatisticsService();
+        this.legService = featureTestFactory.createLegService();
+        this.legResultService = featureTestFactory.createLegResultService();
+        this.legRoundService = featureTestFactory.createLegRoundService();
+        this.checkoutService = featureTestFactory.createCheckoutService();
+    }
+
+    /**
+     * @param bestOfSets int the number of sets the match is played over (1 plays a best of legs match)
+     * @param bestOfLegs int the number of legs a set is played over
+     * @param seed       long the seed of the generated turns
+     * @return {@link X01Match} a concluded 501 match between two players
+     */
+    public X01Match createConcludedMatch(int bestOfSets, int bestOfLegs, long seed) {
+        return createMatch(501, bestOfSets, bestOfLegs, Integer.MAX_VALUE, seed);
+    }
+
+    /**
+     * @param x01        int the starting score of the legs
+     * @param bestOfSets int the number of sets the match is played over (1 plays a best of legs match)
+     * @param bestOfLegs int the number of legs a set is played over
+     * @param maxTurns   int the maximum number of turns to play, the match is in play when it isn't concluded before
+     * @param seed       long the seed of the generated turns
+     * @return {@link X01Match} a match between two players
+     */
+    public X01Match createMatch(int x01, int bestOfSets, int bestOfLegs, int maxTurns, long seed) {
+        X01Match match = createEmptyMatch(x01, bestOfSets, bestOfLegs);
+        Random random = new Random(seed);
+
+        for (int turns = 0; turns < maxTurns && !matchProgressService.isMatchConcluded(match); turns++) {
+            addTurn(match, createTurn(match, random));
+        }
+
+        return match;
+    }
+
+    /**
+     * @param x01        int the starting score of the legs
+     * @param bestOfSets int the number of sets the match is played over (1 plays a best of legs match)
+     * @param bestOfLegs int the number of legs a set is played over
+     * @return {@link X01Match} a set up match between two players without turns
+     */
+    public X01Match createEmptyMatch(int x01, int bestOfSets, int bestOfLegs) {
+        X01ClearByTwoRule clearByTwoRule = new X01ClearByTwoRule(false, 0);
+        X01BestOfType bestOfType = bestOfSets > 1 ? X01BestOfType.SETS : X01BestOfType.LEGS;
+        X01BestOf bestOf = new X01BestOf(bestOfSets, bestOfLegs, bestOfType, clearByTwoRule, clearByTwoRule, clearByTwoRule);
+
+        X01Match match = new X01Match();
+        match.setId(new ObjectId());
+        match.setMatchSettings(new X01MatchSettings(x01, false, bestOf));
+        match.setPlayers(new ArrayList<>(List.of(
+                new X01MatchPlayer(null, "Player 1", PlayerType.HUMAN, null, null, null),
+                new X01MatchPlayer(null, "Player 2", PlayerType.HUMAN, null, null, null)
+        )));
+
+        matchSetupService.setupMatch(match);
+        updateMatch(match, null);
+        return match;
+    }
+
+    /**
+     * Creates the next turn of the current thrower. The player checks out with a fixed chance when the remaining
+     * score can be checked out, otherwise a scoring turn is thrown.
+     *
+     * @param match  {@link X01Match} the match to create the turn for
+     * @param random {@link Random} the source of the generated turns
+     * @return {@link X01Turn} the turn of the current thrower
+     */
+    public X01Turn createTurn(X01Match match, Random random) {
+        X01SetEntry currentSetEntry = matchProgressService.getCurrentSetOrCreate(match).orElseThrow();
+        X01LegEntry currentLegEntry = matchProgressService.getCurrentLegOrCreate(match, currentSetEntry).orElseThrow();
+
+        int x01 = match.getMatchSettings().getX01();
+        ObjectId currentThrower = match.getMatchProgress().getCurrentThrower();
+        int remaining = legResultService.getRemainingForPlayer(currentLegEntry.leg(), currentThrower, x01);
+
+        if (checkoutService.isScoreCheckout(remaining) && random.nextDouble() < CHECKOUT_HIT_CHANCE) {
+            return new X01Turn(remaining, 3, null);
+        }
+
+        int score = SCORING_TURNS[random.nextInt(SCORING_TURNS.length)];
+        return new X01Turn(score < remaining - 1 ? score : 0, null, null);
+    }
+
+    /**
+     * Adds a turn to the current thrower and incrementally updates the match, like adding a turn to a match through the
+     * match service.
+     *
+     * @param match {@link X01Match} the match to add the turn to
+     * @param turn  {@link X01Turn} the turn of the current thrower
+     * @return {@link X01TurnDelta} the location of the added turn
+     */
+    public X01TurnDelta addTurn(X01Match match, X01Turn turn) {
+        X01SetEntry currentSetEntry = matchProgressService.getCurrentSetOrCreate(match).orElseThrow();
+        X01LegEntry currentLegEntry = matchProgressService.getCurrentLegOrCreate(match, currentSetEntry).orElseThrow();
+        X01LegRoundEntry currentRoundEntry = matchProgressService.getCurrentLegRoundOrCreate(match, currentLegEntry.leg()).orElseThrow();
+
+        ObjectId currentThrower = legRoundService.getCurrentThrowerInRound(currentRoundEntry.round(), currentLegEntry.leg().getThrowsFirst(), match.getPlayers());
+        legService.addScore(match.getMatchSettings().getX01(), currentLegEntry.leg(), currentRoundEntry.roundNumber(), turn,
+                match.getPlayers(), currentThrower, match.getMatchSettings().isTrackDoubles());
+
+        X01TurnDelta turnDelta = new X01TurnDelta(currentSetEntry.setNumber(), currentLegEntry.legNumber(), currentRoundEntry.roundNumber(), currentThrower);
+        updateMatch(match, turnDelta);
+        return turnDelta;
+    }
+
+    /**
+     * Updates the results, statistics and progress of a match.
+     *
+     * @param match     {@link X01Match} the match to update
+     * @param turnDelta {@link X01TurnDelta} the location of the added turn, or null to fully recalculate the match
+     */
+    private void updateMatch(X01Match match, X01TurnDelta turnDelta) {
+        if (turnDelta != null) {
+            matchResultService.updateMatchResult(match, turnDelta);
+            statisticsService.updatePlayerStatistics(match, turnDelta);
+        } else {
+            matchResultService.updateMatchResult(match);
+            statisticsService.updatePlayerStatistics(match);
+        }
+
+        matchProgressService.updateMatchProgress(match);
+    }
+}